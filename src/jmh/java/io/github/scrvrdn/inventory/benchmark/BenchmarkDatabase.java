@@ -0,0 +1,95 @@
+package io.github.scrvrdn.inventory.benchmark;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import io.github.scrvrdn.inventory.InventoryApplication;
+import io.github.scrvrdn.inventory.services.utility.CatalogGeneratorService;
+
+/**
+ * Starts the application context on a file database under {@code target/benchmark-db} holding the
+ * requested number of books. Each size is generated once from a fixed seed and reused by later runs.
+ * Benchmarks that write work on a copy, so that the seeded file stays as generated.
+ * Caches, metrics and the slow query log are off so that the benchmarks measure the SQL.
+ */
+final class BenchmarkDatabase {
+
+    private static final long SEED = 42;
+
+    private BenchmarkDatabase() {}
+
+    static Path file(int books) {
+        return Path.of("target", "benchmark-db", "books-" + books + ".db").toAbsolutePath();
+    }
+
+    static ConfigurableApplicationContext open(int books) {
+        Path file = file(books);
+        try {
+            Files.createDirectories(file.getParent());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        ConfigurableApplicationContext context = start(file);
+
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        Integer existing = jdbcTemplate.queryForObject("SELECT \"total_rows\" FROM \"row_counters\" WHERE \"table_name\" = 'books';", Integer.class);
+        if (existing == 0) {
+            context.getBean(CatalogGeneratorService.class).generate(books, SEED);
+        } else if (existing != books) {
+            context.close();
+            throw new IllegalStateException(file + " holds " + existing + " books instead of " + books + "; delete it to reseed");
+        }
+
+        return context;
+    }
+
+    /**
+     * Like {@link #open}, but on a fresh copy of the seeded database.
+     */
+    static ConfigurableApplicationContext openCopy(int books, String name) {
+        return start(copy(books, name));
+    }
+
+    /**
+     * Copies the seeded database, generating it first if needed, to {@code <name>-<books>.db} next to it.
+     */
+    static Path copy(int books, String name) {
+        open(books).close();
+        Path template = file(books);
+        Path copy = template.resolveSibling(name + "-" + books + ".db");
+
+        try {
+            for (String suffix : List.of("", "-wal", "-shm")) {
+                Path source = Path.of(template + suffix);
+                Path target = Path.of(copy + suffix);
+                if (Files.exists(source)) Files.copy(source, target, StandardCopyOption.REPLACE_EXISTING);
+                else Files.deleteIfExists(target);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return copy;
+    }
+
+    private static ConfigurableApplicationContext start(Path file) {
+        // passed as arguments so that they override application.properties, which activates the prod database
+        return new SpringApplicationBuilder(InventoryApplication.class)
+            .logStartupInfo(false)
+            .run(
+                "--spring.profiles.active=standalone",
+                "--spring.datasource.url=jdbc:sqlite:" + file,
+                "--app.cache.search-size=0",
+                "--app.cache.details-size=0"
+            );
+    }
+}
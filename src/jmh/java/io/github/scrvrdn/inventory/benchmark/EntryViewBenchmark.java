@@ -0,0 +1,112 @@
+package io.github.scrvrdn.inventory.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import io.github.scrvrdn.inventory.dto.FlatEntryDto;
+import io.github.scrvrdn.inventory.dto.FullEntryDto;
+import io.github.scrvrdn.inventory.dto.Page;
+import io.github.scrvrdn.inventory.dto.PageRequest;
+import io.github.scrvrdn.inventory.dto.Publisher;
+import io.github.scrvrdn.inventory.repositories.EntryViewRepository;
+import io.github.scrvrdn.inventory.services.facade.EntryService;
+
+/**
+ * Search, row lookup, detail loading and saving against seeded databases. Each trial runs on a fresh copy,
+ * so the titles changed by the saves never reach the seeded file that later runs search.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EntryViewBenchmark {
+
+    private static final int PAGE_SIZE = 25;
+    private static final int SAVED_ENTRIES = 1_000;
+
+    @Param({"10000", "100000", "1000000"})
+    private int books;
+
+    private ConfigurableApplicationContext context;
+    private EntryViewRepository entryViewRepository;
+    private EntryService entryService;
+    private Random random;
+    private List<FullEntryDto> entriesToSave;
+    private int saves;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = BenchmarkDatabase.openCopy(books, "entry-view");
+        entryViewRepository = context.getBean(EntryViewRepository.class);
+        entryService = context.getBean(EntryService.class);
+        random = new Random(books);
+
+        entriesToSave = new ArrayList<>();
+        for (int i = 0; i < SAVED_ENTRIES; i++) {
+            FullEntryDto entry = entryViewRepository.findById(randomBookId()).orElseThrow();
+            if (entry.getPublisher() == null) entry.setPublisher(new Publisher());
+            entriesToSave.add(entry);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    /**
+     * Its own state, so that only the search runs once per term.
+     */
+    @State(Scope.Benchmark)
+    public static class Search {
+
+        @Param({"po", "history of the"})
+        private String searchTerm;
+    }
+
+    @Benchmark
+    public Page getSortedAndFilteredEntries(Search search) {
+        return entryViewRepository.getSortedAndFilteredEntries(new PageRequest(0, PAGE_SIZE, search.searchTerm, "\"title\"", "ASC", true));
+    }
+
+    @Benchmark
+    public int findRow() {
+        return entryViewRepository.findRow(randomBookId(), new PageRequest(0, PAGE_SIZE, null, "\"authors\"", "ASC", true));
+    }
+
+    @Benchmark
+    public Optional<FullEntryDto> findById() {
+        return entryViewRepository.findById(randomBookId());
+    }
+
+    @Benchmark
+    public FlatEntryDto update() {
+        FullEntryDto entry = entriesToSave.get(saves % entriesToSave.size());
+        entry.getBook().setTitle("Benchmark edition " + saves++);
+        return entryService.update(entry);
+    }
+
+    private long randomBookId() {
+        return 1 + random.nextInt(books);
+    }
+}
@@ -0,0 +1,490 @@
+package io.github.scrvrdn.inventory.benchmark;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import io.github.scrvrdn.inventory.InventoryApplication;
+import io.github.scrvrdn.inventory.dto.Book;
+import io.github.scrvrdn.inventory.dto.FlatEntryDto;
+import io.github.scrvrdn.inventory.dto.FullEntryDto;
+import io.github.scrvrdn.inventory.dto.MethodStats;
+import io.github.scrvrdn.inventory.dto.Page;
+import io.github.scrvrdn.inventory.dto.PageCursor;
+import io.github.scrvrdn.inventory.dto.PageRequest;
+import io.github.scrvrdn.inventory.metrics.MetricsRegistry;
+import io.github.scrvrdn.inventory.services.facade.EntryService;
+import io.github.scrvrdn.inventory.services.utility.BackupService;
+
+/**
+ * Simulates concurrent user sessions against {@link EntryService} and {@link BackupService} on a copy of a
+ * generated database, with the application's own writer and reader pools. Each session pages, sorts, types
+ * searches, opens details, saves, creates and deletes entries and now and then takes a backup, in the given
+ * ratios and with exponentially distributed think times. Prints throughput and p50/p99/max latency per
+ * operation; the service method metrics of the same run go to {@code target/load-harness-metrics.txt}.
+ *
+ * <p>SQLite's busy timeout is 0 unless given, so a wait for a database lock between connections surfaces as
+ * SQLITE_BUSY. Writers, however, queue for the single writer connection inside the pool and never reach SQLite
+ * while they wait, so that wait is timed per operation and reported next to the latencies. Page, sort, search and
+ * details run on the reader pool and must not take the writer connection at all. The run exits with 1 if an error
+ * occurred, one of those reads took the writer connection, or a writer waited longer than {@code max-writer-wait-ms}.
+ *
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec -Dbenchmark.main=io.github.scrvrdn.inventory.benchmark.LoadHarness \
+ *     -Dbenchmark.args="--books=100000 --sessions=16 --seconds=60 --think-ms=200 --mix=page:35,search:20,save:10"
+ * </pre>
+ * Options: books, sessions, warmup-seconds, seconds, think-ms, typing-ms, busy-timeout-ms, max-writer-wait-ms, seed, and mix as
+ * weights for page, sort, search, details, save, create, delete and backup (operations left out keep their default).
+ */
+public final class LoadHarness {
+
+    enum Operation {
+        PAGE(true), SORT(true), SEARCH(true), DETAILS(true), SAVE(false), CREATE(false), DELETE(false), BACKUP(false);
+
+        private final boolean readOnly;
+
+        Operation(boolean readOnly) {
+            this.readOnly = readOnly;
+        }
+    }
+
+    private static final Map<Operation, Double> DEFAULT_MIX = Map.of(
+        Operation.PAGE, 35.0, Operation.SORT, 8.0, Operation.SEARCH, 20.0, Operation.DETAILS, 22.0,
+        Operation.SAVE, 8.0, Operation.CREATE, 3.0, Operation.DELETE, 3.0, Operation.BACKUP, 0.05
+    );
+    private static final int PAGE_SIZE = 25;
+    private static final List<String> SORT_COLUMNS = List.of("b.\"id\"", "\"title\"", "\"year\"", "\"shelf_mark\"", "\"authors\"", "\"editors\"", "\"publisher\"");
+    private static final List<String> SEARCH_WORDS = List.of(
+        "history", "introduction", "collected", "philosophy", "literature", "letters", "garden", "silence",
+        "london", "berlin", "maria", "friedrich", "press", "verlag", "editions"
+    );
+
+    private final Options options;
+    private final EntryService entryService;
+    private final BackupService backupService;
+    private final Path backupRoot;
+    private final double[] cumulativeMix;
+
+    private final WriterWaitDataSource writerDataSource;
+    private final MetricsRegistry results = new MetricsRegistry();
+    private final MetricsRegistry writerWaits = new MetricsRegistry();
+    private final LongAdder busyErrors = new LongAdder();
+    private final LongAdder otherErrors = new LongAdder();
+    private final Set<String> errorMessages = ConcurrentHashMap.newKeySet();
+    private volatile boolean running = true;
+
+    private LoadHarness(Options options, ConfigurableApplicationContext context, Path backupRoot) {
+        this.options = options;
+        this.entryService = context.getBean(EntryService.class);
+        this.backupService = context.getBean(BackupService.class);
+        this.writerDataSource = (WriterWaitDataSource) context.getBean(DataSource.class);
+        this.backupRoot = backupRoot;
+
+        Operation[] operations = Operation.values();
+        double total = Arrays.stream(operations).mapToDouble(options.mix()::get).sum();
+        this.cumulativeMix = new double[operations.length];
+        double sum = 0;
+        for (int i = 0; i < operations.length; i++) {
+            sum += options.mix().get(operations[i]);
+            cumulativeMix[i] = sum / total;
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = Options.parse(args);
+
+        // generated once per size, then copied, so that every run starts from the same database
+        Path template = BenchmarkDatabase.file(options.books());
+        Path database = BenchmarkDatabase.copy(options.books(), "load");
+        Path backupRoot = Files.createDirectories(template.resolveSibling("load-backups"));
+
+        boolean failed;
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(InventoryApplication.class)
+                .logStartupInfo(false)
+                .initializers(WriterWaitDataSource::install)
+                .run(
+                    "--spring.profiles.active=prod",
+                    "--app.db.path=" + database,
+                    "--app.db.pragma.busy-timeout=" + options.busyTimeoutMillis(),
+                    "--app.db.slow-query.log-dir=" + template.getParent(),
+                    "--logging.level.root=WARN"
+                )) {
+
+            LoadHarness harness = new LoadHarness(options, context, backupRoot);
+            failed = harness.run(context.getBean(MetricsRegistry.class));
+        }
+
+        System.exit(failed ? 1 : 0);
+    }
+
+    private boolean run(MetricsRegistry serviceMetrics) throws Exception {
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < options.sessions(); i++) {
+            Session session = new Session(i);
+            threads.add(Thread.ofPlatform().name("session-" + i).start(session));
+        }
+
+        Thread.sleep(options.warmupSeconds() * 1_000L);
+        results.reset();
+        writerWaits.reset();
+        serviceMetrics.reset();
+
+        long start = System.nanoTime();
+        Thread.sleep(options.seconds() * 1_000L);
+        running = false;
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+        for (Thread thread : threads) thread.join();
+
+        Path metricsFile = Path.of("target", "load-harness-metrics.txt");
+        serviceMetrics.dump(metricsFile);
+        report(elapsedSeconds, metricsFile);
+
+        return busyErrors.sum() > 0 || otherErrors.sum() > 0 || maxWriterWaitMillis() > options.maxWriterWaitMillis();
+    }
+
+    private double maxWriterWaitMillis() {
+        return writerWaits.snapshot().stream().mapToDouble(MethodStats::maxMillis).max().orElse(0);
+    }
+
+    private void report(double elapsedSeconds, Path metricsFile) {
+        System.out.printf(Locale.ROOT, "%nLoad: %d sessions for %d s after %d s warm-up, %d books, think %d ms, busy timeout %d ms%n%n",
+            options.sessions(), options.seconds(), options.warmupSeconds(), options.books(), options.thinkMillis(), options.busyTimeoutMillis());
+        System.out.printf(Locale.ROOT, "%-10s %10s %10s %8s %10s %10s %10s %12s %12s%n",
+            "operation", "calls", "ops/s", "errors", "p50 ms", "p99 ms", "max ms", "wait p99 ms", "wait max ms");
+
+        Map<String, MethodStats> waits = new HashMap<>();
+        writerWaits.snapshot().forEach(stats -> waits.put(stats.method(), stats));
+
+        long calls = 0;
+        for (MethodStats stats : results.snapshot()) {
+            calls += stats.calls();
+            MethodStats wait = waits.get(stats.method());
+            System.out.printf(Locale.ROOT, "%-10s %10d %10.1f %8d %10.3f %10.3f %10.3f %12s %12s%n",
+                stats.method(), stats.calls(), stats.calls() / elapsedSeconds, stats.errors(), stats.p50Millis(), stats.p99Millis(), stats.maxMillis(),
+                wait == null ? "-" : String.format(Locale.ROOT, "%.3f", wait.p99Millis()),
+                wait == null ? "-" : String.format(Locale.ROOT, "%.3f", wait.maxMillis()));
+        }
+        System.out.printf(Locale.ROOT, "%-10s %10d %10.1f%n%n", "total", calls, calls / elapsedSeconds);
+
+        System.out.println("SQLITE_BUSY/locked errors: " + busyErrors.sum() + ", other errors: " + otherErrors.sum());
+        System.out.printf(Locale.ROOT, "Longest wait for the writer connection: %.3f ms (limit %d ms)%n", maxWriterWaitMillis(), options.maxWriterWaitMillis());
+        errorMessages.forEach(message -> System.out.println("  " + message));
+        System.out.println("Service method metrics: " + metricsFile.toAbsolutePath());
+    }
+
+    private final class Session implements Runnable {
+
+        private final Random random;
+        private final Path backupDir;
+        private final Deque<Long> created = new ArrayDeque<>();
+        private PageRequest request = new PageRequest(0, PAGE_SIZE, null, "\"title\"", "ASC", true);
+        private Page page;
+
+        Session(int index) {
+            this.random = new Random(options.seed() + index);
+            this.backupDir = backupRoot.resolve("session-" + index);
+        }
+
+        @Override
+        public void run() {
+            timed(Operation.PAGE, () -> page = entryService.getPage(request));
+
+            while (running) {
+                switch (nextOperation()) {
+                    case PAGE -> turnPage();
+                    case SORT -> sort();
+                    case SEARCH -> search();
+                    case DETAILS -> showDetails();
+                    case SAVE -> save();
+                    case CREATE -> create();
+                    case DELETE -> delete();
+                    case BACKUP -> backup();
+                }
+                pause(options.thinkMillis());
+            }
+        }
+
+        private Operation nextOperation() {
+            double value = random.nextDouble();
+            for (int i = 0; i < cumulativeMix.length; i++) {
+                if (value < cumulativeMix[i]) return Operation.values()[i];
+            }
+            return Operation.PAGE;
+        }
+
+        private void turnPage() {
+            List<FlatEntryDto> rows = page == null ? List.of() : page.entries();
+            int pageIndex = page == null ? 0 : page.pageIndex();
+            int lastPageIndex = page == null ? 0 : Math.max(page.totalNumberOfRows() - 1, 0) / PAGE_SIZE;
+
+            if (rows.isEmpty()) {
+                timed(Operation.PAGE, () -> page = entryService.getPage(request.withPageIndex(0)));
+            } else if (pageIndex > 0 && (pageIndex >= lastPageIndex || random.nextInt(5) == 0)) {
+                PageRequest previous = request.withPageIndex(pageIndex - 1);
+                timed(Operation.PAGE, () -> page = entryService.getPreviousPage(PageCursor.of(rows.getFirst(), previous.sortBy()), previous));
+            } else if (pageIndex < lastPageIndex) {
+                PageRequest next = request.withPageIndex(pageIndex + 1);
+                timed(Operation.PAGE, () -> page = entryService.getNextPage(PageCursor.of(rows.getLast(), next.sortBy()), next));
+            } else {
+                timed(Operation.PAGE, () -> page = entryService.getPage(request.withPageIndex(0)));
+            }
+        }
+
+        private void sort() {
+            String sortBy = SORT_COLUMNS.get(random.nextInt(SORT_COLUMNS.size()));
+            boolean caseInsensitive = !sortBy.equals("b.\"id\"") && !sortBy.equals("\"year\"");
+            request = new PageRequest(0, PAGE_SIZE, request.searchString(), sortBy, random.nextBoolean() ? "ASC" : "DESC", caseInsensitive);
+            timed(Operation.SORT, () -> page = entryService.getPage(request));
+        }
+
+        /**
+         * Types a word letter by letter, querying after every key from the second on, or clears the search.
+         */
+        private void search() {
+            if (request.searchString() != null && random.nextBoolean()) {
+                request = new PageRequest(0, PAGE_SIZE, null, request.sortBy(), request.sortDir(), request.caseInsensitive());
+                timed(Operation.SEARCH, () -> page = entryService.getPage(request));
+                return;
+            }
+
+            String word = SEARCH_WORDS.get(random.nextInt(SEARCH_WORDS.size()));
+            int length = Math.min(word.length(), 2 + random.nextInt(5));
+            for (int i = 2; i <= length && running; i++) {
+                request = new PageRequest(0, PAGE_SIZE, word.substring(0, i), request.sortBy(), request.sortDir(), request.caseInsensitive());
+                timed(Operation.SEARCH, () -> page = entryService.getPage(request));
+                pause(options.typingMillis());
+            }
+        }
+
+        private void showDetails() {
+            Long bookId = randomRow();
+            if (bookId != null) timed(Operation.DETAILS, () -> entryService.findById(bookId));
+        }
+
+        private void save() {
+            Long bookId = randomRow();
+            if (bookId == null) return;
+
+            FullEntryDto entry;
+            try {
+                entry = entryService.findById(bookId).orElse(null);
+            } catch (Exception e) {
+                fail(e);
+                return;
+            }
+            // deleted by another session in the meantime
+            if (entry == null) return;
+
+            Book book = entry.getBook();
+            String title = book.getTitle();
+            book.setTitle(title != null && title.endsWith(" (rev.)") ? title.substring(0, title.length() - 7) : title + " (rev.)");
+            entry.markUpdated(FullEntryDto.TITLE);
+
+            timed(Operation.SAVE, () -> entryService.update(entry));
+        }
+
+        private void create() {
+            timed(Operation.CREATE, () -> {
+                entryService.createEmptyEntry().ifPresent(entry -> created.push(entry.bookId()));
+                return null;
+            });
+        }
+
+        /**
+         * Deletes an entry this session created, so that the number of books stays about the same.
+         */
+        private void delete() {
+            if (created.isEmpty()) {
+                create();
+                return;
+            }
+            long bookId = created.pop();
+            timed(Operation.DELETE, () -> {
+                entryService.delete(bookId);
+                return null;
+            });
+        }
+
+        private void backup() {
+            timed(Operation.BACKUP, () -> {
+                Files.createDirectories(backupDir);
+                String result = backupService.createBackup(backupDir);
+                try (Stream<Path> files = Files.list(backupDir)) {
+                    for (Path file : files.toList()) Files.delete(file);
+                }
+                if (!result.startsWith("Backup successful")) throw new IllegalStateException(result);
+                return result;
+            });
+        }
+
+        private Long randomRow() {
+            if (page == null || page.entries().isEmpty()) return null;
+            return page.entries().get(random.nextInt(page.entries().size())).bookId();
+        }
+
+        private void timed(Operation operation, Callable<?> action) {
+            writerDataSource.takeWaitedNanos();
+            writerDataSource.takeBorrows();
+            long start = System.nanoTime();
+            boolean failed = false;
+            try {
+                action.call();
+            } catch (Exception e) {
+                failed = true;
+                fail(e);
+            }
+            String name = operation.name().toLowerCase(Locale.ROOT);
+            long elapsed = System.nanoTime() - start;
+
+            // a read that queues for the writer stalls behind every save, import and cleanup
+            if (operation.readOnly && writerDataSource.takeBorrows() > 0) {
+                failed = true;
+                fail(new IllegalStateException(name + " took the writer connection"));
+            }
+            results.record(name, elapsed, 0, failed);
+
+            long waited = writerDataSource.takeWaitedNanos();
+            if (waited > 0) writerWaits.record(name, waited, 0, false);
+        }
+
+        private void pause(int meanMillis) {
+            if (meanMillis <= 0) return;
+            try {
+                Thread.sleep((long) (-meanMillis * Math.log(1 - random.nextDouble())));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            }
+        }
+    }
+
+    private void fail(Exception e) {
+        boolean busy = false;
+        String message = e.toString();
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t.getMessage() != null && (t.getMessage().contains("SQLITE_BUSY") || t.getMessage().contains("SQLITE_LOCKED"))) {
+                busy = true;
+                message = t.getMessage();
+            }
+        }
+
+        if (busy) busyErrors.increment();
+        else otherErrors.increment();
+        if (errorMessages.size() < 10) errorMessages.add(message);
+    }
+
+    /**
+     * Times how long each thread waits for a connection of the writer pool and counts how often it takes one.
+     * Installed in place of the {@code dataSource} bean, so that the repositories and the transaction manager go
+     * through it.
+     */
+    static final class WriterWaitDataSource extends DelegatingDataSource implements AutoCloseable {
+
+        private final ThreadLocal<long[]> waitedNanos = ThreadLocal.withInitial(() -> new long[1]);
+        private final ThreadLocal<long[]> borrows = ThreadLocal.withInitial(() -> new long[1]);
+
+        WriterWaitDataSource(DataSource targetDataSource) {
+            super(targetDataSource);
+        }
+
+        static void install(ConfigurableApplicationContext context) {
+            context.getBeanFactory().addBeanPostProcessor(new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return beanName.equals("dataSource") ? new WriterWaitDataSource((DataSource) bean) : bean;
+                }
+            });
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            long start = System.nanoTime();
+            try {
+                return super.getConnection();
+            } finally {
+                waitedNanos.get()[0] += System.nanoTime() - start;
+                borrows.get()[0]++;
+            }
+        }
+
+        /**
+         * The time the calling thread waited since the previous call.
+         */
+        long takeWaitedNanos() {
+            long[] waited = waitedNanos.get();
+            long nanos = waited[0];
+            waited[0] = 0;
+            return nanos;
+        }
+
+        /**
+         * The connections the calling thread took since the previous call.
+         */
+        long takeBorrows() {
+            long[] taken = borrows.get();
+            long count = taken[0];
+            taken[0] = 0;
+            return count;
+        }
+
+        @Override
+        public void close() throws Exception {
+            if (getTargetDataSource() instanceof AutoCloseable pool) pool.close();
+        }
+    }
+
+    record Options(int books, int sessions, int warmupSeconds, int seconds, int thinkMillis, int typingMillis, int busyTimeoutMillis, int maxWriterWaitMillis, long seed, Map<Operation, Double> mix) {
+
+        static Options parse(String[] args) {
+            Map<String, String> values = new HashMap<>();
+            for (String arg : args) {
+                if (!arg.startsWith("--") || !arg.contains("=")) throw new IllegalArgumentException("Expected --name=value: " + arg);
+                values.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+            }
+
+            Map<Operation, Double> mix = new EnumMap<>(DEFAULT_MIX);
+            if (values.containsKey("mix")) {
+                for (String part : values.get("mix").split(",")) {
+                    String[] weight = part.split(":");
+                    mix.put(Operation.valueOf(weight[0].trim().toUpperCase(Locale.ROOT)), Double.parseDouble(weight[1]));
+                }
+            }
+
+            return new Options(
+                Integer.parseInt(values.getOrDefault("books", "100000")),
+                Integer.parseInt(values.getOrDefault("sessions", "8")),
+                Integer.parseInt(values.getOrDefault("warmup-seconds", "10")),
+                Integer.parseInt(values.getOrDefault("seconds", "60")),
+                Integer.parseInt(values.getOrDefault("think-ms", "200")),
+                Integer.parseInt(values.getOrDefault("typing-ms", "120")),
+                Integer.parseInt(values.getOrDefault("busy-timeout-ms", "0")),
+                Integer.parseInt(values.getOrDefault("max-writer-wait-ms", "250")),
+                Long.parseLong(values.getOrDefault("seed", "42")),
+                mix
+            );
+        }
+    }
+}
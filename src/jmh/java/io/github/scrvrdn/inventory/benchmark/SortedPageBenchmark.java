@@ -0,0 +1,71 @@
+package io.github.scrvrdn.inventory.benchmark;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import io.github.scrvrdn.inventory.dto.FlatEntryDto;
+import io.github.scrvrdn.inventory.dto.PageRequest;
+import io.github.scrvrdn.inventory.repositories.EntryViewRepository;
+
+/**
+ * Offset pages of the table view at random positions, for every sort column and direction.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SortedPageBenchmark {
+
+    private static final int PAGE_SIZE = 25;
+
+    @Param({"10000", "100000", "1000000"})
+    private int books;
+
+    @Param({"b.\"id\"", "\"title\"", "\"year\"", "\"shelf_mark\"", "\"authors\"", "\"editors\"", "\"publisher\""})
+    private String sortBy;
+
+    @Param({"ASC", "DESC"})
+    private String sortDir;
+
+    private ConfigurableApplicationContext context;
+    private EntryViewRepository entryViewRepository;
+    private Random random;
+    private boolean caseInsensitive;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = BenchmarkDatabase.open(books);
+        entryViewRepository = context.getBean(EntryViewRepository.class);
+        random = new Random(books);
+        caseInsensitive = !sortBy.equals("b.\"id\"") && !sortBy.equals("\"year\"");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<FlatEntryDto> getSortedEntries() {
+        int pageIndex = random.nextInt(books / PAGE_SIZE);
+        return entryViewRepository.getSortedEntries(new PageRequest(pageIndex, PAGE_SIZE, null, sortBy, sortDir, caseInsensitive));
+    }
+}
@@ -0,0 +1,40 @@
+package io.github.scrvrdn.inventory;
+
+import java.nio.file.Path;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import io.github.scrvrdn.inventory.dto.GeneratedCatalog;
+import io.github.scrvrdn.inventory.services.utility.CatalogGeneratorService;
+
+/**
+ * Fills a database file with generated books, without starting the UI:
+ * {@code mvn compile exec:java -Dexec.mainClass=io.github.scrvrdn.inventory.CatalogGenerator -Dexec.args="<database file> <books> [seed]"}
+ */
+public final class CatalogGenerator {
+
+    private static final long DEFAULT_SEED = 42;
+
+    private CatalogGenerator() {}
+
+    public static void main(String[] args) {
+        if (args.length < 2) {
+            System.err.println("Usage: CatalogGenerator <database file> <books> [seed]");
+            System.exit(2);
+        }
+
+        Path file = Path.of(args[0]).toAbsolutePath();
+        int books = Integer.parseInt(args[1]);
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : DEFAULT_SEED;
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(InventoryApplication.class)
+                .logStartupInfo(false)
+                .run("--spring.profiles.active=standalone", "--spring.datasource.url=jdbc:sqlite:" + file)) {
+
+            GeneratedCatalog catalog = context.getBean(CatalogGeneratorService.class).generate(books, seed);
+            System.out.printf("Generated %d books, %d persons and %d publishers in %d ms into %s%n",
+                catalog.books(), catalog.persons(), catalog.publishers(), catalog.millis(), file);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package io.github.scrvrdn.inventory;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javafx.application.Platform;
+import javafx.scene.Scene;
+
+/**
+ * Runs an action after the next layout pulse of a scene, once. The scene runs its post-layout listeners in a
+ * loop over their list, so a listener must not remove itself from inside {@link #run()}: that would end the loop
+ * early or fail it. The listener is removed later on the FX thread instead, and ignores the pulses in between.
+ */
+public final class FirstPulseListener implements Runnable {
+
+    private final Scene scene;
+    private final Runnable action;
+    private final Executor fxThread;
+    private final AtomicBoolean done = new AtomicBoolean();
+
+    FirstPulseListener(Scene scene, Runnable action, Executor fxThread) {
+        this.scene = scene;
+        this.action = action;
+        this.fxThread = fxThread;
+    }
+
+    public static void register(Scene scene, Runnable action) {
+        register(scene, action, Platform::runLater);
+    }
+
+    /**
+     * {@code fxThread} runs the removal of the listener; it must run it after the current pulse.
+     */
+    public static void register(Scene scene, Runnable action, Executor fxThread) {
+        scene.addPostLayoutPulseListener(new FirstPulseListener(scene, action, fxThread));
+    }
+
+    @Override
+    public void run() {
+        if (!done.compareAndSet(false, true)) return;
+
+        fxThread.execute(() -> scene.removePostLayoutPulseListener(this));
+        action.run();
+    }
+}
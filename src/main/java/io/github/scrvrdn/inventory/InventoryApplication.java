@@ -1,5 +1,6 @@
 package io.github.scrvrdn.inventory;
 
+import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 
 import javafx.application.Application;
@@ -8,6 +9,12 @@ import javafx.application.Application;
 public class InventoryApplication {
 
 	public static void main(String[] args) {
+		// spring-boot:process-aot captures the context refreshed on its own thread, not on the JavaFX launcher
+		if (Boolean.getBoolean("spring.aot.processing")) {
+			SpringApplication.run(InventoryApplication.class, args);
+			return;
+		}
+
 		Application.launch(Main.class, args);
 	}
 
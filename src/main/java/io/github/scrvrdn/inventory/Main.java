@@ -13,7 +13,9 @@ public class Main extends Application {
 
     @Override
     public void init() {
+        // named explicitly, as it cannot be found on this thread's stack; the AOT initializer is looked up by it
         context = new SpringApplicationBuilder(InventoryApplication.class)
+                    .main(InventoryApplication.class)
                     .headless(false)
                     .run();
     }
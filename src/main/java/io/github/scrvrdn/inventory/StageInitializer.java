@@ -7,6 +7,7 @@ import org.springframework.core.io.Resource;
 import org.springframework.stereotype.Component;
 
 import io.github.scrvrdn.inventory.events.StageReadyEvent;
+import io.github.scrvrdn.inventory.events.StageShownEvent;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
@@ -46,6 +47,9 @@ public class StageInitializer implements ApplicationListener<StageReadyEvent> {
             stage.setTitle(appTitle);
             stage.show();
 
+            // deferred startup work waits until the first frame is laid out
+            FirstPulseListener.register(scene, () -> context.publishEvent(new StageShownEvent(stage)));
+
         } catch (Exception e) {
             System.err.println(e.getMessage());
         }
@@ -0,0 +1,72 @@
+package io.github.scrvrdn.inventory.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import io.github.scrvrdn.inventory.dto.CacheStats;
+
+/**
+ * Size-bounded map that evicts the least recently used entry and counts hits and misses.
+ * Every {@link #clear()} or {@link #remove(Object)} starts a new generation; a value computed
+ * in an older generation is dropped by {@link #put(Object, Object, long)}, so a read that raced
+ * with a write cannot repopulate the cache with stale data.
+ */
+public class LruCache<K, V> {
+
+    private final int maxSize;
+    private final Map<K, V> entries;
+    private long generation;
+    private long hits;
+    private long misses;
+
+    public LruCache(int maxSize) {
+        this.maxSize = maxSize;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                return size() > LruCache.this.maxSize;
+            }
+        };
+    }
+
+    public synchronized Optional<V> get(K key) {
+        V value = entries.get(key);
+        if (value == null) {
+            misses++;
+        } else {
+            hits++;
+        }
+        
+        return Optional.ofNullable(value);
+    }
+
+    /**
+     * Checks for a key without counting a hit or miss and without refreshing its recency.
+     */
+    public synchronized boolean contains(K key) {
+        return entries.containsKey(key);
+    }
+
+    public synchronized long generation() {
+        return generation;
+    }
+
+    public synchronized void put(K key, V value, long generation) {
+        if (maxSize > 0 && generation == this.generation) entries.put(key, value);
+    }
+
+    public synchronized void remove(K key) {
+        generation++;
+        entries.remove(key);
+    }
+
+    public synchronized void clear() {
+        generation++;
+        entries.clear();
+    }
+
+    public synchronized CacheStats stats() {
+        return new CacheStats(hits, misses, entries.size(), maxSize);
+    }
+}
@@ -2,19 +2,31 @@ package io.github.scrvrdn.inventory.config;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.List;
 
 import javax.sql.DataSource;
 
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
 
 import jakarta.annotation.PostConstruct;
 
+/**
+ * Creates the schema that the first page reads. It stays eager when the fast-startup profile makes all other beans lazy.
+ */
 @Service
+@Lazy(false)
 public class DatabaseInitializer {
 
+    private static final List<String> FLAT_ENTRIES_INDEXES = List.of(
+        "flat_entries_title_idx", "flat_entries_year_idx", "flat_entries_shelf_mark_idx",
+        "flat_entries_authors_idx", "flat_entries_editors_idx", "flat_entries_publisher_idx"
+    );
+
     @Value("${app.db.meta.app-id}")
     private String appId;
 
@@ -150,6 +162,20 @@ public class DatabaseInitializer {
                         END;
                         """);
 
+                stmt.execute("""
+                        CREATE INDEX IF NOT EXISTS "book_person_person_id_idx"
+                        ON "book_person" ("person_id");
+                        """);
+
+                stmt.execute("""
+                        CREATE INDEX IF NOT EXISTS "published_publisher_id_idx"
+                        ON "published" ("publisher_id");
+                        """);
+
+                createFlatEntries(stmt);
+                createEntriesFts(stmt);
+                createCleanupQueues(stmt);
+
                 conn.commit();
 
             } catch (SQLException e) {
@@ -160,4 +186,413 @@ public class DatabaseInitializer {
             throw new RuntimeException("Database init failed", e);
         }
     }
+
+    /**
+     * Drops the triggers that rebuild a book's "flat_entries" row (and with it its "entries_fts" document)
+     * each time the book, one of its persons or its publisher is inserted, and the sort indexes of
+     * "flat_entries". Bulk loads call this first and {@link #endBulkLoad} at the end, which fills both
+     * tables for all new books in one pass and then indexes them. Should a load be interrupted in between,
+     * the next start restores everything the same way.
+     */
+    public void beginBulkLoad(Statement stmt) throws SQLException {
+        stmt.execute("DROP TRIGGER IF EXISTS \"books_insert_flat_entries_trigger\";");
+        stmt.execute("DROP TRIGGER IF EXISTS \"book_person_insert_flat_entries_trigger\";");
+        stmt.execute("DROP TRIGGER IF EXISTS \"published_insert_flat_entries_trigger\";");
+        for (String index : FLAT_ENTRIES_INDEXES) {
+            stmt.execute("DROP INDEX IF EXISTS \"" + index + "\";");
+        }
+        // bulk loads link every person and publisher they create
+        stmt.execute("DROP TRIGGER IF EXISTS \"persons_insert_cleanup_trigger\";");
+        stmt.execute("DROP TRIGGER IF EXISTS \"publishers_insert_cleanup_trigger\";");
+    }
+
+    public void endBulkLoad(Statement stmt) throws SQLException {
+        createFlatEntries(stmt);
+        createEntriesFts(stmt);
+        createCleanupQueues(stmt);
+    }
+
+    /**
+     * "person_cleanup_queue" and "publisher_cleanup_queue" collect the ids of persons and publishers that may
+     * have become unused: new ones, and those that lost a link to a book. The cleanup services only check
+     * these candidates. A database that predates the queues has all its current orphans queued once.
+     * The triggers check for duplicates themselves: an INSERT OR IGNORE would take on the conflict policy
+     * of an upsert that fires it.
+     */
+    private void createCleanupQueues(Statement stmt) throws SQLException {
+        boolean exists;
+        try (ResultSet rs = stmt.executeQuery("""
+                SELECT 1 FROM "sqlite_master" WHERE "type" = 'table' AND "name" = 'person_cleanup_queue';
+                """)) {
+            exists = rs.next();
+        }
+
+        stmt.execute("""
+                CREATE TABLE IF NOT EXISTS "person_cleanup_queue" (
+                    "person_id" INTEGER,
+                    PRIMARY KEY("person_id")
+                );
+                """);
+
+        stmt.execute("""
+                CREATE TABLE IF NOT EXISTS "publisher_cleanup_queue" (
+                    "publisher_id" INTEGER,
+                    PRIMARY KEY("publisher_id")
+                );
+                """);
+
+        if (!exists) {
+            stmt.execute("""
+                    INSERT OR IGNORE INTO "person_cleanup_queue" ("person_id")
+                    SELECT "id" FROM "persons"
+                    WHERE NOT EXISTS (SELECT 1 FROM "book_person" WHERE "book_person"."person_id" = "persons"."id");
+                    """);
+            stmt.execute("""
+                    INSERT OR IGNORE INTO "publisher_cleanup_queue" ("publisher_id")
+                    SELECT "id" FROM "publishers"
+                    WHERE NOT EXISTS (SELECT 1 FROM "published" WHERE "published"."publisher_id" = "publishers"."id");
+                    """);
+        }
+
+        stmt.execute("""
+                CREATE TRIGGER IF NOT EXISTS "persons_insert_cleanup_trigger"
+                AFTER INSERT ON "persons"
+                FOR EACH ROW
+                BEGIN
+                    INSERT INTO "person_cleanup_queue" ("person_id") SELECT NEW."id"
+                    WHERE NOT EXISTS (SELECT 1 FROM "person_cleanup_queue" WHERE "person_id" = NEW."id");
+                END;
+                """);
+
+        stmt.execute("""
+                CREATE TRIGGER IF NOT EXISTS "book_person_delete_cleanup_trigger"
+                AFTER DELETE ON "book_person"
+                FOR EACH ROW
+                BEGIN
+                    INSERT INTO "person_cleanup_queue" ("person_id") SELECT OLD."person_id"
+                    WHERE NOT EXISTS (SELECT 1 FROM "person_cleanup_queue" WHERE "person_id" = OLD."person_id");
+                END;
+                """);
+
+        stmt.execute("""
+                CREATE TRIGGER IF NOT EXISTS "book_person_update_cleanup_trigger"
+                AFTER UPDATE OF "person_id" ON "book_person"
+                FOR EACH ROW
+                WHEN OLD."person_id" != NEW."person_id"
+                BEGIN
+                    INSERT INTO "person_cleanup_queue" ("person_id") SELECT OLD."person_id"
+                    WHERE NOT EXISTS (SELECT 1 FROM "person_cleanup_queue" WHERE "person_id" = OLD."person_id");
+                END;
+                """);
+
+        stmt.execute("""
+                CREATE TRIGGER IF NOT EXISTS "publishers_insert_cleanup_trigger"
+                AFTER INSERT ON "publishers"
+                FOR EACH ROW
+                BEGIN
+                    INSERT INTO "publisher_cleanup_queue" ("publisher_id") SELECT NEW."id"
+                    WHERE NOT EXISTS (SELECT 1 FROM "publisher_cleanup_queue" WHERE "publisher_id" = NEW."id");
+                END;
+                """);
+
+        stmt.execute("""
+                CREATE TRIGGER IF NOT EXISTS "published_delete_cleanup_trigger"
+                AFTER DELETE ON "published"
+                FOR EACH ROW
+                BEGIN
+                    INSERT INTO "publisher_cleanup_queue" ("publisher_id") SELECT OLD."publisher_id"
+                    WHERE NOT EXISTS (SELECT 1 FROM "publisher_cleanup_queue" WHERE "publisher_id" = OLD."publisher_id");
+                END;
+                """);
+
+        stmt.execute("""
+                CREATE TRIGGER IF NOT EXISTS "published_update_cleanup_trigger"
+                AFTER UPDATE OF "publisher_id" ON "published"
+                FOR EACH ROW
+                WHEN OLD."publisher_id" != NEW."publisher_id"
+                BEGIN
+                    INSERT INTO "publisher_cleanup_queue" ("publisher_id") SELECT OLD."publisher_id"
+                    WHERE NOT EXISTS (SELECT 1 FROM "publisher_cleanup_queue" WHERE "publisher_id" = OLD."publisher_id");
+                END;
+                """);
+    }
+
+    /**
+     * "flat_entries" holds one precomputed FlatEntryDto row per book, so that the main table view
+     * can be paged and sorted without joining and grouping the link tables on every request.
+     * It is kept in sync by the triggers below. Only when the table is new, or a bulk load has dropped the
+     * insert trigger, is it backfilled for the books that lack a row and indexed; other starts skip the scan.
+     */
+    private void createFlatEntries(Statement stmt) throws SQLException {
+        boolean backfill = !exists(stmt, "table", "flat_entries") || !exists(stmt, "trigger", "books_insert_flat_entries_trigger");
+
+        stmt.execute("""
+                CREATE TABLE IF NOT EXISTS "flat_entries" (
+                    "id" INTEGER,
+                    "title" TEXT,
+                    "year" INTEGER,
+                    "shelf_mark" TEXT,
+                    "authors" TEXT,
+                    "editors" TEXT,
+                    "publisher" TEXT,
+                    PRIMARY KEY("id")
+                );
+                """);
+
+        stmt.execute("""
+                CREATE TRIGGER IF NOT EXISTS "books_insert_flat_entries_trigger"
+                AFTER INSERT ON "books"
+                FOR EACH ROW
+                BEGIN
+                    INSERT INTO "flat_entries" ("id", "title", "year", "shelf_mark")
+                    VALUES (NEW."id", NEW."title", NEW."year", NEW."shelf_mark");
+                END;
+                """);
+
+        stmt.execute("""
+                CREATE TRIGGER IF NOT EXISTS "books_update_flat_entries_trigger"
+                AFTER UPDATE OF "title", "year", "shelf_mark" ON "books"
+                FOR EACH ROW
+                BEGIN
+                    UPDATE "flat_entries"
+                    SET "title" = NEW."title", "year" = NEW."year", "shelf_mark" = NEW."shelf_mark"
+                    WHERE "id" = NEW."id";
+                END;
+                """);
+
+        stmt.execute("""
+                CREATE TRIGGER IF NOT EXISTS "books_delete_flat_entries_trigger"
+                AFTER DELETE ON "books"
+                FOR EACH ROW
+                BEGIN
+                    DELETE FROM "flat_entries" WHERE "id" = OLD."id";
+                END;
+                """);
+
+        stmt.execute("""
+                CREATE TRIGGER IF NOT EXISTS "book_person_insert_flat_entries_trigger"
+                AFTER INSERT ON "book_person"
+                FOR EACH ROW
+                BEGIN
+                    UPDATE "flat_entries"
+                    SET "authors" = %s, "editors" = %s
+                    WHERE "id" = NEW."book_id";
+                END;
+                """.formatted(personsOfBook("AUTHOR", "NEW.\"book_id\""), personsOfBook("EDITOR", "NEW.\"book_id\"")));
+
+        stmt.execute("""
+                CREATE TRIGGER IF NOT EXISTS "book_person_update_flat_entries_trigger"
+                AFTER UPDATE ON "book_person"
+                FOR EACH ROW
+                BEGIN
+                    UPDATE "flat_entries"
+                    SET "authors" = %s, "editors" = %s
+                    WHERE "id" = NEW."book_id";
+                END;
+                """.formatted(personsOfBook("AUTHOR", "NEW.\"book_id\""), personsOfBook("EDITOR", "NEW.\"book_id\"")));
+
+        stmt.execute("""
+                CREATE TRIGGER IF NOT EXISTS "book_person_delete_flat_entries_trigger"
+                AFTER DELETE ON "book_person"
+                FOR EACH ROW
+                BEGIN
+                    UPDATE "flat_entries"
+                    SET "authors" = %s, "editors" = %s
+                    WHERE "id" = OLD."book_id";
+                END;
+                """.formatted(personsOfBook("AUTHOR", "OLD.\"book_id\""), personsOfBook("EDITOR", "OLD.\"book_id\"")));
+
+        stmt.execute("""
+                CREATE TRIGGER IF NOT EXISTS "persons_update_flat_entries_trigger"
+                AFTER UPDATE ON "persons"
+                FOR EACH ROW
+                BEGIN
+                    UPDATE "flat_entries"
+                    SET "authors" = %s, "editors" = %s
+                    WHERE "id" IN (SELECT "book_id" FROM "book_person" WHERE "person_id" = NEW."id");
+                END;
+                """.formatted(personsOfBook("AUTHOR", "\"flat_entries\".\"id\""), personsOfBook("EDITOR", "\"flat_entries\".\"id\"")));
+
+        stmt.execute("""
+                CREATE TRIGGER IF NOT EXISTS "published_insert_flat_entries_trigger"
+                AFTER INSERT ON "published"
+                FOR EACH ROW
+                BEGIN
+                    UPDATE "flat_entries"
+                    SET "publisher" = %s
+                    WHERE "id" = NEW."book_id";
+                END;
+                """.formatted(publisherOfBook("NEW.\"book_id\"")));
+
+        stmt.execute("""
+                CREATE TRIGGER IF NOT EXISTS "published_update_flat_entries_trigger"
+                AFTER UPDATE ON "published"
+                FOR EACH ROW
+                BEGIN
+                    UPDATE "flat_entries"
+                    SET "publisher" = %s
+                    WHERE "id" = NEW."book_id";
+                END;
+                """.formatted(publisherOfBook("NEW.\"book_id\"")));
+
+        stmt.execute("""
+                CREATE TRIGGER IF NOT EXISTS "published_delete_flat_entries_trigger"
+                AFTER DELETE ON "published"
+                FOR EACH ROW
+                BEGIN
+                    UPDATE "flat_entries"
+                    SET "publisher" = %s
+                    WHERE "id" = OLD."book_id";
+                END;
+                """.formatted(publisherOfBook("OLD.\"book_id\"")));
+
+        stmt.execute("""
+                CREATE TRIGGER IF NOT EXISTS "publishers_update_flat_entries_trigger"
+                AFTER UPDATE ON "publishers"
+                FOR EACH ROW
+                BEGIN
+                    UPDATE "flat_entries"
+                    SET "publisher" = %s
+                    WHERE "id" IN (SELECT "book_id" FROM "published" WHERE "publisher_id" = NEW."id");
+                END;
+                """.formatted(publisherOfBook("\"flat_entries\".\"id\"")));
+
+        if (!backfill) return;
+
+        stmt.execute("""
+                INSERT INTO "flat_entries" ("id", "title", "year", "shelf_mark", "authors", "editors", "publisher")
+                SELECT b."id", b."title", b."year", b."shelf_mark", %s, %s, %s
+                FROM "books" b
+                WHERE NOT EXISTS (SELECT 1 FROM "flat_entries" f WHERE f."id" = b."id");
+                """.formatted(personsOfBook("AUTHOR", "b.\"id\""), personsOfBook("EDITOR", "b.\"id\""), publisherOfBook("b.\"id\"")));
+
+        // created after the backfill, which is faster than filling them row by row
+        stmt.execute("""
+                CREATE INDEX IF NOT EXISTS "flat_entries_title_idx" ON "flat_entries" ("title" COLLATE NOCASE, "id");
+                """);
+        stmt.execute("""
+                CREATE INDEX IF NOT EXISTS "flat_entries_year_idx" ON "flat_entries" ("year", "id");
+                """);
+        stmt.execute("""
+                CREATE INDEX IF NOT EXISTS "flat_entries_shelf_mark_idx" ON "flat_entries" ("shelf_mark" COLLATE NOCASE, "id");
+                """);
+        stmt.execute("""
+                CREATE INDEX IF NOT EXISTS "flat_entries_authors_idx" ON "flat_entries" ("authors" COLLATE NOCASE, "id");
+                """);
+        stmt.execute("""
+                CREATE INDEX IF NOT EXISTS "flat_entries_editors_idx" ON "flat_entries" ("editors" COLLATE NOCASE, "id");
+                """);
+        stmt.execute("""
+                CREATE INDEX IF NOT EXISTS "flat_entries_publisher_idx" ON "flat_entries" ("publisher" COLLATE NOCASE, "id");
+                """);
+    }
+
+    /**
+     * Contentless FTS5 index with one document per book (rowid = book id), used by the search field.
+     * It is fed from "flat_entries", so every change that reaches the table view also reaches the index;
+     * ISBNs, which the table view does not show, are taken from "books". The index is filled from the whole
+     * catalog once, when it is created; bulk loads reach it through the insert trigger on "flat_entries".
+     */
+    private void createEntriesFts(Statement stmt) throws SQLException {
+        boolean exists = exists(stmt, "table", "entries_fts");
+
+        stmt.execute("""
+                CREATE VIRTUAL TABLE IF NOT EXISTS "entries_fts" USING fts5(
+                    "title", "year", "shelf_mark", "isbn10", "isbn13", "authors", "editors", "publisher",
+                    content = '',
+                    contentless_delete = 1,
+                    tokenize = 'unicode61 remove_diacritics 2',
+                    prefix = '2 3'
+                );
+                """);
+
+        stmt.execute("""
+                CREATE TRIGGER IF NOT EXISTS "flat_entries_insert_fts_trigger"
+                AFTER INSERT ON "flat_entries"
+                FOR EACH ROW
+                BEGIN
+                    %s
+                END;
+                """.formatted(insertFtsDocument("NEW")));
+
+        stmt.execute("""
+                CREATE TRIGGER IF NOT EXISTS "flat_entries_update_fts_trigger"
+                AFTER UPDATE ON "flat_entries"
+                FOR EACH ROW
+                BEGIN
+                    DELETE FROM "entries_fts" WHERE "rowid" = OLD."id";
+                    %s
+                END;
+                """.formatted(insertFtsDocument("NEW")));
+
+        stmt.execute("""
+                CREATE TRIGGER IF NOT EXISTS "flat_entries_delete_fts_trigger"
+                AFTER DELETE ON "flat_entries"
+                FOR EACH ROW
+                BEGIN
+                    DELETE FROM "entries_fts" WHERE "rowid" = OLD."id";
+                END;
+                """);
+
+        stmt.execute("""
+                CREATE TRIGGER IF NOT EXISTS "books_isbn_update_fts_trigger"
+                AFTER UPDATE OF "isbn10", "isbn13" ON "books"
+                FOR EACH ROW
+                BEGIN
+                    DELETE FROM "entries_fts" WHERE "rowid" = NEW."id";
+                    INSERT INTO "entries_fts" ("rowid", "title", "year", "shelf_mark", "isbn10", "isbn13", "authors", "editors", "publisher")
+                    SELECT f."id", f."title", f."year", f."shelf_mark", NEW."isbn10", NEW."isbn13", f."authors", f."editors", f."publisher"
+                    FROM "flat_entries" f
+                    WHERE f."id" = NEW."id";
+                END;
+                """);
+
+        if (!exists) {
+            stmt.execute("""
+                    INSERT INTO "entries_fts" ("rowid", "title", "year", "shelf_mark", "isbn10", "isbn13", "authors", "editors", "publisher")
+                    SELECT f."id", f."title", f."year", f."shelf_mark", b."isbn10", b."isbn13", f."authors", f."editors", f."publisher"
+                    FROM "flat_entries" f
+                    JOIN "books" b ON f."id" = b."id";
+                    """);
+        }
+    }
+
+    private boolean exists(Statement stmt, String type, String name) throws SQLException {
+        try (ResultSet rs = stmt.executeQuery(
+                "SELECT 1 FROM \"sqlite_master\" WHERE \"type\" = '" + type + "' AND \"name\" = '" + name + "';")) {
+            return rs.next();
+        }
+    }
+
+    private String insertFtsDocument(String row) {
+        return """
+                INSERT INTO "entries_fts" ("rowid", "title", "year", "shelf_mark", "isbn10", "isbn13", "authors", "editors", "publisher")
+                    SELECT %1$s."id", %1$s."title", %1$s."year", %1$s."shelf_mark", b."isbn10", b."isbn13", %1$s."authors", %1$s."editors", %1$s."publisher"
+                    FROM "books" b
+                    WHERE b."id" = %1$s."id";""".formatted(row);
+    }
+
+    private String personsOfBook(String role, String bookId) {
+        return """
+                (
+                    SELECT GROUP_CONCAT(CONCAT_WS(', ', p."last_name", p."first_names"), '; ' ORDER BY bp."order_index")
+                    FROM "book_person" bp
+                    JOIN "persons" p ON bp."person_id" = p."id"
+                    WHERE bp."book_id" = %s AND bp."role" = '%s'
+                )""".formatted(bookId, role);
+    }
+
+    private String publisherOfBook(String bookId) {
+        return """
+                (
+                    SELECT CASE
+                        WHEN pub."location" IS NULL AND pub."name" IS NULL
+                        THEN NULL
+                        ELSE CONCAT_WS(': ', pub."location", pub."name")
+                    END
+                    FROM "published" pd
+                    JOIN "publishers" pub ON pd."publisher_id" = pub."id"
+                    WHERE pd."book_id" = %s
+                )""".formatted(bookId);
+    }
 }
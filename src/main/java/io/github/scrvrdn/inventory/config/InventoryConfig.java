@@ -3,42 +3,110 @@ package io.github.scrvrdn.inventory.config;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.function.Supplier;
 
 import javax.sql.DataSource;
 
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 import org.springframework.context.annotation.Profile;
 import org.springframework.jdbc.core.JdbcTemplate;
-import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.github.scrvrdn.inventory.metrics.SlowQueryLog;
+import io.github.scrvrdn.inventory.metrics.SlowQueryLoggingJdbcTemplate;
 
 @Configuration
 public class InventoryConfig {
 
+    @Value("${app.db.path:${user.home}/.inventory/database.db}")
+    private Path dbPath;
+
+    @Value("${app.db.pool.reader-size:4}")
+    private int readerPoolSize;
+
+    @Value("${app.db.pragma.journal-mode:WAL}")
+    private String journalMode;
+
+    @Value("${app.db.pragma.synchronous:NORMAL}")
+    private String synchronous;
+
+    @Value("${app.db.pragma.cache-size:-16000}")
+    private String cacheSize;
+
+    @Value("${app.db.pragma.mmap-size:268435456}")
+    private String mmapSize;
+
+    @Value("${app.db.pragma.busy-timeout:5000}")
+    private String busyTimeout;
+
+    /**
+     * Single-connection pool for all writes. SQLite allows only one writer at a time,
+     * so serializing writes here avoids SQLITE_BUSY between our own threads.
+     */
     @Bean
+    @Primary
     @Profile("prod")
     public DataSource dataSource() throws IOException {
-        DriverManagerDataSource dataSource = new DriverManagerDataSource();
-
-        dataSource.setDriverClassName("org.sqlite.JDBC");
-        Path dbPath = Paths.get(System.getProperty("user.home"), ".inventory", "database.db");
-        Files.createDirectories(dbPath.getParent());
-        dataSource.setUrl("jdbc:sqlite:" + dbPath.toString());
-        
-        return dataSource;
+        HikariConfig config = createPoolConfig("inventory-writer");
+        config.setMaximumPoolSize(1);
+
+        return new HikariDataSource(config);
+    }
+
+    /**
+     * Read-only pool used by the entry view; with WAL enabled its readers
+     * do not block (and are not blocked by) the writer connection.
+     */
+    @Bean(defaultCandidate = false)
+    @Profile("prod")
+    public DataSource readerDataSource() throws IOException {
+        HikariConfig config = createPoolConfig("inventory-reader");
+        config.setMaximumPoolSize(readerPoolSize);
+        config.setConnectionInitSql("PRAGMA query_only = ON");
+
+        return new HikariDataSource(config);
+    }
+
+    private HikariConfig createPoolConfig(String poolName) throws IOException {
+        Files.createDirectories(dbPath.toAbsolutePath().getParent());
+
+        HikariConfig config = new HikariConfig();
+        config.setPoolName(poolName);
+        config.setDriverClassName("org.sqlite.JDBC");
+        config.setJdbcUrl("jdbc:sqlite:" + dbPath.toString());
+
+        // applied by the sqlite driver to every connection it opens
+        config.addDataSourceProperty("foreign_keys", "true");
+        config.addDataSourceProperty("journal_mode", journalMode);
+        config.addDataSourceProperty("synchronous", synchronous);
+        config.addDataSourceProperty("cache_size", cacheSize);
+        config.addDataSourceProperty("mmap_size", mmapSize);
+        config.addDataSourceProperty("busy_timeout", busyTimeout);
+
+        return config;
     }
 
     @Bean
+    @Primary
     public JdbcTemplate jdbcTemplate(final DataSource dataSource) {
-        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
-
-        jdbcTemplate.execute("PRAGMA foreign_keys = ON");
+        return new JdbcTemplate(dataSource);
+    }
 
-        return jdbcTemplate;
+    /**
+     * The entry view's page and search statements are built at runtime, so slow ones are logged with their plan.
+     */
+    @Bean(defaultCandidate = false)
+    public JdbcTemplate readerJdbcTemplate(final DataSource dataSource, @Qualifier("readerDataSource") final ObjectProvider<DataSource> readerDataSource, final SlowQueryLog slowQueryLog) {
+        return new SlowQueryLoggingJdbcTemplate(readerDataSource.getIfAvailable(() -> dataSource), slowQueryLog);
     }
 
     @Bean
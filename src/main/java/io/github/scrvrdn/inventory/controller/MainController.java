@@ -2,19 +2,37 @@ package io.github.scrvrdn.inventory.controller;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
 
+import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Controller;
+import org.springframework.transaction.event.TransactionalEventListener;
 
+import io.github.scrvrdn.inventory.cache.LruCache;
 import io.github.scrvrdn.inventory.dto.FullEntryDto;
+import io.github.scrvrdn.inventory.dto.ImportResult;
 import io.github.scrvrdn.inventory.dto.Page;
+import io.github.scrvrdn.inventory.dto.PageCursor;
 import io.github.scrvrdn.inventory.dto.PageRequest;
+import io.github.scrvrdn.inventory.dto.Person;
+import io.github.scrvrdn.inventory.dto.Publisher;
+import io.github.scrvrdn.inventory.events.EntriesChangedEvent;
 import io.github.scrvrdn.inventory.exceptions.BookNotFoundException;
 import io.github.scrvrdn.inventory.exceptions.UniqueConstraintViolationException;
+import io.github.scrvrdn.inventory.metrics.StartupTimeline;
 import io.github.scrvrdn.inventory.services.facade.EntryService;
 import io.github.scrvrdn.inventory.services.utility.BackupService;
+import io.github.scrvrdn.inventory.services.utility.ExportService;
+import io.github.scrvrdn.inventory.services.utility.ImportService;
 import io.github.scrvrdn.inventory.controls.DetailsPane;
+import io.github.scrvrdn.inventory.controls.DiagnosticsWindow;
 import io.github.scrvrdn.inventory.controls.TableCellWithTooltip;
 import io.github.scrvrdn.inventory.dto.FlatEntryDto;
 import javafx.animation.KeyFrame;
@@ -31,9 +49,11 @@ import javafx.scene.control.Button;
 import javafx.scene.control.ButtonType;
 import javafx.scene.control.ComboBox;
 import javafx.scene.control.Label;
+import javafx.scene.control.SelectionMode;
 import javafx.scene.control.TableColumn;
 import javafx.scene.control.TableView;
 import javafx.scene.control.TextField;
+import javafx.scene.control.TextInputDialog;
 import javafx.scene.control.TextFormatter;
 import javafx.scene.control.Alert.AlertType;
 import javafx.scene.control.TableColumn.SortType;
@@ -47,9 +67,14 @@ import javafx.util.converter.IntegerStringConverter;
 @Controller
 public class MainController {
     private static final int SEARCH_DELAY = 600;
+    private static final int PAGE_CACHE_SIZE = 32;
 
     private final EntryService entryService;
     private final BackupService backupService;
+    private final ImportService importService;
+    private final ExportService exportService;
+    private final DiagnosticsWindow diagnosticsWindow;
+    private final StartupTimeline startupTimeline;
 
     @FXML private VBox rootPane;
 
@@ -87,6 +112,29 @@ public class MainController {
     @FXML private Label totalPageCountLabel;
 
     private DetailsPane detailsPane;
+    private final ExecutorService detailsLoader = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "details-loader");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private CompletableFuture<?> pendingDetails = CompletableFuture.completedFuture(null);
+    private final ExecutorService pagePrefetcher = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "page-prefetcher");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final ExecutorService catalogTransfer = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "catalog-transfer");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final ExecutorService bulkOperations = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "bulk-operations");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicLong prefetchRound = new AtomicLong();
+    private final LruCache<PageRequest, Page> pageCache = new LruCache<>(PAGE_CACHE_SIZE);
     
     private int totalNumberOfRows;
     private int currentPageIndex = 0;
@@ -94,10 +142,18 @@ public class MainController {
     private int skipPages = 5;
     private ObservableList<FlatEntryDto> entryRows = FXCollections.observableArrayList();
 
-    public MainController(final EntryService entryService, final BackupService backupService, DetailsPane detailsPaneController) {
+    /**
+     * The backup, import and export services are only used from the menus, so with lazy initialization they are
+     * created on first use instead of before the first page.
+     */
+    public MainController(final EntryService entryService, @Lazy final BackupService backupService, @Lazy final ImportService importService, @Lazy final ExportService exportService, DetailsPane detailsPaneController, final DiagnosticsWindow diagnosticsWindow, final StartupTimeline startupTimeline) {
         this.entryService = entryService;
         this.backupService = backupService;
+        this.importService = importService;
+        this.exportService = exportService;
         this.detailsPane = detailsPaneController;
+        this.diagnosticsWindow = diagnosticsWindow;
+        this.startupTimeline = startupTimeline;
     }
 
     @FXML
@@ -135,14 +191,14 @@ public class MainController {
         
         table.setItems(entryRows);
         table.setPlaceholder(new Label("No entries"));
+        table.getSelectionModel().setSelectionMode(SelectionMode.MULTIPLE);
         
         table.getSelectionModel().selectedItemProperty().addListener((obs, oldSelection, newSelection) -> {
             if (newSelection != null) {
                 detailsPane.setVisibility(true);
-                Long entryId = newSelection.bookId();
-                entryService.findById(entryId)
-                            .ifPresent(this::showDetails);
+                loadDetails(newSelection.bookId());
             } else {
+                pendingDetails.cancel(false);
                 detailsPane.setVisibility(false);
             }
         });
@@ -169,11 +225,32 @@ public class MainController {
         
     }
 
-    private CompletableFuture<ObservableList<FlatEntryDto>> getEntries() {
+    /**
+     * Loads the details of the selected entry on a background thread. A newer selection cancels the pending
+     * load before it reaches the database, so holding an arrow key only queries the rows it stops at.
+     */
+    private void loadDetails(long bookId) {
+        pendingDetails.cancel(false);
+
+        CompletableFuture<Optional<FullEntryDto>> load = CompletableFuture.supplyAsync(() -> entryService.findById(bookId), detailsLoader);
+        pendingDetails = load;
+
+        load.whenCompleteAsync((entry, e) -> {
+            if (load != pendingDetails) return;
+
+            if (e == null) {
+                entry.ifPresent(this::showDetails);
+            } else if (!load.isCancelled()) {
+                e.printStackTrace();
+            }
+        }, Platform::runLater);
+    }
+
+    private CompletableFuture<ObservableList<FlatEntryDto>> getEntries(Function<PageRequest, Page> pageLoader) {
         return CompletableFuture.supplyAsync(() -> {
             try {
                 PageRequest request = new PageRequest(currentPageIndex, itemsPerPage.get(), currentFilter, sortBy, sortDir, isCaseInsensitiveSort());
-                Page page = entryService.getPage(request);
+                Page page = loadPage(request, pageLoader);
                 currentPageIndex = page.pageIndex();
                 totalNumberOfRows = page.totalNumberOfRows();
                 updateTotalPageCount();
@@ -191,10 +268,13 @@ public class MainController {
         return CompletableFuture.supplyAsync(() -> {
             try {
                 PageRequest request = new PageRequest(currentPageIndex, itemsPerPage.get(), currentFilter, sortBy, sortDir, isCaseInsensitiveSort());
+                long generation = pageCache.generation();
                 Page page = entryService.getPageWithBook(bookId, request);
+                pageCache.put(request.withPageIndex(page.pageIndex()), page, generation);
                 currentPageIndex = page.pageIndex();
                 totalNumberOfRows = page.totalNumberOfRows();
                 updateTotalPageCount();
+                prefetchNeighbors(request, page);
                 
                 return page.entries();
                 
@@ -206,6 +286,61 @@ public class MainController {
         }).thenApply(FXCollections::observableArrayList);
     }
 
+    /**
+     * Serves a page from the cache if it was shown or prefetched before, otherwise loads and caches it under
+     * the page index it actually ended up on. Either way the pages the pager buttons lead to are prefetched.
+     */
+    private Page loadPage(PageRequest request, Function<PageRequest, Page> pageLoader) {
+        Optional<Page> cached = pageCache.get(request);
+        Page page = cached.orElseGet(() -> {
+            long generation = pageCache.generation();
+            Page loaded = pageLoader.apply(request);
+            pageCache.put(request.withPageIndex(loaded.pageIndex()), loaded, generation);
+            return loaded;
+        });
+
+        prefetchNeighbors(request, page);
+        return page;
+    }
+
+    private void prefetchNeighbors(PageRequest request, Page page) {
+        long round = prefetchRound.incrementAndGet();
+        int pageIndex = page.pageIndex();
+        int lastPageIndex = Math.max((page.totalNumberOfRows() + request.pageSize() - 1) / request.pageSize(), 1) - 1;
+
+        if (!page.entries().isEmpty()) {
+            FlatEntryDto first = page.entries().getFirst();
+            FlatEntryDto last = page.entries().getLast();
+            prefetch(round, request.withPageIndex(pageIndex + 1), lastPageIndex, r -> entryService.getNextPage(PageCursor.of(last, r.sortBy()), r));
+            prefetch(round, request.withPageIndex(pageIndex - 1), lastPageIndex, r -> entryService.getPreviousPage(PageCursor.of(first, r.sortBy()), r));
+        }
+        prefetch(round, request.withPageIndex(Math.min(pageIndex + skipPages, lastPageIndex)), lastPageIndex, entryService::getPage);
+        prefetch(round, request.withPageIndex(Math.max(pageIndex - skipPages, 0)), lastPageIndex, entryService::getPage);
+    }
+
+    /**
+     * Queues a page load for the prefetch thread. Loads queued for a page the user has already left are skipped.
+     */
+    private void prefetch(long round, PageRequest request, int lastPageIndex, Function<PageRequest, Page> pageLoader) {
+        if (request.pageIndex() < 0 || request.pageIndex() > lastPageIndex) return;
+
+        pagePrefetcher.execute(() -> {
+            if (round != prefetchRound.get() || pageCache.contains(request)) return;
+
+            try {
+                long generation = pageCache.generation();
+                pageCache.put(request, pageLoader.apply(request), generation);
+            } catch (Exception e) {
+                e.printStackTrace();
+            }
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEntriesChanged(EntriesChangedEvent event) {
+        pageCache.clear();
+    }
+
     private boolean isCaseInsensitiveSort() {
         if (sortBy == null) return true;
         if (sortBy.equals(id.getId()) || sortBy.equals(year.getId())) return false;
@@ -273,10 +408,14 @@ public class MainController {
     }
     
     private void updateTableViewPage() {
-        
-            getEntries().thenAccept(data -> Platform.runLater(() -> {
+        updateTableViewPage(entryService::getPage);
+    }
+
+    private void updateTableViewPage(Function<PageRequest, Page> pageLoader) {
+            getEntries(pageLoader).thenAccept(data -> Platform.runLater(() -> {
                 entryRows.setAll(data);
                 refreshTable();
+                startupTimeline.firstPageShown(table.getScene());
             }));
     }
 
@@ -308,8 +447,14 @@ public class MainController {
 
     @FXML
     private void goToPreviousPage() {
-        currentPageIndex = Math.max(currentPageIndex - 1, 0);
-        updateTableViewPage();
+        if (currentPageIndex == 0 || entryRows.isEmpty()) {
+            goToFirstPage();
+            return;
+        }
+
+        FlatEntryDto first = entryRows.getFirst();
+        currentPageIndex--;
+        updateTableViewPage(request -> entryService.getPreviousPage(PageCursor.of(first, request.sortBy()), request));
     }
 
     @FXML
@@ -326,8 +471,15 @@ public class MainController {
    
     @FXML
     public void goToNextPage() {
-        currentPageIndex = Math.min(currentPageIndex + 1, totalPageCount - 1);
-        updateTableViewPage();
+        if (onLastPage() || entryRows.isEmpty()) {
+            currentPageIndex = Math.min(currentPageIndex + 1, totalPageCount - 1);
+            updateTableViewPage();
+            return;
+        }
+
+        FlatEntryDto last = entryRows.getLast();
+        currentPageIndex++;
+        updateTableViewPage(request -> entryService.getNextPage(PageCursor.of(last, request.sortBy()), request));
     }
 
     @FXML
@@ -339,7 +491,7 @@ public class MainController {
     @FXML
     private void goToLastPage() {
         currentPageIndex = totalPageCount - 1;
-        updateTableViewPage();
+        updateTableViewPage(entryService::getLastPage);
     }
 
     @FXML
@@ -384,6 +536,11 @@ public class MainController {
 
     @FXML
     private void handleDeleteEntryButton() {
+        if (table.getSelectionModel().getSelectedItems().size() > 1) {
+            handleDeleteSelected();
+            return;
+        }
+
         FlatEntryDto selected = table.getSelectionModel().getSelectedItem();
         int selectedIdx = table.getSelectionModel().getSelectedIndex();
 
@@ -420,6 +577,126 @@ public class MainController {
         }
     }
 
+    private List<Long> selectedBookIds() {
+        return table.getSelectionModel().getSelectedItems().stream().map(FlatEntryDto::bookId).toList();
+    }
+
+    @FXML
+    private void handleDeleteSelected() {
+        List<Long> bookIds = selectedBookIds();
+        if (bookIds.isEmpty()) return;
+
+        Alert confirmation = new Alert(AlertType.CONFIRMATION);
+        confirmation.setHeaderText("Delete " + bookIds.size() + " entries?");
+        Optional<ButtonType> answer = confirmation.showAndWait();
+        if (answer.isEmpty() || answer.get() != ButtonType.OK) return;
+
+        runBulkOperation(() -> entryService.deleteAll(bookIds));
+    }
+
+    @FXML
+    private void handleSetShelfMark() {
+        List<Long> bookIds = selectedBookIds();
+        if (bookIds.isEmpty()) return;
+
+        askForText("Set the shelf mark of " + bookIds.size() + " entries", "Shelf mark:")
+            .ifPresent(shelfMark -> runBulkOperation(() -> entryService.updateShelfMark(bookIds, shelfMark)));
+    }
+
+    @FXML
+    private void handleSetYear() {
+        List<Long> bookIds = selectedBookIds();
+        if (bookIds.isEmpty()) return;
+
+        askForText("Set the year of " + bookIds.size() + " entries", "Year:").ifPresent(text -> {
+            Integer year;
+            try {
+                year = text.isBlank() ? null : Integer.valueOf(text.strip());
+            } catch (NumberFormatException e) {
+                handleRuntimeException(new IllegalArgumentException("\"" + text + "\" is not a year."));
+                return;
+            }
+            runBulkOperation(() -> entryService.updateYear(bookIds, year));
+        });
+    }
+
+    @FXML
+    private void handleAddAuthor() {
+        List<Long> bookIds = selectedBookIds();
+        if (bookIds.isEmpty()) return;
+
+        askForText("Add an author to " + bookIds.size() + " entries", "Last name, first names:")
+            .ifPresent(text -> runBulkOperation(() -> entryService.addAuthor(bookIds, parsePerson(text))));
+    }
+
+    @FXML
+    private void handleRemoveAuthor() {
+        List<Long> bookIds = selectedBookIds();
+        if (bookIds.isEmpty()) return;
+
+        askForText("Remove an author from " + bookIds.size() + " entries", "Last name, first names:")
+            .ifPresent(text -> runBulkOperation(() -> entryService.removeAuthor(bookIds, parsePerson(text))));
+    }
+
+    @FXML
+    private void handleSetPublisher() {
+        List<Long> bookIds = selectedBookIds();
+        if (bookIds.isEmpty()) return;
+
+        askForText("Set the publisher of " + bookIds.size() + " entries", "Place: publisher:")
+            .ifPresent(text -> runBulkOperation(() -> entryService.updatePublisher(bookIds, parsePublisher(text))));
+    }
+
+    @FXML
+    private void handleRemovePublisher() {
+        List<Long> bookIds = selectedBookIds();
+        if (bookIds.isEmpty()) return;
+
+        runBulkOperation(() -> entryService.updatePublisher(bookIds, null));
+    }
+
+    private Optional<String> askForText(String header, String label) {
+        TextInputDialog dialog = new TextInputDialog();
+        dialog.setHeaderText(header);
+        dialog.setContentText(label);
+        return dialog.showAndWait();
+    }
+
+    /**
+     * Reads "Last name, first names", the way the table shows persons.
+     */
+    private Person parsePerson(String text) {
+        int comma = text.indexOf(',');
+        String lastName = comma < 0 ? text : text.substring(0, comma);
+        String firstNames = comma < 0 ? "" : text.substring(comma + 1);
+        return Person.builder().lastName(lastName.strip()).firstNames(firstNames.strip()).build();
+    }
+
+    /**
+     * Reads "Place: publisher", the way the table shows publishers.
+     */
+    private Publisher parsePublisher(String text) {
+        int colon = text.indexOf(':');
+        String location = colon < 0 ? "" : text.substring(0, colon);
+        String name = colon < 0 ? text : text.substring(colon + 1);
+        return Publisher.builder().name(name.strip()).location(location.strip()).build();
+    }
+
+    /**
+     * Runs a bulk operation on the selected entries on a background thread, since its triggers fire once per
+     * row, and reloads the page once afterwards.
+     */
+    private void runBulkOperation(Runnable operation) {
+        CompletableFuture.runAsync(operation, bulkOperations).whenCompleteAsync((result, e) -> {
+            if (e != null) handleRuntimeException(e instanceof CompletionException && e.getCause() != null ? e.getCause() : e);
+
+            table.getSelectionModel().clearSelection();
+            calculateTotalPageCount();
+            currentPageIndex = Math.min(currentPageIndex, totalPageCount - 1);
+            updateTableViewPage();
+        }, Platform::runLater);
+    }
+
     @FXML
     private void handleItemsPerPageSelection() {
         updateTotalPageCount();
@@ -448,7 +725,7 @@ public class MainController {
         updateTableViewPage(entry.getBook().getId());      
     }
 
-    private void handleRuntimeException(Exception e) {
+    private void handleRuntimeException(Throwable e) {
         Alert alert = new Alert(AlertType.ERROR);
         alert.setContentText(e.getMessage());
         alert.showAndWait();
@@ -514,6 +791,88 @@ public class MainController {
         return selectedBackup;
     }
 
+    /**
+     * Imports a catalog file on a background thread; the dialog shows the progress until it is done.
+     */
+    @FXML
+    private void handleImport() {
+        FileChooser fileChooser = new FileChooser();
+        fileChooser.setTitle("Import Catalog");
+        fileChooser.getExtensionFilters().add(new ExtensionFilter("Catalog Files", "*.csv", "*.json"));
+
+        File selectedFile = fileChooser.showOpenDialog(rootPane.getScene().getWindow());
+        if (selectedFile == null) return;
+
+        Alert progressAlert = new Alert(AlertType.INFORMATION);
+        progressAlert.setHeaderText("Importing " + selectedFile.getName() + "...");
+        progressAlert.setContentText("0 entries read");
+        progressAlert.getButtonTypes().clear();
+        progressAlert.show();
+
+        CompletableFuture.supplyAsync(() -> {
+            try {
+                return importService.importEntries(selectedFile.toPath(), progress -> Platform.runLater(() ->
+                    progressAlert.setContentText(progress.rows() + " entries read, " + progress.imported() + " imported, " + progress.rejected() + " rejected")
+                ));
+            } catch (IOException e) {
+                throw new CompletionException(e);
+            }
+        }, catalogTransfer).whenCompleteAsync((result, e) -> {
+            // an alert without buttons can only be closed once it has one
+            progressAlert.getButtonTypes().setAll(ButtonType.CLOSE);
+            progressAlert.close();
+
+            if (e != null) {
+                handleRuntimeException(e instanceof CompletionException && e.getCause() != null ? e.getCause() : e);
+            } else {
+                showImportResult(result);
+            }
+            goToFirstPage();
+        }, Platform::runLater);
+    }
+
+    private void showImportResult(ImportResult result) {
+        Alert alert = new Alert(AlertType.INFORMATION);
+        alert.setHeaderText("Imported " + result.imported() + " entries in " + result.millis() / 1000.0 + " s");
+        if (result.rejectedFile() != null) {
+            alert.setContentText(result.rejected() + " rows were rejected and written to " + result.rejectedFile() + ".");
+        }
+        alert.showAndWait();
+    }
+
+    @FXML
+    private void handleExport() {
+        FileChooser fileChooser = new FileChooser();
+        fileChooser.setTitle("Export Catalog");
+        fileChooser.getExtensionFilters().addAll(new ExtensionFilter("CSV Files", "*.csv"), new ExtensionFilter("JSON Files", "*.json"));
+
+        File selectedFile = fileChooser.showSaveDialog(rootPane.getScene().getWindow());
+        if (selectedFile == null) return;
+
+        CompletableFuture.supplyAsync(() -> {
+            try {
+                return exportService.exportEntries(selectedFile.toPath());
+            } catch (IOException e) {
+                throw new CompletionException(e);
+            }
+        }, catalogTransfer).whenCompleteAsync((result, e) -> {
+            if (e != null) {
+                handleRuntimeException(e instanceof CompletionException && e.getCause() != null ? e.getCause() : e);
+                return;
+            }
+
+            Alert alert = new Alert(AlertType.INFORMATION);
+            alert.setHeaderText("Exported " + result.exported() + " entries in " + result.millis() / 1000.0 + " s");
+            alert.setContentText(selectedFile.getPath());
+            alert.showAndWait();
+        }, Platform::runLater);
+    }
+
+    @FXML
+    private void handleShowDiagnostics() {
+        diagnosticsWindow.show(rootPane.getScene().getWindow());
+    }
+
     @FXML
     private void handleExit() {
         Platform.exit();
@@ -275,10 +275,54 @@ public class DetailsPane {
     @FXML
     private void onSave() {
         FullEntryDto newEntryDto = buildEntryDto();
+        markUpdatedFields(newEntryDto);
+        if (newEntryDto.getUpdatedFields().isEmpty()) return;
+
         saveCallback.accept(newEntryDto);
         entry = newEntryDto;
     }
 
+    /**
+     * Compares the edited entry with the one shown, so that the save only touches what changed.
+     */
+    private void markUpdatedFields(FullEntryDto newEntryDto) {
+        Book oldBook = entry.getBook() != null ? entry.getBook() : new Book();
+        Book newBook = newEntryDto.getBook();
+
+        if (!sameText(oldBook.getTitle(), newBook.getTitle())) newEntryDto.markUpdated(FullEntryDto.TITLE);
+        if (!Objects.equals(oldBook.getYear(), newBook.getYear())) newEntryDto.markUpdated(FullEntryDto.YEAR);
+        if (!sameText(oldBook.getIsbn10(), newBook.getIsbn10())) newEntryDto.markUpdated(FullEntryDto.ISBN10);
+        if (!sameText(oldBook.getIsbn13(), newBook.getIsbn13())) newEntryDto.markUpdated(FullEntryDto.ISBN13);
+        if (!sameText(oldBook.getShelfMark(), newBook.getShelfMark())) newEntryDto.markUpdated(FullEntryDto.SHELF_MARK);
+
+        if (!samePersons(entry.getAuthors(), newEntryDto.getAuthors())) newEntryDto.markUpdated(FullEntryDto.AUTHORS);
+        if (!samePersons(entry.getEditors(), newEntryDto.getEditors())) newEntryDto.markUpdated(FullEntryDto.EDITORS);
+
+        Publisher oldPublisher = entry.getPublisher() != null ? entry.getPublisher() : new Publisher();
+        Publisher newPublisher = newEntryDto.getPublisher();
+        if (!sameText(oldPublisher.getName(), newPublisher.getName())
+            || !sameText(oldPublisher.getLocation(), newPublisher.getLocation())) {
+            newEntryDto.markUpdated(FullEntryDto.PUBLISHER);
+        }
+    }
+
+    private boolean sameText(String a, String b) {
+        return getNullSafeString(a).equals(getNullSafeString(b));
+    }
+
+    private boolean samePersons(List<Person> a, List<Person> b) {
+        if (a.size() != b.size()) return false;
+
+        for (int i = 0; i < a.size(); i++) {
+            if (!sameText(a.get(i).getLastName(), b.get(i).getLastName())
+                || !sameText(a.get(i).getFirstNames(), b.get(i).getFirstNames())) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
     private FullEntryDto buildEntryDto() {
         Book bookData = getBookData();
         List<Person> authorData = getAuthorData();
@@ -0,0 +1,142 @@
+package io.github.scrvrdn.inventory.controls;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.function.Function;
+
+import org.springframework.stereotype.Component;
+
+import io.github.scrvrdn.inventory.dto.CacheStats;
+import io.github.scrvrdn.inventory.dto.MethodStats;
+import io.github.scrvrdn.inventory.metrics.MetricsRegistry;
+import io.github.scrvrdn.inventory.services.facade.EntryService;
+import javafx.beans.property.ReadOnlyObjectWrapper;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.geometry.Insets;
+import javafx.scene.Scene;
+import javafx.scene.control.Alert;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
+import javafx.scene.control.ToolBar;
+import javafx.scene.control.Alert.AlertType;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Priority;
+import javafx.scene.layout.Region;
+import javafx.scene.layout.VBox;
+import javafx.stage.FileChooser;
+import javafx.stage.Stage;
+import javafx.stage.Window;
+import javafx.stage.FileChooser.ExtensionFilter;
+
+/**
+ * Window listing the method metrics and cache hit rates, with a button to save them to a text file.
+ */
+@Component
+public class DiagnosticsWindow {
+
+    private final MetricsRegistry metricsRegistry;
+    private final EntryService entryService;
+
+    private Stage stage;
+    private final ObservableList<MethodStats> rows = FXCollections.observableArrayList();
+    private Label cacheLabel;
+
+    public DiagnosticsWindow(final MetricsRegistry metricsRegistry, final EntryService entryService) {
+        this.metricsRegistry = metricsRegistry;
+        this.entryService = entryService;
+    }
+
+    public void show(Window owner) {
+        if (stage == null) stage = createStage(owner);
+
+        refresh();
+        stage.show();
+        stage.toFront();
+    }
+
+    private Stage createStage(Window owner) {
+        TableView<MethodStats> table = new TableView<>(rows);
+        table.getColumns().add(column("Method", 320, MethodStats::method));
+        table.getColumns().add(column("Calls", 80, MethodStats::calls));
+        table.getColumns().add(column("Errors", 60, MethodStats::errors));
+        table.getColumns().add(column("Rows", 80, MethodStats::rows));
+        table.getColumns().add(column("p50 ms", 80, s -> String.format("%.3f", s.p50Millis())));
+        table.getColumns().add(column("p95 ms", 80, s -> String.format("%.3f", s.p95Millis())));
+        table.getColumns().add(column("p99 ms", 80, s -> String.format("%.3f", s.p99Millis())));
+        table.getColumns().add(column("max ms", 80, s -> String.format("%.3f", s.maxMillis())));
+        VBox.setVgrow(table, Priority.ALWAYS);
+
+        Button refreshButton = new Button("Refresh");
+        refreshButton.setOnAction(e -> refresh());
+        Button resetButton = new Button("Reset");
+        resetButton.setOnAction(e -> {
+            metricsRegistry.reset();
+            refresh();
+        });
+        Button saveButton = new Button("Save to File");
+        saveButton.setOnAction(e -> handleSave());
+
+        Region spacer = new Region();
+        ToolBar toolBar = new ToolBar(refreshButton, resetButton, spacer, saveButton);
+        HBox.setHgrow(spacer, Priority.ALWAYS);
+
+        cacheLabel = new Label();
+        cacheLabel.setPadding(new Insets(5));
+        VBox root = new VBox(toolBar, table, cacheLabel);
+
+        Stage newStage = new Stage();
+        newStage.initOwner(owner);
+        newStage.setTitle("Diagnostics");
+        newStage.setScene(new Scene(root, 980, 500));
+        return newStage;
+    }
+
+    private <T> TableColumn<MethodStats, T> column(String text, double width, Function<MethodStats, T> value) {
+        TableColumn<MethodStats, T> column = new TableColumn<>(text);
+        column.setCellValueFactory(cellData -> new ReadOnlyObjectWrapper<>(value.apply(cellData.getValue())));
+        column.setCellFactory(col -> new TableCellWithTooltip<>());
+        column.setPrefWidth(width);
+        return column;
+    }
+
+    private void refresh() {
+        rows.setAll(metricsRegistry.snapshot());
+        cacheLabel.setText("Search cache: " + describe(entryService.getSearchCacheStats())
+            + "    Details cache: " + describe(entryService.getDetailsCacheStats()));
+    }
+
+    private String describe(CacheStats stats) {
+        long lookups = stats.hits() + stats.misses();
+        long hitRate = lookups == 0 ? 0 : Math.round(100.0 * stats.hits() / lookups);
+        return stats.size() + "/" + stats.maxSize() + " entries, " + hitRate + "% of " + lookups + " lookups hit";
+    }
+
+    private void handleSave() {
+        try {
+            Path dir = Paths.get(System.getProperty("user.home"), ".inventory");
+            Files.createDirectories(dir);
+
+            FileChooser fileChooser = new FileChooser();
+            fileChooser.setTitle("Save Diagnostics");
+            fileChooser.getExtensionFilters().add(new ExtensionFilter("Text Files", "*.txt"));
+            fileChooser.setInitialDirectory(dir.toFile());
+            fileChooser.setInitialFileName("diagnostics-" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + ".txt");
+
+            File file = fileChooser.showSaveDialog(stage);
+            if (file != null) metricsRegistry.dump(file.toPath());
+
+        } catch (IOException e) {
+            Alert alert = new Alert(AlertType.ERROR);
+            alert.setContentText(e.getMessage());
+            alert.showAndWait();
+        }
+    }
+}
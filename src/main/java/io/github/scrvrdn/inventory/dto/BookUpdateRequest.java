@@ -1,7 +1,11 @@
 package io.github.scrvrdn.inventory.dto;
 
 import java.util.List;
+import java.util.Set;
 
+/**
+ * Only the {@code updatedFields} are written; {@code null} means all of them.
+ */
 public record BookUpdateRequest(
                 String title,
                 Integer year,
@@ -10,5 +14,15 @@ public record BookUpdateRequest(
                 String shelfMark,
                 List<Long> authorIds,
                 List<Long> editorIds,
-                Long publisherId
-            ) {}
+                Long publisherId,
+                Set<String> updatedFields
+            ) {
+
+    public BookUpdateRequest(String title, Integer year, String isbn10, String isbn13, String shelfMark, List<Long> authorIds, List<Long> editorIds, Long publisherId) {
+        this(title, year, isbn10, isbn13, shelfMark, authorIds, editorIds, publisherId, null);
+    }
+
+    public boolean isUpdated(String field) {
+        return updatedFields == null || updatedFields.contains(field);
+    }
+}
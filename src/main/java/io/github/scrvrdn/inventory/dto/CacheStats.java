@@ -0,0 +1,3 @@
+package io.github.scrvrdn.inventory.dto;
+
+public record CacheStats(long hits, long misses, int size, int maxSize) {}
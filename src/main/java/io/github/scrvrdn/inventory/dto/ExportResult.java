@@ -0,0 +1,3 @@
+package io.github.scrvrdn.inventory.dto;
+
+public record ExportResult(int exported, long millis) {}
@@ -8,6 +8,7 @@ import java.util.Set;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 import lombok.Builder.Default;
 
@@ -16,6 +17,18 @@ import lombok.Builder.Default;
 @NoArgsConstructor
 @Builder
 public class FullEntryDto {
+    public static final String TITLE = "title";
+    public static final String YEAR = "year";
+    public static final String ISBN10 = "isbn10";
+    public static final String ISBN13 = "isbn13";
+    public static final String SHELF_MARK = "shelfMark";
+    public static final String AUTHORS = "authors";
+    public static final String EDITORS = "editors";
+    public static final String PUBLISHER = "publisher";
+
+    public static final Set<String> BOOK_FIELDS = Set.of(TITLE, YEAR, ISBN10, ISBN13, SHELF_MARK);
+    public static final Set<String> ALL_FIELDS = Set.of(TITLE, YEAR, ISBN10, ISBN13, SHELF_MARK, AUTHORS, EDITORS, PUBLISHER);
+
     private Book book;
 
     @Default
@@ -26,7 +39,11 @@ public class FullEntryDto {
     
     private Publisher publisher;
 
+    /**
+     * Fields changed since the entry was loaded. An entry without marks is saved in full.
+     */
     @Default
+    @EqualsAndHashCode.Exclude
     private Set<String> updatedFields = new HashSet<>();
 
     public void markUpdated(String field) {
@@ -36,4 +53,29 @@ public class FullEntryDto {
     public boolean isUpdated(String field) {
         return updatedFields.contains(field);
     }
+
+    /**
+     * A deep copy, so that changes to it never reach the entry it was made from.
+     */
+    public FullEntryDto copy() {
+        return new FullEntryDto(
+            book == null ? null : new Book(book.getId(), book.getTitle(), book.getYear(), book.getIsbn10(), book.getIsbn13(), book.getShelfMark()),
+            copy(authors),
+            copy(editors),
+            publisher == null ? null : new Publisher(publisher.getId(), publisher.getName(), publisher.getLocation()),
+            new HashSet<>(updatedFields)
+        );
+    }
+
+    private static List<Person> copy(List<Person> persons) {
+        if (persons == null) return new ArrayList<>();
+
+        List<Person> copies = new ArrayList<>(persons.size());
+        for (Person person : persons) copies.add(copy(person));
+        return copies;
+    }
+
+    private static Person copy(Person person) {
+        return person == null ? null : new Person(person.getId(), person.getLastName(), person.getFirstNames());
+    }
 }
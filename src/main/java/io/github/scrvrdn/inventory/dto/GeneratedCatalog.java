@@ -0,0 +1,3 @@
+package io.github.scrvrdn.inventory.dto;
+
+public record GeneratedCatalog(int books, int persons, int publishers, long millis) {}
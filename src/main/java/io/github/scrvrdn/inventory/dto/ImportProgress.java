@@ -0,0 +1,3 @@
+package io.github.scrvrdn.inventory.dto;
+
+public record ImportProgress(long rows, int imported, int rejected) {}
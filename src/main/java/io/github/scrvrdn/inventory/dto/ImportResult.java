@@ -0,0 +1,8 @@
+package io.github.scrvrdn.inventory.dto;
+
+import java.nio.file.Path;
+
+/**
+ * {@code rejectedFile} is null when every row was imported.
+ */
+public record ImportResult(int imported, int rejected, Path rejectedFile, long millis) {}
@@ -0,0 +1,3 @@
+package io.github.scrvrdn.inventory.dto;
+
+public record MethodStats(String method, long calls, long errors, long rows, double p50Millis, double p95Millis, double p99Millis, double maxMillis) {}
@@ -0,0 +1,23 @@
+package io.github.scrvrdn.inventory.dto;
+
+/**
+ * Position of a row in a sorted page: the value of the sort column and the book id as tie-breaker.
+ */
+public record PageCursor(Object sortKey, long bookId) {
+
+    public static PageCursor of(FlatEntryDto entry, String sortBy) {
+        String column = sortBy == null ? "title" : sortBy.replace("\"", "").replaceFirst("^b\\.", "");
+
+        Object sortKey = switch (column) {
+            case "title" -> entry.bookTitle();
+            case "year" -> entry.bookYear();
+            case "shelf_mark" -> entry.shelfMark();
+            case "authors" -> entry.authors();
+            case "editors" -> entry.editors();
+            case "publisher" -> entry.publisher();
+            default -> entry.bookId();
+        };
+
+        return new PageCursor(sortKey, entry.bookId());
+    }
+}
@@ -6,4 +6,8 @@ public record PageRequest(int pageIndex, int pageSize, String searchString, Stri
         sortBy = sortBy == null ? "title" : sortBy;
         sortDir = sortDir == null ? "ASC" : sortDir;
     }
+
+    public PageRequest withPageIndex(int pageIndex) {
+        return new PageRequest(pageIndex, pageSize, searchString, sortBy, sortDir, caseInsensitive);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,33 @@
+package io.github.scrvrdn.inventory.events;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Published whenever books or their persons and publishers are written, so that caches of read results can be dropped.
+ * Carries the ids of the books affected, or null if any entry may have changed.
+ */
+public class EntriesChangedEvent extends ApplicationEvent {
+
+    private final List<Long> bookIds;
+
+    public EntriesChangedEvent(Object source) {
+        super(source);
+        this.bookIds = null;
+    }
+
+    public EntriesChangedEvent(Object source, long bookId) {
+        this(source, List.of(bookId));
+    }
+
+    public EntriesChangedEvent(Object source, Collection<Long> bookIds) {
+        super(source);
+        this.bookIds = List.copyOf(bookIds);
+    }
+
+    public List<Long> getBookIds() {
+        return bookIds;
+    }
+}
@@ -0,0 +1,19 @@
+package io.github.scrvrdn.inventory.events;
+
+import org.springframework.context.ApplicationEvent;
+
+import javafx.stage.Stage;
+
+/**
+ * Published once the main window has been laid out for its first frame, on the JavaFX thread.
+ */
+public class StageShownEvent extends ApplicationEvent {
+
+    public StageShownEvent(Stage stage) {
+        super(stage);
+    }
+
+    public Stage getStage() {
+        return ((Stage) getSource());
+    }
+}
@@ -0,0 +1,102 @@
+package io.github.scrvrdn.inventory.mappers;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.function.Consumer;
+
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import io.github.scrvrdn.inventory.dto.Book;
+import io.github.scrvrdn.inventory.dto.FullEntryDto;
+import io.github.scrvrdn.inventory.dto.Person;
+import io.github.scrvrdn.inventory.dto.Publisher;
+
+/**
+ * Groups the rows of the book/person/publisher join into entries and hands each entry to the consumer as
+ * soon as the next book id starts, so only one entry is held at a time. Rows must be ordered by book id;
+ * call {@link #finish()} after the last row.
+ */
+public class FullEntryDtoRowCallbackHandler implements RowCallbackHandler {
+
+    private final Consumer<FullEntryDto> consumer;
+    private FullEntryDto current;
+
+    public FullEntryDtoRowCallbackHandler(Consumer<FullEntryDto> consumer) {
+        this.consumer = consumer;
+    }
+
+    @Override
+    public void processRow(ResultSet rs) throws SQLException {
+        long bookId = rs.getLong("id");
+
+        if (current == null || current.getBook().getId() != bookId) {
+            finish();
+            current = extractDto(rs, bookId);
+        }
+
+        Long authorId = rs.getLong("author_id");
+        if (!rs.wasNull()) {
+            current.getAuthors().add(Person.builder()
+                                            .id(authorId)
+                                            .lastName(rs.getString("author_last_name"))
+                                            .firstNames(rs.getString("author_first_names"))
+                                            .build()
+            );
+        }
+
+        Long editorId = rs.getLong("editor_id");
+        if (!rs.wasNull()) {
+            current.getEditors().add(Person.builder()
+                                            .id(editorId)
+                                            .lastName(rs.getString("editor_last_name"))
+                                            .firstNames(rs.getString("editor_first_names"))
+                                            .build()
+            );
+        }
+    }
+
+    public void finish() {
+        if (current != null) consumer.accept(current);
+        current = null;
+    }
+
+    private FullEntryDto extractDto(ResultSet rs, Long id) throws SQLException {
+
+        return FullEntryDto.builder()
+                .book(getBook(rs, id))
+                .authors(new ArrayList<>())
+                .editors(new ArrayList<>())
+                .publisher(getPublisher(rs))
+                .build();
+    }
+
+    private Book getBook(ResultSet rs, Long id) throws SQLException {
+        int yearInt = rs.getInt("year");
+        Integer year = rs.wasNull() ? null : yearInt;
+
+        return Book.builder()
+                        .id(id)
+                        .title(rs.getString("title"))
+                        .year(year)
+                        .isbn10(rs.getString("isbn10"))
+                        .isbn13(rs.getString("isbn13"))
+                        .shelfMark(rs.getString("shelf_mark"))
+                        .build();
+
+    }
+
+    private Publisher getPublisher(ResultSet rs) throws SQLException {
+        long publisherId = rs.getLong("publisher_id");
+
+        if (!rs.wasNull()) {
+            return Publisher.builder()
+                .id(publisherId)
+                .name(rs.getString("publisher_name"))
+                .location(rs.getString("publisher_location"))
+                .build();
+        }
+
+        return null;
+    }
+}
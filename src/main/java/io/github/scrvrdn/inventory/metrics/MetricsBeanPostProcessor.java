@@ -0,0 +1,56 @@
+package io.github.scrvrdn.inventory.metrics;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+import org.springframework.aop.framework.autoproxy.AbstractBeanFactoryAwareAdvisingPostProcessor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.StaticMethodMatcherPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.function.SingletonSupplier;
+
+import io.github.scrvrdn.inventory.InventoryApplication;
+
+/**
+ * Wraps every bean in the {@code repositories} and {@code services} packages so that the methods of
+ * its interfaces are recorded in the {@link MetricsRegistry}. Beans that are already proxied, e.g. for
+ * transactions, get the interceptor added in front of their existing advice. Class-based proxies keep
+ * the event listener methods, which are not part of the interfaces, callable.
+ */
+@Component
+@ConditionalOnProperty(name = "app.metrics.enabled", havingValue = "true", matchIfMissing = true)
+public class MetricsBeanPostProcessor extends AbstractBeanFactoryAwareAdvisingPostProcessor {
+
+    private static final String BASE_PACKAGE = InventoryApplication.class.getPackageName();
+
+    /**
+     * The registry is looked up on the first recorded call: a bean created for a post-processor would
+     * itself miss post-processing.
+     */
+    public MetricsBeanPostProcessor(final ObjectProvider<MetricsRegistry> registry) {
+        this.advisor = new DefaultPointcutAdvisor(new InstrumentedMethods(), new MetricsInterceptor(SingletonSupplier.of(registry::getObject)));
+        setBeforeExistingAdvisors(true);
+        setProxyTargetClass(true);
+    }
+
+    private static class InstrumentedMethods extends StaticMethodMatcherPointcut {
+
+        @Override
+        public boolean matches(Method method, Class<?> targetClass) {
+            return isInstrumented(targetClass) && Modifier.isPublic(method.getModifiers()) && isInterfaceMethod(method, targetClass);
+        }
+
+        private boolean isInstrumented(Class<?> targetClass) {
+            String packageName = targetClass.getPackageName();
+            return packageName.startsWith(BASE_PACKAGE + ".repositories") || packageName.startsWith(BASE_PACKAGE + ".services");
+        }
+
+        private boolean isInterfaceMethod(Method method, Class<?> targetClass) {
+            return ClassUtils.getAllInterfacesForClassAsSet(targetClass).stream()
+                .anyMatch(type -> ClassUtils.hasMethod(type, method.getName(), method.getParameterTypes()));
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package io.github.scrvrdn.inventory.metrics;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.support.AopUtils;
+
+import io.github.scrvrdn.inventory.dto.Page;
+
+/**
+ * Times each call and counts the rows it returned: the size of a collection or page, or whether an
+ * optional was present.
+ */
+class MetricsInterceptor implements MethodInterceptor {
+
+    private final Supplier<MetricsRegistry> registry;
+
+    MetricsInterceptor(Supplier<MetricsRegistry> registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        String method = AopUtils.getTargetClass(invocation.getThis()).getSimpleName() + "." + invocation.getMethod().getName();
+        long start = System.nanoTime();
+
+        try {
+            Object result = invocation.proceed();
+            registry.get().record(method, System.nanoTime() - start, rowsOf(result), false);
+            return result;
+
+        } catch (Throwable e) {
+            registry.get().record(method, System.nanoTime() - start, 0, true);
+            throw e;
+        }
+    }
+
+    private long rowsOf(Object result) {
+        return switch (result) {
+            case Collection<?> collection -> collection.size();
+            case Map<?, ?> map -> map.size();
+            case Page page -> page.entries().size();
+            case Optional<?> optional -> optional.isPresent() ? 1 : 0;
+            case null, default -> 0;
+        };
+    }
+}
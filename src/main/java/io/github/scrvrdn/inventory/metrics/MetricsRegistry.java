@@ -0,0 +1,81 @@
+package io.github.scrvrdn.inventory.metrics;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.stereotype.Component;
+
+import io.github.scrvrdn.inventory.dto.MethodStats;
+
+/**
+ * Call counts, errors, returned rows and latency percentiles per repository and service method,
+ * filled in by {@link MetricsInterceptor}.
+ */
+@Component
+public class MetricsRegistry {
+
+    private final Map<String, MethodMetrics> methods = new ConcurrentHashMap<>();
+
+    public void record(String method, long nanos, long rows, boolean failed) {
+        methods.computeIfAbsent(method, m -> new MethodMetrics()).record(nanos, rows, failed);
+    }
+
+    public List<MethodStats> snapshot() {
+        return methods.entrySet().stream()
+            .map(e -> e.getValue().stats(e.getKey()))
+            .sorted(Comparator.comparing(MethodStats::method))
+            .toList();
+    }
+
+    public void reset() {
+        methods.clear();
+    }
+
+    public void dump(Path file) throws IOException {
+        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(file))) {
+            writer.println("# Inventory method metrics, " + LocalDateTime.now());
+            writer.printf(Locale.ROOT, "%-60s %10s %8s %12s %10s %10s %10s %10s%n", "method", "calls", "errors", "rows", "p50 ms", "p95 ms", "p99 ms", "max ms");
+
+            for (MethodStats stats : snapshot()) {
+                writer.printf(Locale.ROOT, "%-60s %10d %8d %12d %10.3f %10.3f %10.3f %10.3f%n",
+                    stats.method(), stats.calls(), stats.errors(), stats.rows(), stats.p50Millis(), stats.p95Millis(), stats.p99Millis(), stats.maxMillis());
+            }
+        }
+    }
+
+    private static class MethodMetrics {
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder rows = new LongAdder();
+        private final LatencyHistogram latencies = new LatencyHistogram();
+
+        void record(long nanos, long rowCount, boolean failed) {
+            calls.increment();
+            rows.add(rowCount);
+            if (failed) errors.increment();
+            latencies.record(nanos / 1_000);
+        }
+
+        MethodStats stats(String method) {
+            return new MethodStats(
+                method,
+                calls.sum(),
+                errors.sum(),
+                rows.sum(),
+                latencies.percentile(50) / 1_000.0,
+                latencies.percentile(95) / 1_000.0,
+                latencies.percentile(99) / 1_000.0,
+                latencies.max() / 1_000.0
+            );
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package io.github.scrvrdn.inventory.metrics;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.List;
+import java.util.logging.FileHandler;
+import java.util.logging.Formatter;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Writes statements that took longer than {@code app.db.slow-query.threshold-ms} to
+ * {@code slow-queries.N.log} in {@code app.db.slow-query.log-dir}, rotating over five files of 1 MB.
+ * Parameters are logged by type and length only, never by value. A negative threshold turns the log off.
+ */
+@Component
+public class SlowQueryLog implements DisposableBean {
+
+    private static final int FILE_SIZE_LIMIT = 1_000_000;
+    private static final int FILE_COUNT = 5;
+
+    private final long thresholdNanos;
+    private final Path logDir;
+    private FileHandler handler;
+
+    public SlowQueryLog(
+        @Value("${app.db.slow-query.threshold-ms:250}") final long thresholdMillis,
+        @Value("${app.db.slow-query.log-dir:${user.home}/.inventory}") final Path logDir
+    ) {
+        this.thresholdNanos = thresholdMillis < 0 ? Long.MAX_VALUE : thresholdMillis * 1_000_000;
+        this.logDir = logDir;
+    }
+
+    public boolean isSlow(long nanos) {
+        return nanos >= thresholdNanos;
+    }
+
+    public void record(String sql, Object[] args, long nanos, String rows, List<String> plan) {
+        StringBuilder entry = new StringBuilder()
+            .append("slow query: ").append(nanos / 1_000_000).append(" ms, ").append(rows).append(" rows\n")
+            .append(sql.strip()).append('\n')
+            .append("parameters: ").append(describe(args)).append('\n')
+            .append("QUERY PLAN\n");
+        plan.forEach(line -> entry.append(line).append('\n'));
+
+        publish(entry.toString());
+    }
+
+    private String describe(Object[] args) {
+        if (args == null) return "[]";
+
+        return Arrays.stream(args)
+            .map(arg -> switch (arg) {
+                case null -> "NULL";
+                case CharSequence text -> "String(" + text.length() + ")";
+                default -> arg.getClass().getSimpleName();
+            })
+            .collect(Collectors.joining(", ", "[", "]"));
+    }
+
+    private synchronized void publish(String message) {
+        try {
+            if (handler == null) handler = openHandler();
+            handler.publish(new LogRecord(Level.WARNING, message));
+            handler.flush();
+
+        } catch (IOException e) {
+            System.err.println("Cannot write slow query log: " + e.getMessage());
+        }
+    }
+
+    private FileHandler openHandler() throws IOException {
+        Files.createDirectories(logDir);
+
+        FileHandler fileHandler = new FileHandler(logDir.resolve("slow-queries.%g.log").toString(), FILE_SIZE_LIMIT, FILE_COUNT, true);
+        fileHandler.setFormatter(new Formatter() {
+            @Override
+            public String format(LogRecord record) {
+                return LocalDateTime.ofInstant(Instant.ofEpochMilli(record.getMillis()), ZoneId.systemDefault()) + " " + record.getMessage() + "\n";
+            }
+        });
+
+        return fileHandler;
+    }
+
+    @Override
+    public synchronized void destroy() {
+        if (handler != null) handler.close();
+    }
+}
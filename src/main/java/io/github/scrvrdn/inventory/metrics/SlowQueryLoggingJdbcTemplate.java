@@ -0,0 +1,105 @@
+package io.github.scrvrdn.inventory.metrics;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ArgumentPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.core.SqlProvider;
+
+/**
+ * JdbcTemplate that times every query and hands the slow ones, together with their
+ * {@code EXPLAIN QUERY PLAN}, to the {@link SlowQueryLog}. The plan is only read for statements over
+ * the threshold, so the fast path costs two clock reads.
+ */
+public class SlowQueryLoggingJdbcTemplate extends JdbcTemplate {
+
+    private final SlowQueryLog slowQueryLog;
+
+    public SlowQueryLoggingJdbcTemplate(final DataSource dataSource, final SlowQueryLog slowQueryLog) {
+        super(dataSource);
+        this.slowQueryLog = slowQueryLog;
+    }
+
+    @Override
+    public <T> T query(PreparedStatementCreator psc, PreparedStatementSetter pss, ResultSetExtractor<T> rse) throws DataAccessException {
+        long start = System.nanoTime();
+        T result = super.query(psc, pss, rse);
+        long nanos = System.nanoTime() - start;
+
+        if (slowQueryLog.isSlow(nanos) && psc instanceof SqlProvider provider && provider.getSql() != null) {
+            Object[] args = pss instanceof BoundArguments bound ? bound.args : null;
+            log(provider.getSql(), args, nanos, result);
+        }
+
+        return result;
+    }
+
+    @Override
+    public <T> T query(String sql, ResultSetExtractor<T> rse) throws DataAccessException {
+        long start = System.nanoTime();
+        T result = super.query(sql, rse);
+        long nanos = System.nanoTime() - start;
+
+        if (slowQueryLog.isSlow(nanos)) log(sql, null, nanos, result);
+        return result;
+    }
+
+    @Override
+    protected PreparedStatementSetter newArgPreparedStatementSetter(Object[] args) {
+        return new BoundArguments(args);
+    }
+
+    private void log(String sql, Object[] args, long nanos, Object result) {
+        String rows = switch (result) {
+            case Collection<?> collection -> String.valueOf(collection.size());
+            case null -> "?";
+            default -> "1";
+        };
+
+        slowQueryLog.record(sql, args, nanos, rows, explain(sql, args));
+    }
+
+    /**
+     * Runs {@code EXPLAIN QUERY PLAN} with the same arguments and draws the plan as a tree.
+     */
+    private List<String> explain(String sql, Object[] args) {
+        PreparedStatementCreator explain = connection -> connection.prepareStatement("EXPLAIN QUERY PLAN " + sql.strip());
+
+        try {
+            return super.query(explain, new ArgumentPreparedStatementSetter(args), rs -> {
+                Map<Integer, Integer> depths = new HashMap<>();
+                List<String> lines = new ArrayList<>();
+
+                while (rs.next()) {
+                    int depth = depths.getOrDefault(rs.getInt("parent"), -1) + 1;
+                    depths.put(rs.getInt("id"), depth);
+                    lines.add("  ".repeat(depth) + "|--" + rs.getString("detail"));
+                }
+
+                return lines;
+            });
+
+        } catch (DataAccessException e) {
+            return List.of("(no plan: " + e.getMessage() + ")");
+        }
+    }
+
+    private static class BoundArguments extends ArgumentPreparedStatementSetter {
+        private final Object[] args;
+
+        BoundArguments(Object[] args) {
+            super(args);
+            this.args = args;
+        }
+    }
+}
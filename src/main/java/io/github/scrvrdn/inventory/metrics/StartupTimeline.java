@@ -0,0 +1,75 @@
+package io.github.scrvrdn.inventory.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.aot.AotDetector;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.stereotype.Component;
+
+import io.github.scrvrdn.inventory.FirstPulseListener;
+import javafx.application.Platform;
+import javafx.scene.Scene;
+
+/**
+ * Measures the launch from JVM start to the Spring context being ready and to the first page of entries being
+ * laid out. Both times are logged once, together with the startup options in effect, and recorded in the
+ * {@link MetricsRegistry} as {@code Startup.contextReady} and {@code Startup.firstPage}.
+ */
+@Component
+public class StartupTimeline implements ApplicationListener<ApplicationReadyEvent> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(StartupTimeline.class);
+
+    private final MetricsRegistry metricsRegistry;
+    private final boolean lazyInitialization;
+    private final AtomicBoolean firstPageShown = new AtomicBoolean();
+    private volatile long contextReadyMillis;
+
+    public StartupTimeline(final MetricsRegistry metricsRegistry, @Value("${spring.main.lazy-initialization:false}") final boolean lazyInitialization) {
+        this.metricsRegistry = metricsRegistry;
+        this.lazyInitialization = lazyInitialization;
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        contextReadyMillis = uptimeMillis();
+        metricsRegistry.record("Startup.contextReady", contextReadyMillis * 1_000_000, 0, false);
+    }
+
+    /**
+     * Call once the table holds its first page; only the first call counts. The time is taken after the next
+     * layout pulse, when the rows are ready to be drawn.
+     */
+    public void firstPageShown(Scene scene) {
+        firstPageShown(scene, Platform::runLater);
+    }
+
+    void firstPageShown(Scene scene, Executor fxThread) {
+        if (!firstPageShown.compareAndSet(false, true)) return;
+
+        if (scene == null) {
+            recordFirstPage();
+            return;
+        }
+
+        FirstPulseListener.register(scene, this::recordFirstPage, fxThread);
+    }
+
+    private void recordFirstPage() {
+        long firstPageMillis = uptimeMillis();
+        metricsRegistry.record("Startup.firstPage", firstPageMillis * 1_000_000, 0, false);
+
+        LOG.info("Context ready after {} ms, first page after {} ms from JVM start (AOT {}, lazy initialization {})",
+            contextReadyMillis, firstPageMillis, AotDetector.useGeneratedArtifacts(), lazyInitialization);
+    }
+
+    private long uptimeMillis() {
+        return ManagementFactory.getRuntimeMXBean().getUptime();
+    }
+}
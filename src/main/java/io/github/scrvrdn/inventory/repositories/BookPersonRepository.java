@@ -17,6 +17,10 @@ public interface BookPersonRepository {
 
     void removeAuthorsFromBook(long bookId, List<Long> authorIds);
 
+    void addAuthorToBooks(List<Long> bookIds, long authorId);
+
+    void removeAuthorFromBooks(List<Long> bookIds, Person author);
+
 
     void assignEditorsToBook(long bookId, List<Long> editorIds);
 
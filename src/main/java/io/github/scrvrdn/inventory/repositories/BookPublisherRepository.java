@@ -1,5 +1,6 @@
 package io.github.scrvrdn.inventory.repositories;
 
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
@@ -11,6 +12,10 @@ public interface BookPublisherRepository {
 
     void removePublisherFromBook(long bookId, long publisherId);
 
+    void assignPublisherToBooks(List<Long> bookIds, long publisherId);
+
+    void removePublishersFromBooks(List<Long> bookIds);
+
     Optional<Publisher> findPublisherByBookId(long bookId);
 
     Long findPublisherIdByBookId(long bookId);
@@ -2,6 +2,7 @@ package io.github.scrvrdn.inventory.repositories;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import io.github.scrvrdn.inventory.dto.Book;
 
@@ -14,9 +15,17 @@ public interface BookRepository {
     List<Book> findAll();
 
     void update(Book book);
+
+    void updateFields(Book book, Set<String> fields);
+
+    void updateShelfMark(List<Long> ids, String shelfMark);
+
+    void updateYear(List<Long> ids, Integer year);
     
     void delete(long id);
 
+    int deleteAll(List<Long> ids);
+
     int numberOfRows();
     
 }
\ No newline at end of file
@@ -2,15 +2,20 @@ package io.github.scrvrdn.inventory.repositories;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
+import io.github.scrvrdn.inventory.dto.CacheStats;
 import io.github.scrvrdn.inventory.dto.FlatEntryDto;
 import io.github.scrvrdn.inventory.dto.FullEntryDto;
 import io.github.scrvrdn.inventory.dto.Page;
+import io.github.scrvrdn.inventory.dto.PageCursor;
 import io.github.scrvrdn.inventory.dto.PageRequest;
 
 public interface EntryViewRepository {
     List<FullEntryDto> findAll();
 
+    void forEachEntry(Consumer<FullEntryDto> action);
+
     Optional<FullEntryDto> findById(long id);
 
     Optional<FlatEntryDto> getFlatEntryDtoByBookId(long bookId);
@@ -23,7 +28,19 @@ public interface EntryViewRepository {
 
     List<FlatEntryDto> getSortedEntries(PageRequest request);
 
+    List<FlatEntryDto> getSortedEntriesAfter(PageCursor cursor, PageRequest request);
+
+    List<FlatEntryDto> getSortedEntriesBefore(PageCursor cursor, PageRequest request);
+
     int findRow(long bookId, PageRequest request);
 
+    int numberOfRows();
+
     List<FlatEntryDto> getAllFlatEntryDtos();
+
+    void forEachFlatEntryDto(Consumer<FlatEntryDto> action);
+
+    CacheStats getSearchCacheStats();
+
+    CacheStats getDetailsCacheStats();
 }
@@ -3,6 +3,7 @@ package io.github.scrvrdn.inventory.repositories;
 import java.util.List;
 import java.util.Optional;
 
+import io.github.scrvrdn.inventory.dto.CacheStats;
 import io.github.scrvrdn.inventory.dto.Person;
 
 public interface PersonRepository {
@@ -18,4 +19,10 @@ public interface PersonRepository {
     void update(Person person);
 
     void delete(long id);
+
+    void warmUpIdCache();
+
+    void evictFromIdCache(List<Person> persons);
+
+    CacheStats getIdCacheStats();
 }
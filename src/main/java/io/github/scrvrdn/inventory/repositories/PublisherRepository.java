@@ -3,12 +3,15 @@ package io.github.scrvrdn.inventory.repositories;
 import java.util.List;
 import java.util.Optional;
 
+import io.github.scrvrdn.inventory.dto.CacheStats;
 import io.github.scrvrdn.inventory.dto.Publisher;
 
 public interface PublisherRepository {
 
     void create(Publisher publisher);
 
+    void createAll(List<Publisher> publishers);
+
     Optional<Publisher> findById(long id);
 
     List<Publisher> findAll();
@@ -17,4 +20,10 @@ public interface PublisherRepository {
 
     void delete(long id);
 
+    void warmUpIdCache();
+
+    void evictFromIdCache(List<Publisher> publishers);
+
+    CacheStats getIdCacheStats();
+
 }
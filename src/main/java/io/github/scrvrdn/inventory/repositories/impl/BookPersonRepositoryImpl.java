@@ -102,6 +102,40 @@ public class BookPersonRepositoryImpl implements BookPersonRepository {
                                 });
     }
 
+    /**
+     * Appends the author to each book that does not list them yet.
+     */
+    @Override
+    public void addAuthorToBooks(List<Long> bookIds, long authorId) {
+        String query = """
+                INSERT INTO "book_person" ("book_id", "person_id", "role", "order_index")
+                SELECT b."id", ?, 'AUTHOR', (
+                    SELECT COALESCE(MAX("order_index") + 1, 0) FROM "book_person"
+                    WHERE "book_id" = b."id" AND "role" = 'AUTHOR'
+                )
+                FROM "books" b
+                WHERE b."id" IN (SELECT "value" FROM json_each(?))
+                ON CONFLICT ("book_id", "person_id", "role") DO NOTHING;
+                """;
+
+        jdbcTemplate.update(query, authorId, IdArray.of(bookIds));
+    }
+
+    @Override
+    public void removeAuthorFromBooks(List<Long> bookIds, Person author) {
+        String query = """
+                DELETE FROM "book_person"
+                WHERE "role" = 'AUTHOR'
+                AND "book_id" IN (SELECT "value" FROM json_each(?))
+                AND "person_id" IN (
+                    SELECT "id" FROM "persons"
+                    WHERE "last_name" IS ? AND "first_names" IS ?
+                );
+                """;
+
+        jdbcTemplate.update(query, IdArray.of(bookIds), author.getLastName(), author.getFirstNames());
+    }
+
     @Override
     public void assignEditorsToBook(long bookId, List<Long> editorIds) {
         String query = """
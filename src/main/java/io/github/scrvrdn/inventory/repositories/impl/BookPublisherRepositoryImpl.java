@@ -56,6 +56,30 @@ public class BookPublisherRepositoryImpl implements BookPublisherRepository {
             publisherId);
     }
 
+    @Override
+    public void assignPublisherToBooks(List<Long> bookIds, long publisherId) {
+        String query = """
+                INSERT INTO "published" ("book_id", "publisher_id")
+                SELECT b."id", ? FROM "books" b
+                WHERE b."id" IN (SELECT "value" FROM json_each(?))
+                ON CONFLICT ("book_id") DO UPDATE
+                SET "publisher_id" = "excluded"."publisher_id"
+                WHERE "publisher_id" != "excluded"."publisher_id";
+                """;
+
+        jdbcTemplate.update(query, publisherId, IdArray.of(bookIds));
+    }
+
+    @Override
+    public void removePublishersFromBooks(List<Long> bookIds) {
+        String query = """
+                DELETE FROM "published"
+                WHERE "book_id" IN (SELECT "value" FROM json_each(?));
+                """;
+
+        jdbcTemplate.update(query, IdArray.of(bookIds));
+    }
+
     @Override
     public Optional<Publisher> findPublisherByBookId(long bookId) {
         String query = """
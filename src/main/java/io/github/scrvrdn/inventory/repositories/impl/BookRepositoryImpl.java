@@ -4,8 +4,10 @@ import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.sql.Types;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import org.springframework.dao.DataAccessException;
 import org.springframework.jdbc.UncategorizedSQLException;
@@ -16,6 +18,7 @@ import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.stereotype.Repository;
 
 import io.github.scrvrdn.inventory.dto.Book;
+import io.github.scrvrdn.inventory.dto.FullEntryDto;
 import io.github.scrvrdn.inventory.exceptions.BookNotFoundException;
 import io.github.scrvrdn.inventory.exceptions.UniqueConstraintViolationException;
 import io.github.scrvrdn.inventory.mappers.BookRowMapper;
@@ -128,6 +131,77 @@ public class BookRepositoryImpl implements BookRepository {
         
     }
 
+    /**
+     * Writes only the given {@link FullEntryDto} book fields, in a single statement.
+     */
+    @Override
+    public void updateFields(Book book, Set<String> fields) {
+        List<String> assignments = new ArrayList<>();
+        List<Object> args = new ArrayList<>();
+
+        if (fields.contains(FullEntryDto.TITLE)) {
+            assignments.add("\"title\" = ?");
+            args.add(book.getTitle());
+        }
+        if (fields.contains(FullEntryDto.YEAR)) {
+            assignments.add("\"year\" = ?");
+            args.add(book.getYear());
+        }
+        if (fields.contains(FullEntryDto.ISBN10)) {
+            assignments.add("\"isbn10\" = ?");
+            args.add(book.getIsbn10());
+        }
+        if (fields.contains(FullEntryDto.ISBN13)) {
+            assignments.add("\"isbn13\" = ?");
+            args.add(book.getIsbn13());
+        }
+        if (fields.contains(FullEntryDto.SHELF_MARK)) {
+            assignments.add("\"shelf_mark\" = ?");
+            args.add(book.getShelfMark());
+        }
+        if (assignments.isEmpty()) return;
+
+        String query = """
+                UPDATE "books"
+                SET %s
+                WHERE "id" = ?;
+                """.formatted(String.join(", ", assignments));
+        args.add(book.getId());
+
+        int affectedRows;
+        try {
+            affectedRows = jdbcTemplate.update(query, args.toArray());
+
+        } catch (DataAccessException e) {
+            handleSQLException(e);
+            return;
+        }
+
+        if (affectedRows == 0) throw new BookNotFoundException(book.getId());
+    }
+
+    @Override
+    public void updateShelfMark(List<Long> ids, String shelfMark) {
+        String query = """
+                UPDATE "books"
+                SET "shelf_mark" = ?
+                WHERE "id" IN (SELECT "value" FROM json_each(?));
+                """;
+
+        jdbcTemplate.update(query, shelfMark, IdArray.of(ids));
+    }
+
+    @Override
+    public void updateYear(List<Long> ids, Integer year) {
+        String query = """
+                UPDATE "books"
+                SET "year" = ?
+                WHERE "id" IN (SELECT "value" FROM json_each(?));
+                """;
+
+        jdbcTemplate.update(query, year, IdArray.of(ids));
+    }
+
     private void handleSQLException(DataAccessException e) {
         if (e instanceof UncategorizedSQLException uncatEx) {
             SQLException sqlEx = (SQLException) uncatEx.getCause();
@@ -177,6 +251,16 @@ public class BookRepositoryImpl implements BookRepository {
         }
     }
 
+    @Override
+    public int deleteAll(List<Long> ids) {
+        String query = """
+                DELETE FROM "books"
+                WHERE "id" IN (SELECT "value" FROM json_each(?));
+                """;
+
+        return jdbcTemplate.update(query, IdArray.of(ids));
+    }
+
     @Override
     public int numberOfRows() {
         String query = """
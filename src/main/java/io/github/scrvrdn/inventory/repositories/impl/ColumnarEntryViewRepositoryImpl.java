@@ -0,0 +1,320 @@
+package io.github.scrvrdn.inventory.repositories.impl;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import io.github.scrvrdn.inventory.cache.LruCache;
+import io.github.scrvrdn.inventory.dto.CacheStats;
+import io.github.scrvrdn.inventory.dto.FlatEntryDto;
+import io.github.scrvrdn.inventory.dto.FullEntryDto;
+import io.github.scrvrdn.inventory.dto.Page;
+import io.github.scrvrdn.inventory.dto.PageCursor;
+import io.github.scrvrdn.inventory.dto.PageRequest;
+import io.github.scrvrdn.inventory.events.EntriesChangedEvent;
+import io.github.scrvrdn.inventory.mappers.FlatEntryDtoRowMapper;
+import io.github.scrvrdn.inventory.repositories.EntryViewRepository;
+
+/**
+ * Serves the table view from an in-memory {@link FlatEntryColumns} snapshot instead of SQL: pages are slices
+ * of the precomputed sort permutations and search is a parallel scan. Full entries are still read from the
+ * database. Enabled with {@code app.entry-view.in-memory=true}.
+ */
+@Repository
+@Primary
+@ConditionalOnProperty(name = "app.entry-view.in-memory", havingValue = "true")
+public class ColumnarEntryViewRepositoryImpl implements EntryViewRepository {
+
+    private static final int MAX_INCREMENTAL_REFRESH = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntryViewRepository sqlRepository;
+    private final FlatEntryDtoRowMapper flatEntryDtoRowMapper;
+    private final LruCache<FilterKey, int[]> filterCache;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile FlatEntryColumns columns;
+
+    public ColumnarEntryViewRepositoryImpl(
+        @Qualifier("readerJdbcTemplate") final JdbcTemplate jdbcTemplate,
+        @Qualifier("entryViewRepositoryImpl") final EntryViewRepository sqlRepository,
+        final FlatEntryDtoRowMapper flatEntryDtoRowMapper,
+        @Value("${app.cache.search-size:64}") final int searchCacheSize
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.sqlRepository = sqlRepository;
+        this.flatEntryDtoRowMapper = flatEntryDtoRowMapper;
+        this.filterCache = new LruCache<>(searchCacheSize);
+    }
+
+    @Override
+    public List<FullEntryDto> findAll() {
+        return sqlRepository.findAll();
+    }
+
+    @Override
+    public void forEachEntry(Consumer<FullEntryDto> action) {
+        sqlRepository.forEachEntry(action);
+    }
+
+    @Override
+    public Optional<FullEntryDto> findById(long id) {
+        return sqlRepository.findById(id);
+    }
+
+    @Override
+    public Optional<FlatEntryDto> getFlatEntryDtoByBookId(long bookId) {
+        return read(columns -> Optional.ofNullable(columns.rowOf(bookId)).map(columns::entry));
+    }
+
+    @Override
+    public Optional<FlatEntryDto> getNextFlatEntryDtoAfterBookId(long bookId) {
+        return read(columns -> {
+            int[] order = columns.order(SortColumn.ID, false);
+            int position = columns.upperBound(order, SortColumn.ID, false, bookId, bookId);
+            return position < columns.size() ? Optional.of(columns.entry(order[position])) : Optional.empty();
+        });
+    }
+
+    @Override
+    public List<FlatEntryDto> getFlatEntryDtos(int pageSize, int fromRow) {
+        return getSortedEntries(new PageRequest(0, pageSize, null, "b.\"id\"", "ASC", false), fromRow, fromRow + pageSize);
+    }
+
+    @Override
+    public Page getSortedAndFilteredEntries(PageRequest request) {
+        List<String[]> phrases = FlatEntryColumns.parseSearch(request.searchString());
+        if (phrases.isEmpty()) return new Page(List.of(), request.pageIndex(), 0);
+
+        return read(columns -> {
+            int[] rows = getCachedFilteredRows(columns, phrases, request);
+            boolean ascending = isAscending(request);
+
+            int from = request.pageIndex() * request.pageSize();
+            List<FlatEntryDto> entries = new ArrayList<>();
+            for (int i = from; i < Math.min(from + request.pageSize(), rows.length); i++) {
+                entries.add(columns.entry(rows[ascending ? i : rows.length - 1 - i]));
+            }
+
+            return new Page(entries, request.pageIndex(), rows.length);
+        });
+    }
+
+    @Override
+    public List<FlatEntryDto> getSortedEntries(PageRequest request) {
+        int from = request.pageIndex() * request.pageSize();
+        return getSortedEntries(request, from, from + request.pageSize());
+    }
+
+    @Override
+    public List<FlatEntryDto> getSortedEntriesAfter(PageCursor cursor, PageRequest request) {
+        return readPosition(cursor, request, (columns, bounds) -> {
+            int from = cursor == null ? 0 : bounds.after();
+            return slice(columns, request, from, from + request.pageSize());
+        });
+    }
+
+    @Override
+    public List<FlatEntryDto> getSortedEntriesBefore(PageCursor cursor, PageRequest request) {
+        return readPosition(cursor, request, (columns, bounds) -> {
+            int to = cursor == null ? columns.size() : bounds.before();
+            return slice(columns, request, Math.max(to - request.pageSize(), 0), to);
+        });
+    }
+
+    @Override
+    public int findRow(long bookId, PageRequest request) {
+        return read(columns -> {
+            Integer row = columns.rowOf(bookId);
+            if (row == null) throw new EmptyResultDataAccessException(1);
+
+            PageCursor cursor = new PageCursor(columns.key(SortColumn.of(request.sortBy()), row), bookId);
+            return bounds(columns, cursor, request).before() + 1;
+        });
+    }
+
+    @Override
+    public int numberOfRows() {
+        return read(FlatEntryColumns::size);
+    }
+
+    @Override
+    public List<FlatEntryDto> getAllFlatEntryDtos() {
+        return read(columns -> slice(columns, new PageRequest(0, 0, null, "b.\"id\"", "ASC", false), 0, columns.size()));
+    }
+
+    /**
+     * Streams from the database rather than the snapshot so a slow consumer never holds the read lock.
+     */
+    @Override
+    public void forEachFlatEntryDto(Consumer<FlatEntryDto> action) {
+        sqlRepository.forEachFlatEntryDto(action);
+    }
+
+    @Override
+    public CacheStats getSearchCacheStats() {
+        return filterCache.stats();
+    }
+
+    @Override
+    public CacheStats getDetailsCacheStats() {
+        return sqlRepository.getDetailsCacheStats();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEntriesChanged(EntriesChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            filterCache.clear();
+            if (columns == null) return;
+
+            // each upsert shifts the sort orders, so a large batch is cheaper to reload on the next read
+            if (event.getBookIds() == null || event.getBookIds().size() > MAX_INCREMENTAL_REFRESH) {
+                columns = null;
+            } else {
+                refresh(columns, event.getBookIds());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private record FilterKey(List<List<String>> phrases, SortColumn column, boolean noCase) {}
+
+    /**
+     * Paging through search results repeats the same match, so the matching rows are kept in ascending
+     * sort order per search and sort until the next write. Called under the lock, so a cached array always
+     * refers to the current rows.
+     */
+    private int[] getCachedFilteredRows(FlatEntryColumns columns, List<String[]> phrases, PageRequest request) {
+        SortColumn column = SortColumn.of(request.sortBy());
+        FilterKey key = new FilterKey(phrases.stream().map(List::of).toList(), column, request.caseInsensitive());
+        Optional<int[]> cached = filterCache.get(key);
+        if (cached.isPresent()) return cached.get();
+
+        long generation = filterCache.generation();
+        BitSet matches = columns.match(phrases);
+        int[] order = columns.order(column, request.caseInsensitive());
+        int[] rows = new int[matches.cardinality()];
+        int matched = 0;
+        for (int i = 0; i < columns.size() && matched < rows.length; i++) {
+            if (matches.get(order[i])) rows[matched++] = order[i];
+        }
+
+        filterCache.put(key, rows, generation);
+        return rows;
+    }
+
+    private List<FlatEntryDto> getSortedEntries(PageRequest request, int from, int to) {
+        return read(columns -> slice(columns, request, from, to));
+    }
+
+    /**
+     * Display positions in the requested direction: the first row after the cursor, and the number of rows
+     * before it. The cursor row itself may no longer exist.
+     */
+    private record Bounds(int after, int before) {}
+
+    private Bounds bounds(FlatEntryColumns columns, PageCursor cursor, PageRequest request) {
+        SortColumn column = SortColumn.of(request.sortBy());
+        int[] order = columns.order(column, request.caseInsensitive());
+        int lower = columns.lowerBound(order, column, request.caseInsensitive(), cursor.sortKey(), cursor.bookId());
+        int upper = columns.upperBound(order, column, request.caseInsensitive(), cursor.sortKey(), cursor.bookId());
+
+        return isAscending(request)
+            ? new Bounds(upper, lower)
+            : new Bounds(columns.size() - lower, columns.size() - upper);
+    }
+
+    private <T> T readPosition(PageCursor cursor, PageRequest request, PositionQuery<T> query) {
+        return read(columns -> query.apply(columns, cursor == null ? null : bounds(columns, cursor, request)));
+    }
+
+    private interface PositionQuery<T> {
+        T apply(FlatEntryColumns columns, Bounds bounds);
+    }
+
+    private List<FlatEntryDto> slice(FlatEntryColumns columns, PageRequest request, int from, int to) {
+        SortColumn column = SortColumn.of(request.sortBy());
+        int[] order = columns.order(column, request.caseInsensitive());
+        boolean ascending = isAscending(request);
+        int size = columns.size();
+
+        List<FlatEntryDto> entries = new ArrayList<>();
+        for (int i = Math.max(from, 0); i < Math.min(to, size); i++) {
+            entries.add(columns.entry(order[ascending ? i : size - 1 - i]));
+        }
+
+        return entries;
+    }
+
+    private boolean isAscending(PageRequest request) {
+        return request.sortDir().equalsIgnoreCase("ASC");
+    }
+
+    private <T> T read(Function<FlatEntryColumns, T> query) {
+        lock.readLock().lock();
+        try {
+            if (columns != null) return query.apply(columns);
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        lock.writeLock().lock();
+        try {
+            if (columns == null) columns = load();
+            return query.apply(columns);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private FlatEntryColumns load() {
+        Integer rowCount = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM \"flat_entries\";", Integer.class);
+        FlatEntryColumns loaded = new FlatEntryColumns(rowCount);
+
+        jdbcTemplate.query(selectRows(""), rs -> {
+            loaded.append(flatEntryDtoRowMapper.mapRow(rs, 0), rs.getString("isbn10"), rs.getString("isbn13"));
+        });
+        loaded.sortAll();
+
+        return loaded;
+    }
+
+    private void refresh(FlatEntryColumns columns, List<Long> bookIds) {
+        Set<Long> removed = new HashSet<>(bookIds);
+        List<Runnable> updates = jdbcTemplate.query(selectRows("WHERE f.\"id\" IN (SELECT \"value\" FROM json_each(?))"), (rs, rowNum) -> {
+            FlatEntryDto entry = flatEntryDtoRowMapper.mapRow(rs, rowNum);
+            String isbn10 = rs.getString("isbn10");
+            String isbn13 = rs.getString("isbn13");
+            removed.remove(entry.bookId());
+            return () -> columns.upsert(entry, isbn10, isbn13);
+        }, IdArray.of(bookIds));
+
+        updates.forEach(Runnable::run);
+        removed.forEach(columns::remove);
+    }
+
+    private String selectRows(String where) {
+        return """
+                SELECT f."id", f."title", f."year", f."shelf_mark", f."authors", f."editors", f."publisher", b."isbn10", b."isbn13"
+                FROM "flat_entries" f
+                JOIN "books" b ON b."id" = f."id"
+                """ + where + ";";
+    }
+}
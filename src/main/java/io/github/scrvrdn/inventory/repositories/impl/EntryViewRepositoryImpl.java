@@ -1,56 +1,112 @@
 package io.github.scrvrdn.inventory.repositories.impl;
 
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.regex.MatchResult;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.event.TransactionalEventListener;
 
+import io.github.scrvrdn.inventory.cache.LruCache;
+import io.github.scrvrdn.inventory.dto.CacheStats;
 import io.github.scrvrdn.inventory.dto.FlatEntryDto;
 import io.github.scrvrdn.inventory.dto.FullEntryDto;
 import io.github.scrvrdn.inventory.dto.Page;
+import io.github.scrvrdn.inventory.dto.PageCursor;
 import io.github.scrvrdn.inventory.dto.PageRequest;
+import io.github.scrvrdn.inventory.events.EntriesChangedEvent;
 import io.github.scrvrdn.inventory.mappers.EntryDtoExtractor;
 import io.github.scrvrdn.inventory.mappers.EntryDtoListExtractor;
 import io.github.scrvrdn.inventory.mappers.FlatEntryDtoRowMapper;
+import io.github.scrvrdn.inventory.mappers.FullEntryDtoRowCallbackHandler;
 import io.github.scrvrdn.inventory.repositories.EntryViewRepository;
 
 @Repository
 public class EntryViewRepositoryImpl implements EntryViewRepository {
+    private static final Pattern SEARCH_TOKEN = Pattern.compile("[\\p{L}\\p{N}\\p{M}]+");
+    private static final int STREAM_FETCH_SIZE = 500;
+
+    private static final String FIND_ALL_QUERY = """
+            SELECT
+                b."id" AS "id", b."title", b."year", b."isbn10", b."isbn13", b."shelf_mark",
+                a."id" AS "author_id", a."last_name" AS "author_last_name", a."first_names" AS "author_first_names",
+                e."id" AS "editor_id", e."last_name" AS "editor_last_name", e."first_names" AS "editor_first_names",
+                "publishers"."id" AS "publisher_id", "publishers"."location" AS "publisher_location", "publishers"."name" AS "publisher_name"
+            FROM "books" b
+            LEFT JOIN "book_person" ON b."id" = "book_person"."book_id"
+            LEFT JOIN "persons" a ON "book_person"."person_id" = a."id" AND "book_person"."role" = 'AUTHOR'
+            LEFT JOIN "persons" e ON "book_person"."person_id" = e."id" AND "book_person"."role" = 'EDITOR'
+            LEFT JOIN "published" ON b."id" = "published"."book_id"
+            LEFT JOIN "publishers" ON "published"."publisher_id" = "publishers"."id"
+            ORDER BY b."id", "book_person"."role", "book_person"."order_index";
+            """;
 
     private final JdbcTemplate jdbcTemplate;
     private final EntryDtoExtractor entryDtoExtractor;
     private final EntryDtoListExtractor entryDtoListExtractor;
     private final FlatEntryDtoRowMapper flatEntryDtoRowMapper;
+    private final LruCache<String, List<Long>> searchCache;
+    private final LruCache<Long, FullEntryDto> detailsCache;
 
-    public EntryViewRepositoryImpl(final JdbcTemplate jdbcTemplate, final EntryDtoExtractor entryDtoExtractor, final FlatEntryDtoRowMapper flatEntryDtoRowMapper, final EntryDtoListExtractor entryDtoListExtractor) {
+    public EntryViewRepositoryImpl(
+        @Qualifier("readerJdbcTemplate") final JdbcTemplate jdbcTemplate,
+        final EntryDtoExtractor entryDtoExtractor,
+        final FlatEntryDtoRowMapper flatEntryDtoRowMapper,
+        final EntryDtoListExtractor entryDtoListExtractor,
+        @Value("${app.cache.search-size:64}") final int searchCacheSize,
+        @Value("${app.cache.details-size:128}") final int detailsCacheSize
+    ) {
         this.jdbcTemplate = jdbcTemplate;
         this.entryDtoExtractor = entryDtoExtractor;
         this.entryDtoListExtractor = entryDtoListExtractor;
         this.flatEntryDtoRowMapper = flatEntryDtoRowMapper;
+        this.searchCache = new LruCache<>(searchCacheSize);
+        this.detailsCache = new LruCache<>(detailsCacheSize);
     }
 
     public List<FullEntryDto> findAll() {
-        String query = """
-                SELECT
-                    b."id" AS "id", b."title", b."year", b."isbn10", b."isbn13", b."shelf_mark",
-                    a."id" AS "author_id", a."last_name" AS "author_last_name", a."first_names" AS "author_first_names",
-                    e."id" AS "editor_id", e."last_name" AS "editor_last_name", e."first_names" AS "editor_first_names",
-                    "publishers"."id" AS "publisher_id", "publishers"."location" AS "publisher_location", "publishers"."name" AS "publisher_name"
-                FROM "books" b
-                LEFT JOIN "book_person" ON b."id" = "book_person"."book_id"
-                LEFT JOIN "persons" a ON "book_person"."person_id" = a."id" AND "book_person"."role" = 'AUTHOR'
-                LEFT JOIN "persons" e ON "book_person"."person_id" = e."id" AND "book_person"."role" = 'EDITOR'
-                LEFT JOIN "published" ON b."id" = "published"."book_id"
-                LEFT JOIN "publishers" ON "published"."publisher_id" = "publishers"."id"
-                ORDER BY b."id", "book_person"."role", "book_person"."order_index";
-                """;
-        return jdbcTemplate.query(query, entryDtoListExtractor);
+        return jdbcTemplate.query(FIND_ALL_QUERY, entryDtoListExtractor);
+    }
+
+    /**
+     * Hands each entry to the action as soon as its rows are read, so memory use does not grow with the catalog.
+     */
+    @Override
+    public void forEachEntry(Consumer<FullEntryDto> action) {
+        FullEntryDtoRowCallbackHandler handler = new FullEntryDtoRowCallbackHandler(action);
+        jdbcTemplate.query(streamingStatement(FIND_ALL_QUERY), handler);
+        handler.finish();
     }
 
+    /**
+     * Selecting rows in the table reads the same few entries again and again, so they are kept by book id
+     * until that book changes. Callers get a copy, so editing and saving it cannot change the cached entry.
+     */
     public Optional<FullEntryDto> findById(long id) {
+        Optional<FullEntryDto> cached = detailsCache.get(id);
+        if (cached.isPresent()) return cached.map(FullEntryDto::copy);
+
+        long generation = detailsCache.generation();
+        Optional<FullEntryDto> entry = loadById(id);
+        entry.ifPresent(e -> detailsCache.put(id, e, generation));
+        return entry.map(FullEntryDto::copy);
+    }
+
+    private Optional<FullEntryDto> loadById(long id) {
           String query = """
                 SELECT
                     b."id" AS "id", b."title", b."year", b."isbn10", b."isbn13", b."shelf_mark",
@@ -73,26 +129,9 @@ public class EntryViewRepositoryImpl implements EntryViewRepository {
 
     public Optional<FlatEntryDto> getFlatEntryDtoByBookId(long bookId) {
         String query = """
-                SELECT 
-                    b."id", b."title", b."year", b."shelf_mark",
-                    GROUP_CONCAT(
-                        CASE WHEN "book_person"."role" = 'AUTHOR' THEN CONCAT_WS(', ', p."last_name", p."first_names") END, '; ' ORDER BY "book_person"."order_index"
-                    ) AS "authors",
-                    GROUP_CONCAT(
-                        CASE WHEN "book_person"."role" = 'EDITOR' THEN CONCAT_WS(', ', p."last_name", p."first_names") END, '; ' ORDER BY "book_person"."order_index"
-                    ) AS "editors",
-                    CASE
-                        WHEN "publishers"."location" IS NULL AND "publishers"."name" IS NULL
-                        THEN NULL
-                        ELSE CONCAT_WS(': ', "publishers"."location", "publishers"."name")
-                    END AS "publisher"
-                FROM "books" b
-                LEFT JOIN "book_person" ON b."id" = "book_person"."book_id"
-                LEFT JOIN "persons" p ON "book_person"."person_id" = p."id"
-                LEFT JOIN "published" ON b."id" = "published"."book_id"
-                LEFT JOIN "publishers" ON "published"."publisher_id" = "publishers"."id"
-                WHERE b."id" = ?
-                GROUP BY b."id";
+                SELECT "id", "title", "year", "shelf_mark", "authors", "editors", "publisher"
+                FROM "flat_entries"
+                WHERE "id" = ?;
                 """;
                 
         List<FlatEntryDto> result = jdbcTemplate.query(query, flatEntryDtoRowMapper, bookId);
@@ -101,27 +140,10 @@ public class EntryViewRepositoryImpl implements EntryViewRepository {
 
     public Optional<FlatEntryDto> getNextFlatEntryDtoAfterBookId(long bookId) {
         String query = """
-                SELECT
-                    b."id", b."title", b."year", b."shelf_mark",
-                    GROUP_CONCAT(
-                        CASE WHEN "book_person"."role" = 'AUTHOR' THEN CONCAT_WS(', ', p."last_name", p."first_names") END, '; ' ORDER BY "book_person"."order_index"
-                    ) AS "authors",
-                    GROUP_CONCAT(
-                        CASE WHEN "book_person"."role" = 'EDITOR' THEN CONCAT_WS(', ', p."last_name", p."first_names") END, '; ' ORDER BY "book_person"."order_index"    
-                    ) AS "editors",
-                    CASE
-                        WHEN "publishers"."location" IS NULL AND "publishers"."name" IS NULL
-                        THEN NULL
-                        ELSE CONCAT_WS(': ', "publishers"."location", "publishers"."name")
-                    END AS "publisher"
-                FROM "books" b
-                LEFT JOIN "book_person" ON b."id" = "book_person"."book_id"
-                LEFT JOIN "persons" p ON "book_person"."person_id" = p."id"
-                LEFT JOIN "published" ON b."id" = "published"."book_id"
-                LEFT JOIN "publishers" ON "published"."publisher_id" = "publishers"."id"
-                WHERE b."id" > ?
-                GROUP BY b."id"
-                ORDER BY b."id"
+                SELECT "id", "title", "year", "shelf_mark", "authors", "editors", "publisher"
+                FROM "flat_entries"
+                WHERE "id" > ?
+                ORDER BY "id"
                 LIMIT 1;
                 """;
 
@@ -130,26 +152,9 @@ public class EntryViewRepositoryImpl implements EntryViewRepository {
 
     public List<FlatEntryDto> getFlatEntryDtos(int pageSize, int fromRow) {
         String query = """
-                SELECT
-                    b."id", b."title", b."year", b."shelf_mark",
-                    GROUP_CONCAT(
-                        CASE WHEN "book_person"."role" = 'AUTHOR' THEN CONCAT_WS(', ', p."last_name", p."first_names") END, '; ' ORDER BY "book_person"."order_index"
-                    ) AS "authors",
-                    GROUP_CONCAT(
-                        CASE WHEN "book_person"."role" = 'EDITOR' THEN CONCAT_WS(', ', p."last_name", p."first_names") END, '; ' ORDER BY "book_person"."order_index"
-                    ) AS "editors",
-                    CASE
-                        WHEN "publishers"."location" IS NULL AND "publishers"."name" IS NULL
-                        THEN NULL
-                        ELSE CONCAT_WS(': ', "publishers"."location", "publishers"."name")
-                    END AS "publisher"
-                FROM "books" b
-                LEFT JOIN "book_person" ON b."id" = "book_person"."book_id"
-                LEFT JOIN "persons" p ON "book_person"."person_id" = p."id"
-                LEFT JOIN "published" ON b."id" = "published"."book_id"
-                LEFT JOIN "publishers" ON "published"."publisher_id" = "publishers"."id"
-                GROUP BY b."id"
-                ORDER BY b."id"
+                SELECT "id", "title", "year", "shelf_mark", "authors", "editors", "publisher"
+                FROM "flat_entries"
+                ORDER BY "id"
                 LIMIT ?
                 OFFSET ?;
                 """;
@@ -159,94 +164,94 @@ public class EntryViewRepositoryImpl implements EntryViewRepository {
     
     @Override
     public Page getSortedAndFilteredEntries(PageRequest request) {
-        List<Long> filteredIds = getFilteredEntries(request.searchString().split(" "));
+        String matchExpression = buildMatchExpression(request.searchString());
+        if (matchExpression.isEmpty()) return new Page(List.of(), request.pageIndex(), 0);
+
+        List<Long> filteredIds = getCachedFilteredEntries(matchExpression);
         int totalNumberOfRows = filteredIds.size();
         List<FlatEntryDto> entries = getSortedEntries(filteredIds, request);
         return new Page(entries, request.pageIndex(), totalNumberOfRows);
     }
 
+    /**
+     * Turns the raw search string into an FTS5 query: each whitespace-separated term becomes a quoted
+     * phrase of its word characters with a prefix wildcard, and all terms must occur in the same book.
+     */
+    private String buildMatchExpression(String searchString) {
+        return Arrays.stream(searchString.split("\\s+"))
+            .map(term -> SEARCH_TOKEN.matcher(term).results().map(MatchResult::group).collect(Collectors.joining(" ")))
+            .filter(phrase -> !phrase.isEmpty())
+            .map(phrase -> "\"" + phrase + "\"*")
+            .collect(Collectors.joining(" AND "));
+    }
 
-    private List<Long> getFilteredEntries(String[] searchString) {
-        StringBuilder sql = new StringBuilder("""
-                SELECT b."id"
-                FROM "books" b
-                LEFT JOIN "book_person" ON b."id" = "book_person"."book_id"
-                LEFT JOIN "persons" p ON "book_person"."person_id" = p."id"
-                LEFT JOIN "published" ON b."id" = "published"."book_id"
-                LEFT JOIN "publishers" ON "published"."publisher_id" = "publishers"."id"
-                WHERE 1 = 1""");
-
-        List<Object> params = new ArrayList<>();
-
-        if (searchString != null) {
-            for (String str : searchString) {
-                sql.append("""
-                         AND (
-                        b."title" LIKE ?
-                        OR b."year" LIKE ?
-                        OR b."shelf_mark" LIKE ?
-                        OR b."isbn10" LIKE ?
-                        OR b."isbn13" LIKE ?
-                        OR p."last_name" LIKE ?
-                        OR p."first_names" LIKE ?
-                        OR "publishers"."name" LIKE ?
-                        OR "publishers"."location" LIKE ?
-                        )""");
-                
-                str = "%" + str + "%";
-                int n = 9;
-                while (n > 0) {
-                    params.add(str);
-                    n--;
-                }
-            }
+    /**
+     * Paging through search results repeats the same match, so the matching ids are kept per
+     * normalized match expression until the next write.
+     */
+    private List<Long> getCachedFilteredEntries(String matchExpression) {
+        String key = matchExpression.toLowerCase(Locale.ROOT);
+        Optional<List<Long>> cached = searchCache.get(key);
+        if (cached.isPresent()) return cached.get();
+
+        long generation = searchCache.generation();
+        List<Long> filteredIds = List.copyOf(getFilteredEntries(matchExpression));
+        searchCache.put(key, filteredIds, generation);
+        return filteredIds;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEntriesChanged(EntriesChangedEvent event) {
+        searchCache.clear();
+
+        if (event.getBookIds() == null) {
+            detailsCache.clear();
+        } else {
+            event.getBookIds().forEach(detailsCache::remove);
         }
-        sql.append(" GROUP BY b.\"id\";");
-        
-        return jdbcTemplate.queryForList(sql.toString(), Long.class, params.toArray());
     }
 
+    @Override
+    public CacheStats getSearchCacheStats() {
+        return searchCache.stats();
+    }
+
+    @Override
+    public CacheStats getDetailsCacheStats() {
+        return detailsCache.stats();
+    }
+
+    private List<Long> getFilteredEntries(String matchExpression) {
+        String query = """
+                SELECT "rowid" FROM "entries_fts"
+                WHERE "entries_fts" MATCH ?;
+                """;
+
+        return jdbcTemplate.queryForList(query, Long.class, matchExpression);
+    }
+
+    /**
+     * The matching ids are bound as one {@link IdArray}, however many there are.
+     */
     private List<FlatEntryDto> getSortedEntries(List<Long> filteredIds, PageRequest request) {
-        String placeHolders = filteredIds.stream().map(id -> "?").collect(Collectors.joining(", "));
         String orderBy = buildOrderBy(request);
+        String idArray = IdArray.of(filteredIds);
 
-        StringBuilder sql = new StringBuilder(
-            """
-                SELECT
-                    b."id", b."title" AS "title", b."year" AS "year", b."shelf_mark" AS "shelf_mark",
-                    GROUP_CONCAT(
-                        CASE WHEN "book_person"."role" = 'AUTHOR' THEN CONCAT_WS(', ', p."last_name", p."first_names") END, '; ' ORDER BY "book_person"."order_index"
-                    ) AS "authors",
-                    GROUP_CONCAT(
-                        CASE WHEN "book_person"."role" = 'EDITOR' THEN CONCAT_WS(', ', p."last_name", p."first_names") END, '; ' ORDER BY "book_person"."order_index"
-                    ) AS "editors",
-                    CASE
-                        WHEN "publishers"."location" IS NULL AND "publishers"."name" IS NULL
-                        THEN NULL
-                        ELSE CONCAT_WS(': ', "publishers"."location", "publishers"."name")
-                    END AS "publisher"
-                FROM "books" b
-                LEFT JOIN "book_person" ON b."id" = "book_person"."book_id"
-                LEFT JOIN "persons" p ON "book_person"."person_id" = p."id"
-                LEFT JOIN "published" ON b."id" = "published"."book_id"
-                LEFT JOIN "publishers" ON "published"."publisher_id" = "publishers"."id"
-                WHERE b."id" IN ("""
-            );
-        sql.append(placeHolders + ")")
-            .append("\nGROUP BY b.\"id\"")
-            .append("\nORDER BY " + orderBy)
+        StringBuilder sql = new StringBuilder("""
+            SELECT b."id", b."title", b."year", b."shelf_mark", b."authors", b."editors", b."publisher"
+            FROM "flat_entries" b
+            WHERE b."id" IN (SELECT "value" FROM json_each(?))
+        """)
+            .append("ORDER BY " + orderBy)
             .append(", b.\"id\" " + request.sortDir())
             .append("\nLIMIT ? OFFSET ?;");
-        
-        Object[] params = new Object[filteredIds.size() + 2];
-        System.arraycopy(filteredIds.toArray(), 0, params, 0, filteredIds.size());
-        params[filteredIds.size()] = request.pageSize();
-        params[filteredIds.size() + 1] = request.pageIndex() * request.pageSize();
 
         return jdbcTemplate.query(
             sql.toString(),
             flatEntryDtoRowMapper,
-            params
+            idArray,
+            request.pageSize(),
+            request.pageIndex() * request.pageSize()
         );
     }
 
@@ -254,25 +259,8 @@ public class EntryViewRepositoryImpl implements EntryViewRepository {
         String orderBy = buildOrderBy(request);
 
         StringBuilder sql = new StringBuilder("""
-            SELECT
-                b."id", b."title" AS "title", b."year" AS "year", b."shelf_mark" AS "shelf_mark",
-                GROUP_CONCAT(
-                    CASE WHEN "book_person"."role" = 'AUTHOR' THEN CONCAT_WS(', ', p."last_name", p."first_names") END, '; ' ORDER BY "book_person"."order_index"
-                ) AS "authors",
-                GROUP_CONCAT(
-                    CASE WHEN "book_person"."role" = 'EDITOR' THEN CONCAT_WS(', ', p."last_name", p."first_names") END, '; ' ORDER BY "book_person"."order_index"
-                ) AS "editors",
-                CASE
-                    WHEN "publishers"."location" IS NULL AND "publishers"."name" IS NULL
-                    THEN NULL
-                    ELSE CONCAT_WS(': ', "publishers"."location", "publishers"."name")
-                END AS "publisher"
-                FROM "books" b
-            LEFT JOIN "book_person" ON b."id" = "book_person"."book_id"
-            LEFT JOIN "persons" p ON "book_person"."person_id" = p."id"
-            LEFT JOIN "published" ON b."id" = "published"."book_id"
-            LEFT JOIN "publishers" ON "published"."publisher_id" = "publishers"."id"
-            GROUP BY b."id"
+            SELECT b."id", b."title", b."year", b."shelf_mark", b."authors", b."editors", b."publisher"
+            FROM "flat_entries" b
         """)
             .append("ORDER BY " + orderBy)
             .append(", b.\"id\" " + request.sortDir())
@@ -281,45 +269,119 @@ public class EntryViewRepositoryImpl implements EntryViewRepository {
         return jdbcTemplate.query(sql.toString(), flatEntryDtoRowMapper, request.pageSize(), request.pageIndex() * request.pageSize());
     }
 
+    @Override
+    public List<FlatEntryDto> getSortedEntriesAfter(PageCursor cursor, PageRequest request) {
+        return seekSortedEntries(cursor, request, request.sortDir().equalsIgnoreCase("ASC"));
+    }
+
+    @Override
+    public List<FlatEntryDto> getSortedEntriesBefore(PageCursor cursor, PageRequest request) {
+        List<FlatEntryDto> entries = seekSortedEntries(cursor, request, !request.sortDir().equalsIgnoreCase("ASC"));
+        Collections.reverse(entries);
+        return entries;
+    }
+
+    /**
+     * Reads up to one page of rows following the cursor in the given direction, or from the start of
+     * that direction if the cursor is null. Each seek range is an index range scan, so the cost does not
+     * grow with the page number the way OFFSET does.
+     */
+    private List<FlatEntryDto> seekSortedEntries(PageCursor cursor, PageRequest request, boolean ascending) {
+        String dir = ascending ? "ASC" : "DESC";
+        String orderBy = isSortedById(request)
+            ? "b.\"id\" " + dir
+            : sortKey(request) + " " + dir + ", b.\"id\" " + dir;
+
+        List<FlatEntryDto> entries = new ArrayList<>();
+        for (SeekRange range : seekRanges(cursor, request, ascending)) {
+            int remaining = request.pageSize() - entries.size();
+            if (remaining <= 0) break;
+
+            StringBuilder sql = new StringBuilder("""
+                SELECT b."id", b."title", b."year", b."shelf_mark", b."authors", b."editors", b."publisher"
+                FROM "flat_entries" b
+            """);
+            if (range.condition() != null) sql.append("WHERE " + range.condition() + "\n");
+            sql.append("ORDER BY " + orderBy)
+                .append("\nLIMIT ?;");
+
+            Object[] params = Arrays.copyOf(range.params(), range.params().length + 1);
+            params[range.params().length] = remaining;
+
+            entries.addAll(jdbcTemplate.query(sql.toString(), flatEntryDtoRowMapper, params));
+        }
+
+        return entries;
+    }
+
+    /**
+     * SQLite sorts NULL before any value, and a row value comparison with NULL is never true, so rows
+     * with a NULL sort key are read in a separate range before (ascending) or after (descending) the others.
+     */
+    private List<SeekRange> seekRanges(PageCursor cursor, PageRequest request, boolean ascending) {
+        String op = ascending ? ">" : "<";
+        if (cursor == null) return List.of(new SeekRange(null));
+        if (isSortedById(request)) return List.of(new SeekRange("b.\"id\" " + op + " ?", cursor.bookId()));
+
+        String column = request.sortBy();
+        if (cursor.sortKey() == null) {
+            SeekRange nullKeys = new SeekRange(column + " IS NULL AND b.\"id\" " + op + " ?", cursor.bookId());
+            return ascending ? List.of(nullKeys, new SeekRange(column + " IS NOT NULL")) : List.of(nullKeys);
+        }
+
+        SeekRange keys = new SeekRange("(" + sortKey(request) + ", b.\"id\") " + op + " (?, ?)", cursor.sortKey(), cursor.bookId());
+        return ascending ? List.of(keys) : List.of(keys, new SeekRange(column + " IS NULL"));
+    }
+
+    private record SeekRange(String condition, Object... params) {}
+
+    private boolean isSortedById(PageRequest request) {
+        return request.sortBy().equals("b.\"id\"");
+    }
+
+    private String sortKey(PageRequest request) {
+        return request.caseInsensitive() ? request.sortBy() + " COLLATE NOCASE" : request.sortBy();
+    }
+
+    /**
+     * Ranks the book by counting the rows that sort before it, using the same ranges as a backward seek.
+     * Each count is answered from the sort key index without grouping or sorting the whole table.
+     */
     @Override
     public int findRow(long bookId, PageRequest request) {
-        String orderBy = !request.sortBy().equals("b.\"id\"") ? buildOrderBy(request) : null;
-        
-        StringBuilder sql = new StringBuilder("""
-                SELECT "row_number" FROM (
-                    SELECT ROW_NUMBER() OVER(
-                        ORDER BY 
-                """);
-                        
-            if (orderBy != null) sql.append(orderBy +", ");
-                sql.append("\"id\" " + request.sortDir())
-                .append("""
-                    ) AS "row_number", "id" FROM (
-                        SELECT
-                            b."id" AS "id", b."title" AS "title", b."year" AS "year", b."shelf_mark" AS "shelf_mark",
-                            GROUP_CONCAT(
-                                    CASE WHEN "book_person"."role" = 'AUTHOR' THEN CONCAT_WS(', ', p."last_name", p."first_names") END, '; ' ORDER BY "book_person"."order_index"
-                                ) AS "authors",
-                            GROUP_CONCAT(
-                                CASE WHEN "book_person"."role" = 'EDITOR' THEN CONCAT_WS(', ', p."last_name", p."first_names") END, '; ' ORDER BY "book_person"."order_index"
-                            ) AS "editors",
-                            CASE
-                                WHEN "publishers"."location" IS NULL AND "publishers"."name" IS NULL
-                                THEN NULL
-                                ELSE CONCAT_WS(': ', "publishers"."location", "publishers"."name")
-                            END AS "publisher"
-                        FROM "books" b
-                        LEFT JOIN "book_person" ON b."id" = "book_person"."book_id"
-                        LEFT JOIN "persons" p ON "book_person"."person_id" = p."id"
-                        LEFT JOIN "published" ON b."id" = "published"."book_id"
-                        LEFT JOIN "publishers" ON "published"."publisher_id" = "publishers"."id"
-                        GROUP BY b."id"
-                    ) grouped
-                ) AS t
-                WHERE t."id" = ?;
-                """);
-
-        return jdbcTemplate.queryForObject(sql.toString(), Integer.class, bookId);
+        PageCursor cursor = new PageCursor(isSortedById(request) ? bookId : findSortKey(bookId, request), bookId);
+
+        int rowsBefore = 0;
+        for (SeekRange range : seekRanges(cursor, request, !request.sortDir().equalsIgnoreCase("ASC"))) {
+            StringBuilder sql = new StringBuilder("""
+                SELECT COUNT(*)
+                FROM "flat_entries" b
+            """);
+            sql.append("WHERE " + range.condition() + ";");
+
+            rowsBefore += jdbcTemplate.queryForObject(sql.toString(), Integer.class, range.params());
+        }
+
+        return rowsBefore + 1;
+    }
+
+    /**
+     * Read from the trigger-maintained counter on the reader pool, so that paging never waits for the writer.
+     */
+    @Override
+    public int numberOfRows() {
+        String query = """
+                SELECT "total_rows" FROM "row_counters" WHERE "table_name" = 'books';
+                """;
+        return jdbcTemplate.queryForObject(query, int.class);
+    }
+
+    private Object findSortKey(long bookId, PageRequest request) {
+        String query = "SELECT " + request.sortBy() + " FROM \"flat_entries\" b WHERE b.\"id\" = ?;";
+
+        List<Object> result = jdbcTemplate.queryForList(query, Object.class, bookId);
+        if (result.isEmpty()) throw new EmptyResultDataAccessException(1);
+        return result.getFirst();
     }
 
     private String buildOrderBy(PageRequest request) {
@@ -329,27 +391,31 @@ public class EntryViewRepositoryImpl implements EntryViewRepository {
     @Override
     public List<FlatEntryDto> getAllFlatEntryDtos() {
         String query = """
-                SELECT
-                    b."id", b."title", b."year", b."shelf_mark",
-                    GROUP_CONCAT(
-                        CASE WHEN "book_person"."role" = 'AUTHOR' THEN CONCAT_WS(', ', p."last_name", p."first_names") END, '; ' ORDER BY "book_person"."order_index"
-                    ) AS "authors",
-                    GROUP_CONCAT(
-                        CASE WHEN "book_person"."role" = 'EDITOR' THEN CONCAT_WS(', ', p."last_name", p."first_names") END, '; ' ORDER BY "book_person"."order_index"
-                    ) AS "editors",
-                    CASE
-                        WHEN "publishers"."location" IS NULL AND "publishers"."name" IS NULL
-                        THEN NULL
-                        ELSE CONCAT_WS(': ', "publishers"."location", "publishers"."name")
-                    END AS "publisher"
-                FROM "books" b
-                LEFT JOIN "book_person" ON b."id" = "book_person"."book_id"
-                LEFT JOIN "persons" p ON "book_person"."person_id" = p."id"
-                LEFT JOIN "published" ON b."id" = "published"."book_id"
-                LEFT JOIN "publishers" ON "published"."publisher_id" = "publishers"."id"
-                GROUP BY b."id";
+                SELECT "id", "title", "year", "shelf_mark", "authors", "editors", "publisher"
+                FROM "flat_entries";
                 """;
 
         return jdbcTemplate.query(query, flatEntryDtoRowMapper);
     }
+
+    @Override
+    public void forEachFlatEntryDto(Consumer<FlatEntryDto> action) {
+        String query = """
+                SELECT "id", "title", "year", "shelf_mark", "authors", "editors", "publisher"
+                FROM "flat_entries"
+                ORDER BY "id";
+                """;
+
+        jdbcTemplate.query(streamingStatement(query), (ResultSet rs) -> {
+            action.accept(flatEntryDtoRowMapper.mapRow(rs, 0));
+        });
+    }
+
+    private PreparedStatementCreator streamingStatement(String query) {
+        return connection -> {
+            PreparedStatement statement = connection.prepareStatement(query);
+            statement.setFetchSize(STREAM_FETCH_SIZE);
+            return statement;
+        };
+    }
 }
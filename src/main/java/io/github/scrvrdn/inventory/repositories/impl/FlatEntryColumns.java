@@ -0,0 +1,331 @@
+package io.github.scrvrdn.inventory.repositories.impl;
+
+import java.text.Normalizer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import java.util.stream.IntStream;
+
+import io.github.scrvrdn.inventory.dto.FlatEntryDto;
+
+/**
+ * Column-oriented copy of all flat entries. Ids and years are primitive arrays, the text columns hold codes
+ * into a shared string dictionary, and every sort column keeps a permutation of the rows in ascending
+ * (key, id) order that is patched in place on each write. Comparison follows SQLite: NULL sorts first and
+ * NOCASE only folds ASCII letters. Dictionary values are never evicted; a full reload compacts them.
+ * Not thread-safe, callers synchronize.
+ */
+final class FlatEntryColumns {
+
+    private static final int NO_VALUE = -1;
+    private static final int NULL_YEAR = Integer.MIN_VALUE;
+
+    private static final int TITLE = 0;
+    private static final int SHELF_MARK = 1;
+    private static final int AUTHORS = 2;
+    private static final int EDITORS = 3;
+    private static final int PUBLISHER = 4;
+    private static final int ISBN10 = 5;
+    private static final int ISBN13 = 6;
+    private static final int TEXT_COLUMNS = 7;
+
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+
+    private final List<String> dictionary = new ArrayList<>();
+    private final List<String[]> dictionaryTokens = new ArrayList<>();
+    private final Map<String, Integer> codes = new HashMap<>();
+
+    private long[] ids;
+    private int[] years;
+    private final int[][] text = new int[TEXT_COLUMNS][];
+    private final BitSet live = new BitSet();
+    private final Deque<Integer> freeRows = new ArrayDeque<>();
+    private final Map<Long, Integer> rowById = new HashMap<>();
+    private int slots;
+
+    private final Map<SortColumn, int[]> orders = new EnumMap<>(SortColumn.class);
+    // built on first use under the callers' read lock, so concurrent readers may fill it
+    private final Map<SortColumn, int[]> caseSensitiveOrders = new ConcurrentHashMap<>();
+    private int size;
+
+    FlatEntryColumns(int capacity) {
+        capacity = Math.max(capacity, 16);
+        ids = new long[capacity];
+        years = new int[capacity];
+        for (int column = 0; column < TEXT_COLUMNS; column++) {
+            text[column] = new int[capacity];
+        }
+    }
+
+    /**
+     * Adds a row without ordering it; used for the initial load, followed by one {@link #sortAll()}.
+     */
+    void append(FlatEntryDto entry, String isbn10, String isbn13) {
+        write(allocate(), entry, isbn10, isbn13);
+    }
+
+    void sortAll() {
+        size = live.cardinality();
+        caseSensitiveOrders.clear();
+        for (SortColumn column : SortColumn.values()) {
+            orders.put(column, Arrays.copyOf(sortedRows(column, true), Math.max(ids.length, 1)));
+        }
+    }
+
+    void upsert(FlatEntryDto entry, String isbn10, String isbn13) {
+        Integer existing = rowById.get(entry.bookId());
+        int row;
+        if (existing != null) {
+            row = existing;
+            unlink(row);
+        } else {
+            row = allocate();
+        }
+
+        write(row, entry, isbn10, isbn13);
+        link(row);
+        caseSensitiveOrders.clear();
+    }
+
+    void remove(long bookId) {
+        Integer row = rowById.remove(bookId);
+        if (row == null) return;
+
+        unlink(row);
+        live.clear(row);
+        freeRows.push(row);
+        caseSensitiveOrders.clear();
+    }
+
+    int size() {
+        return size;
+    }
+
+    Integer rowOf(long bookId) {
+        return rowById.get(bookId);
+    }
+
+    FlatEntryDto entry(int row) {
+        return new FlatEntryDto(
+            ids[row],
+            decode(text[TITLE][row]),
+            years[row] == NULL_YEAR ? null : years[row],
+            decode(text[SHELF_MARK][row]),
+            decode(text[AUTHORS][row]),
+            decode(text[EDITORS][row]),
+            decode(text[PUBLISHER][row])
+        );
+    }
+
+    Object key(SortColumn column, int row) {
+        return switch (column) {
+            case ID -> ids[row];
+            case YEAR -> years[row] == NULL_YEAR ? null : years[row];
+            case TITLE -> decode(text[TITLE][row]);
+            case SHELF_MARK -> decode(text[SHELF_MARK][row]);
+            case AUTHORS -> decode(text[AUTHORS][row]);
+            case EDITORS -> decode(text[EDITORS][row]);
+            case PUBLISHER -> decode(text[PUBLISHER][row]);
+        };
+    }
+
+    /**
+     * Rows in ascending (key, id) order. The maintained permutation is returned as is; a case-sensitive
+     * sort of a text column is built on first use and kept until the next write. Valid up to {@link #size()}
+     * until the next write.
+     */
+    int[] order(SortColumn column, boolean noCase) {
+        if (noCase || !column.isText()) return orders.get(column);
+        return caseSensitiveOrders.computeIfAbsent(column, c -> sortedRows(c, false));
+    }
+
+    /**
+     * Number of rows in the order that sort strictly before (key, id).
+     */
+    int lowerBound(int[] order, SortColumn column, boolean noCase, Object key, long id) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            int row = order[mid];
+            if (compare(column, noCase, key(column, row), ids[row], key, id) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+
+        return low;
+    }
+
+    /**
+     * Number of rows in the order that sort before or at (key, id).
+     */
+    int upperBound(int[] order, SortColumn column, boolean noCase, Object key, long id) {
+        int low = lowerBound(order, column, noCase, key, id);
+        if (low < size && compare(column, noCase, key(column, order[low]), ids[order[low]], key, id) == 0) low++;
+        return low;
+    }
+
+    /**
+     * Rows containing every phrase, each as consecutive tokens of one column with the last token matched
+     * as a prefix; the same rule the full-text index applies to a quoted prefix phrase.
+     */
+    BitSet match(List<String[]> phrases) {
+        return IntStream.range(0, slots).parallel()
+            .filter(row -> live.get(row) && phrases.stream().allMatch(phrase -> matches(row, phrase)))
+            .collect(BitSet::new, BitSet::set, BitSet::or);
+    }
+
+    static List<String[]> parseSearch(String searchString) {
+        return Arrays.stream(searchString.split("\\s+"))
+            .map(FlatEntryColumns::tokenize)
+            .filter(phrase -> phrase.length > 0)
+            .toList();
+    }
+
+    private boolean matches(int row, String[] phrase) {
+        for (int column = 0; column < TEXT_COLUMNS; column++) {
+            int code = text[column][row];
+            if (code != NO_VALUE && containsPhrase(dictionaryTokens.get(code), phrase)) return true;
+        }
+
+        return years[row] != NULL_YEAR && containsPhrase(new String[] { String.valueOf(years[row]) }, phrase);
+    }
+
+    private static boolean containsPhrase(String[] tokens, String[] phrase) {
+        int last = phrase.length - 1;
+
+        outer:
+        for (int start = 0; start + last < tokens.length; start++) {
+            for (int i = 0; i < last; i++) {
+                if (!tokens[start + i].equals(phrase[i])) continue outer;
+            }
+            if (tokens[start + last].startsWith(phrase[last])) return true;
+        }
+
+        return false;
+    }
+
+    private static String[] tokenize(String value) {
+        String folded = MARKS.matcher(Normalizer.normalize(value, Normalizer.Form.NFD)).replaceAll("").toLowerCase(Locale.ROOT);
+        return TOKEN_SEPARATOR.splitAsStream(folded).filter(token -> !token.isEmpty()).toArray(String[]::new);
+    }
+
+    static int compare(SortColumn column, boolean noCase, Object key1, long id1, Object key2, long id2) {
+        int result = compareKeys(column, noCase, key1, key2);
+        return result != 0 ? result : Long.compare(id1, id2);
+    }
+
+    private static int compareKeys(SortColumn column, boolean noCase, Object key1, Object key2) {
+        if (key1 == null || key2 == null) {
+            if (key1 == key2) return 0;
+            return key1 == null ? -1 : 1;
+        }
+
+        if (!column.isText()) return Long.compare(((Number) key1).longValue(), ((Number) key2).longValue());
+        return noCase ? compareNoCase((String) key1, (String) key2) : ((String) key1).compareTo((String) key2);
+    }
+
+    private static int compareNoCase(String value1, String value2) {
+        int length = Math.min(value1.length(), value2.length());
+        for (int i = 0; i < length; i++) {
+            char c1 = foldAscii(value1.charAt(i));
+            char c2 = foldAscii(value2.charAt(i));
+            if (c1 != c2) return c1 - c2;
+        }
+
+        return value1.length() - value2.length();
+    }
+
+    private static char foldAscii(char c) {
+        return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+    }
+
+    private int[] sortedRows(SortColumn column, boolean noCase) {
+        return live.stream().boxed()
+            .sorted((row1, row2) -> compare(column, noCase, key(column, row1), ids[row1], key(column, row2), ids[row2]))
+            .mapToInt(Integer::intValue)
+            .toArray();
+    }
+
+    private void link(int row) {
+        for (SortColumn column : SortColumn.values()) {
+            int[] order = orders.get(column);
+            if (order.length == size) {
+                order = Arrays.copyOf(order, size * 2);
+                orders.put(column, order);
+            }
+
+            int position = lowerBound(order, column, true, key(column, row), ids[row]);
+            System.arraycopy(order, position, order, position + 1, size - position);
+            order[position] = row;
+        }
+
+        size++;
+    }
+
+    private void unlink(int row) {
+        for (SortColumn column : SortColumn.values()) {
+            int[] order = orders.get(column);
+            int position = lowerBound(order, column, true, key(column, row), ids[row]);
+            System.arraycopy(order, position + 1, order, position, size - position - 1);
+        }
+
+        size--;
+    }
+
+    private int allocate() {
+        if (!freeRows.isEmpty()) return freeRows.pop();
+
+        if (slots == ids.length) {
+            int capacity = ids.length * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            years = Arrays.copyOf(years, capacity);
+            for (int column = 0; column < TEXT_COLUMNS; column++) {
+                text[column] = Arrays.copyOf(text[column], capacity);
+            }
+        }
+
+        return slots++;
+    }
+
+    private void write(int row, FlatEntryDto entry, String isbn10, String isbn13) {
+        ids[row] = entry.bookId();
+        years[row] = entry.bookYear() == null ? NULL_YEAR : entry.bookYear();
+        text[TITLE][row] = encode(entry.bookTitle());
+        text[SHELF_MARK][row] = encode(entry.shelfMark());
+        text[AUTHORS][row] = encode(entry.authors());
+        text[EDITORS][row] = encode(entry.editors());
+        text[PUBLISHER][row] = encode(entry.publisher());
+        text[ISBN10][row] = encode(isbn10);
+        text[ISBN13][row] = encode(isbn13);
+
+        live.set(row);
+        rowById.put(entry.bookId(), row);
+    }
+
+    private int encode(String value) {
+        if (value == null) return NO_VALUE;
+
+        return codes.computeIfAbsent(value, v -> {
+            dictionary.add(v);
+            dictionaryTokens.add(tokenize(v));
+            return dictionary.size() - 1;
+        });
+    }
+
+    private String decode(int code) {
+        return code == NO_VALUE ? null : dictionary.get(code);
+    }
+}
@@ -0,0 +1,17 @@
+package io.github.scrvrdn.inventory.repositories.impl;
+
+import java.util.Collection;
+import java.util.stream.Collectors;
+
+/**
+ * Binds a list of ids as one JSON array parameter, expanded in SQL with {@code json_each}. The statement
+ * text does not depend on the number of ids and stays clear of the bound parameter limit.
+ */
+final class IdArray {
+
+    private IdArray() {}
+
+    static String of(Collection<Long> ids) {
+        return ids.stream().map(String::valueOf).collect(Collectors.joining(",", "[", "]"));
+    }
+}
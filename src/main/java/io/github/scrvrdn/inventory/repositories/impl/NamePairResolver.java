@@ -0,0 +1,201 @@
+package io.github.scrvrdn.inventory.repositories.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import io.github.scrvrdn.inventory.cache.LruCache;
+import io.github.scrvrdn.inventory.dto.CacheStats;
+
+/**
+ * Resolves names to row ids in a table that is unique on two nullable text columns ("persons", "publishers"),
+ * inserting the names that are missing. Each group of up to {@value #MAX_PAIRS} names costs one SELECT, joined
+ * against the names as a VALUES list, plus one multi-row INSERT ... RETURNING if any are new. Names are matched
+ * with IS, so a NULL column matches NULL, which the UNIQUE constraint alone does not do.
+ *
+ * <p>There is no ON CONFLICT DO UPDATE: it would fire the update triggers that rewrite "flat_entries" for
+ * every book of the person or publisher.
+ *
+ * <p>Resolved ids are kept in a bounded LRU cache, so names that are already known cost no statement at all.
+ * Ids resolved inside a transaction only enter the cache once it commits; a rolled back insert would otherwise
+ * leave an id behind that SQLite hands out again to the next, possibly different, name. Deleting or renaming
+ * rows must evict them, see {@link #evict(Collection)} and {@link #clear()}. The warm-up only reads, so it runs
+ * on the reader pool and does not hold the writer connection at startup.
+ */
+final class NamePairResolver {
+
+    // two parameters each, well below SQLite's limit of 32766
+    private static final int MAX_PAIRS = 500;
+
+    record NamePair(String first, String second) {}
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcTemplate readerJdbcTemplate;
+    private final String selectSql;
+    private final String insertSql;
+    private final String warmUpSql;
+    private final RowMapper<Map.Entry<NamePair, Long>> rowMapper;
+    private final LruCache<NamePair, Long> cache;
+
+    /**
+     * {@code usageTable}.{@code usageColumn} references the rows; the most referenced ones warm the cache up.
+     */
+    NamePairResolver(JdbcTemplate jdbcTemplate, JdbcTemplate readerJdbcTemplate, String table, String firstColumn, String secondColumn, String usageTable, String usageColumn, int cacheSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.readerJdbcTemplate = readerJdbcTemplate;
+        this.selectSql = """
+                SELECT t."id", t."%2$s", t."%3$s"
+                FROM (VALUES %%s) v
+                JOIN "%1$s" t ON t."%2$s" IS v."column1" AND t."%3$s" IS v."column2"
+                ORDER BY t."id";
+                """.formatted(table, firstColumn, secondColumn);
+        this.insertSql = """
+                INSERT INTO "%1$s" ("%2$s", "%3$s")
+                VALUES %%s
+                ON CONFLICT DO NOTHING
+                RETURNING "id", "%2$s", "%3$s";
+                """.formatted(table, firstColumn, secondColumn);
+        this.warmUpSql = """
+                SELECT t."id", t."%2$s", t."%3$s"
+                FROM (
+                    SELECT "%5$s" AS "id", COUNT(*) AS "uses" FROM "%4$s"
+                    GROUP BY "%5$s" ORDER BY "uses" DESC LIMIT ?
+                ) u
+                JOIN "%1$s" t ON t."id" = u."id";
+                """.formatted(table, firstColumn, secondColumn, usageTable, usageColumn);
+        this.rowMapper = (rs, rowNum) -> Map.entry(new NamePair(rs.getString(2), rs.getString(3)), rs.getLong(1));
+        this.cache = new LruCache<>(cacheSize);
+    }
+
+    String selectSql(int pairs) {
+        return selectSql.formatted(placeholders(pairs));
+    }
+
+    String insertSql(int pairs) {
+        return insertSql.formatted(placeholders(pairs));
+    }
+
+    Map<NamePair, Long> resolve(Collection<NamePair> names) {
+        long generation = cache.generation();
+        boolean caching = cache.stats().maxSize() > 0;
+        Map<NamePair, Long> ids = new HashMap<>();
+        List<NamePair> uncached = new ArrayList<>();
+
+        for (NamePair name : new LinkedHashSet<>(names)) {
+            Long id = caching ? cache.get(name).orElse(null) : null;
+            if (id != null) ids.put(name, id);
+            else uncached.add(name);
+        }
+        if (uncached.isEmpty()) return ids;
+
+        Map<NamePair, Long> resolved = new HashMap<>();
+        for (int from = 0; from < uncached.size(); from += MAX_PAIRS) {
+            List<NamePair> group = uncached.subList(from, Math.min(from + MAX_PAIRS, uncached.size()));
+
+            select(group, resolved);
+            List<NamePair> missing = missing(group, resolved);
+            if (missing.isEmpty()) continue;
+
+            for (Map.Entry<NamePair, Long> row : jdbcTemplate.query(insertSql(missing.size()), rowMapper, parameters(missing))) {
+                resolved.put(row.getKey(), row.getValue());
+            }
+
+            // only left over if another connection inserted the same name in between
+            List<NamePair> conflicting = missing(missing, resolved);
+            if (conflicting.isEmpty()) continue;
+            select(conflicting, resolved);
+            if (!missing(conflicting, resolved).isEmpty()) throw new IllegalStateException("Could not resolve " + conflicting);
+        }
+
+        if (caching) cacheAfterCommit(resolved, generation);
+        ids.putAll(resolved);
+        return ids;
+    }
+
+    private void select(List<NamePair> pairs, Map<NamePair, Long> ids) {
+        for (Map.Entry<NamePair, Long> row : jdbcTemplate.query(selectSql(pairs.size()), rowMapper, parameters(pairs))) {
+            // duplicates with a NULL column can exist from before; the oldest row wins
+            ids.putIfAbsent(row.getKey(), row.getValue());
+        }
+    }
+
+    private void cacheAfterCommit(Map<NamePair, Long> resolved, long generation) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            resolved.forEach((name, id) -> cache.put(name, id, generation));
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                resolved.forEach((name, id) -> cache.put(name, id, generation));
+            }
+        });
+    }
+
+    /**
+     * Fills the cache with the most referenced names, as many as it holds.
+     */
+    void warmUp() {
+        int size = cache.stats().maxSize();
+        if (size <= 0) return;
+
+        long generation = cache.generation();
+        for (Map.Entry<NamePair, Long> row : readerJdbcTemplate.query(warmUpSql, rowMapper, size)) {
+            cache.put(row.getKey(), row.getValue(), generation);
+        }
+    }
+
+    /**
+     * Evicts again once the transaction commits: until then the reader pool still sees the old rows, and a
+     * warm-up running in between would put them back.
+     */
+    void evict(Collection<NamePair> names) {
+        List<NamePair> evicted = List.copyOf(names);
+        evicted.forEach(cache::remove);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) return;
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evicted.forEach(cache::remove);
+            }
+        });
+    }
+
+    void clear() {
+        cache.clear();
+    }
+
+    CacheStats cacheStats() {
+        return cache.stats();
+    }
+
+    private static List<NamePair> missing(List<NamePair> pairs, Map<NamePair, Long> ids) {
+        Set<NamePair> resolved = ids.keySet();
+        return pairs.stream().filter(pair -> !resolved.contains(pair)).toList();
+    }
+
+    private static String placeholders(int pairs) {
+        return String.join(", ", Collections.nCopies(pairs, "(?, ?)"));
+    }
+
+    private static Object[] parameters(List<NamePair> pairs) {
+        Object[] parameters = new Object[pairs.size() * 2];
+        for (int i = 0; i < pairs.size(); i++) {
+            parameters[2 * i] = pairs.get(i).first();
+            parameters[2 * i + 1] = pairs.get(i).second();
+        }
+        return parameters;
+    }
+}
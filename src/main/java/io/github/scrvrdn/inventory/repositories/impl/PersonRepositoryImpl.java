@@ -1,19 +1,21 @@
 package io.github.scrvrdn.inventory.repositories.impl;
 
-import java.sql.PreparedStatement;
-import java.sql.Statement;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.jdbc.core.JdbcTemplate;
-import org.springframework.jdbc.core.PreparedStatementCreator;
-import org.springframework.jdbc.support.GeneratedKeyHolder;
-import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.event.TransactionalEventListener;
 
+import io.github.scrvrdn.inventory.dto.CacheStats;
 import io.github.scrvrdn.inventory.dto.Person;
+import io.github.scrvrdn.inventory.events.EntriesChangedEvent;
 import io.github.scrvrdn.inventory.mappers.PersonRowMapper;
 import io.github.scrvrdn.inventory.repositories.PersonRepository;
+import io.github.scrvrdn.inventory.repositories.impl.NamePairResolver.NamePair;
 
 
 @Repository
@@ -21,60 +23,50 @@ public class PersonRepositoryImpl implements PersonRepository {
 
     private final JdbcTemplate jdbcTemplate;
     private final PersonRowMapper personRowMapper;
+    private final NamePairResolver namePairResolver;
 
-    public PersonRepositoryImpl(final JdbcTemplate jdbcTemplate, final PersonRowMapper personRowMapper) {
+    public PersonRepositoryImpl(final JdbcTemplate jdbcTemplate, @Qualifier("readerJdbcTemplate") final JdbcTemplate readerJdbcTemplate, final PersonRowMapper personRowMapper, @Value("${app.cache.person-ids-size:10000}") final int idCacheSize) {
         this.jdbcTemplate = jdbcTemplate;
         this.personRowMapper = personRowMapper;
+        this.namePairResolver = new NamePairResolver(jdbcTemplate, readerJdbcTemplate, "persons", "last_name", "first_names", "book_person", "person_id", idCacheSize);
     }
 
     @Override
     public void create(Person person) {
-        KeyHolder keyHolder = new GeneratedKeyHolder();
-
-        int rowsAffected = jdbcTemplate.update(createPreparedStatementCreator(person), keyHolder);
-        Long id;
-        if (rowsAffected > 0) {
-            id = keyHolder.getKey().longValue();
-        } else {
-            id = getExistingId(person);
-        }
-        
-        person.setId(id);
+        createAll(List.of(person));
     }
 
-    private PreparedStatementCreator createPreparedStatementCreator(Person person) {
-        String query = """
-                INSERT OR IGNORE INTO "persons" ("last_name", "first_names")
-                VALUES (?, ?);
-                """;
-
-        return connection -> {
-            PreparedStatement ps = connection.prepareStatement(query, Statement.RETURN_GENERATED_KEYS);
-            ps.setString(1, person.getLastName());
-            ps.setString(2, person.getFirstNames());
-            return ps;
-        };
+    @Override
+    public void createAll(List<Person> persons) {
+        Map<NamePair, Long> ids = namePairResolver.resolve(persons.stream().map(this::namePair).toList());
+        persons.forEach(person -> person.setId(ids.get(namePair(person))));
     }
 
-    private Long getExistingId(Person person) {
-        String query = """
-                SELECT "id" FROM "persons"
-                WHERE "last_name" = ?
-                AND "first_names" = ?;
-                """;
+    @Override
+    public void warmUpIdCache() {
+        namePairResolver.warmUp();
+    }
 
-        return jdbcTemplate.queryForObject(query,
-            Long.class,
-            person.getLastName(),
-            person.getFirstNames()
-        );
+    @Override
+    public void evictFromIdCache(List<Person> persons) {
+        namePairResolver.evict(persons.stream().map(this::namePair).toList());
     }
 
     @Override
-    public void createAll(List<Person> persons) {
-        for (Person p : persons) {
-            create(p);
-        }
+    public CacheStats getIdCacheStats() {
+        return namePairResolver.cacheStats();
+    }
+
+    /**
+     * Restoring a backup replaces all rows, so the cached ids of the whole catalog may be gone.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEntriesChanged(EntriesChangedEvent event) {
+        if (event.getBookIds() == null) namePairResolver.clear();
+    }
+
+    private NamePair namePair(Person person) {
+        return new NamePair(person.getLastName(), person.getFirstNames());
     }
 
     @Override
@@ -111,6 +103,7 @@ public class PersonRepositoryImpl implements PersonRepository {
             person.getFirstNames(),
             person.getId()
         );
+        namePairResolver.clear();
     }
 
     @Override
@@ -119,5 +112,6 @@ public class PersonRepositoryImpl implements PersonRepository {
                 DELETE FROM "persons" WHERE "id" = ?;
                 """;
         jdbcTemplate.update(query, id);
+        namePairResolver.clear();
     }
 }
@@ -1,74 +1,71 @@
 package io.github.scrvrdn.inventory.repositories.impl;
 
-import java.sql.PreparedStatement;
-import java.sql.Statement;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.jdbc.core.JdbcTemplate;
-import org.springframework.jdbc.core.PreparedStatementCreator;
-import org.springframework.jdbc.support.GeneratedKeyHolder;
-import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.event.TransactionalEventListener;
 
+import io.github.scrvrdn.inventory.dto.CacheStats;
 import io.github.scrvrdn.inventory.dto.Publisher;
+import io.github.scrvrdn.inventory.events.EntriesChangedEvent;
 import io.github.scrvrdn.inventory.mappers.PublisherRowMapper;
 import io.github.scrvrdn.inventory.repositories.PublisherRepository;
+import io.github.scrvrdn.inventory.repositories.impl.NamePairResolver.NamePair;
 
 @Repository
 public class PublisherRepositoryImpl implements PublisherRepository {
 
     private final JdbcTemplate jdbcTemplate;
     private final PublisherRowMapper publisherRowMapper;
+    private final NamePairResolver namePairResolver;
     
-    public PublisherRepositoryImpl(final JdbcTemplate jdbcTemplate, final PublisherRowMapper publisherRowMapper) {
+    public PublisherRepositoryImpl(final JdbcTemplate jdbcTemplate, @Qualifier("readerJdbcTemplate") final JdbcTemplate readerJdbcTemplate, final PublisherRowMapper publisherRowMapper, @Value("${app.cache.publisher-ids-size:2000}") final int idCacheSize) {
         this.jdbcTemplate = jdbcTemplate;
         this.publisherRowMapper = publisherRowMapper;
+        this.namePairResolver = new NamePairResolver(jdbcTemplate, readerJdbcTemplate, "publishers", "name", "location", "published", "publisher_id", idCacheSize);
     }
 
     @Override
     public void create(Publisher publisher) {
-        KeyHolder keyHolder = new GeneratedKeyHolder();
+        createAll(List.of(publisher));
+    }
 
-        int affectedRows = jdbcTemplate.update(createPreparedStatementCreator(publisher), keyHolder);
+    @Override
+    public void createAll(List<Publisher> publishers) {
+        Map<NamePair, Long> ids = namePairResolver.resolve(publishers.stream().map(this::namePair).toList());
+        publishers.forEach(publisher -> publisher.setId(ids.get(namePair(publisher))));
+    }
 
-        Long id;
-        if (affectedRows > 0) {
-            id = keyHolder.getKey().longValue();
-        } else {
-            id = getExistingId(publisher);
-        }
-        
-        publisher.setId(id);
+    @Override
+    public void warmUpIdCache() {
+        namePairResolver.warmUp();
     }
 
-    private PreparedStatementCreator createPreparedStatementCreator(Publisher publisher) {
-        String query = """
-                INSERT OR IGNORE INTO "publishers" ("name", "location")
-                VALUES (?, ?);
-                """;
+    @Override
+    public void evictFromIdCache(List<Publisher> publishers) {
+        namePairResolver.evict(publishers.stream().map(this::namePair).toList());
+    }
 
-        return connection -> {
-            PreparedStatement ps = connection.prepareStatement(query, Statement.RETURN_GENERATED_KEYS);
-            ps.setString(1, publisher.getName());
-            ps.setString(2, publisher.getLocation());
-            return ps;
-        };
+    @Override
+    public CacheStats getIdCacheStats() {
+        return namePairResolver.cacheStats();
     }
 
-    private Long getExistingId(Publisher publisher) {
-        String query = """
-                SELECT "id" FROM "publishers"
-                WHERE "name" = ?
-                AND "location" = ?;
-                """;
+    /**
+     * Restoring a backup replaces all rows, so the cached ids of the whole catalog may be gone.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEntriesChanged(EntriesChangedEvent event) {
+        if (event.getBookIds() == null) namePairResolver.clear();
+    }
 
-        return jdbcTemplate.queryForObject(
-            query,
-            Long.class,
-            publisher.getName(),
-            publisher.getLocation()
-        );
+    private NamePair namePair(Publisher publisher) {
+        return new NamePair(publisher.getName(), publisher.getLocation());
     }
 
     @Override
@@ -103,6 +100,7 @@ public class PublisherRepositoryImpl implements PublisherRepository {
             publisher.getLocation(),
             publisher.getId()
         );
+        namePairResolver.clear();
     }
 
     @Override
@@ -112,6 +110,7 @@ public class PublisherRepositoryImpl implements PublisherRepository {
                 """;
         
         jdbcTemplate.update(query, id);
+        namePairResolver.clear();
     }
 
 }
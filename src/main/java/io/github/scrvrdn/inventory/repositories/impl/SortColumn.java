@@ -0,0 +1,33 @@
+package io.github.scrvrdn.inventory.repositories.impl;
+
+/**
+ * Sortable columns of the entry table, resolved from the column ids the table view sends as sort keys.
+ */
+enum SortColumn {
+    ID,
+    TITLE,
+    YEAR,
+    SHELF_MARK,
+    AUTHORS,
+    EDITORS,
+    PUBLISHER;
+
+    static SortColumn of(String sortBy) {
+        String column = sortBy == null ? "title" : sortBy.replace("\"", "").replaceFirst("^b\\.", "");
+
+        return switch (column) {
+            case "title" -> TITLE;
+            case "year" -> YEAR;
+            case "shelf_mark" -> SHELF_MARK;
+            case "authors" -> AUTHORS;
+            case "editors" -> EDITORS;
+            case "publisher" -> PUBLISHER;
+            case "id" -> ID;
+            default -> throw new IllegalArgumentException("Unknown sort column: " + sortBy);
+        };
+    }
+
+    boolean isText() {
+        return this != ID && this != YEAR;
+    }
+}
@@ -1,33 +1,51 @@
 package io.github.scrvrdn.inventory.services.cleanup.impl;
 
+import java.util.List;
+
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import io.github.scrvrdn.inventory.dto.Person;
+import io.github.scrvrdn.inventory.mappers.PersonRowMapper;
+import io.github.scrvrdn.inventory.repositories.PersonRepository;
 import io.github.scrvrdn.inventory.services.cleanup.PersonCleanupService;
 
 @Service
 public class PersonCleanupServiceImpl implements PersonCleanupService {
 
     private final JdbcTemplate jdbcTemplate;
+    private final PersonRowMapper personRowMapper;
+    private final PersonRepository personRepository;
     
-    public PersonCleanupServiceImpl(final JdbcTemplate jdbcTemplate) {
+    public PersonCleanupServiceImpl(final JdbcTemplate jdbcTemplate, final PersonRowMapper personRowMapper, final PersonRepository personRepository) {
         this.jdbcTemplate = jdbcTemplate;
+        this.personRowMapper = personRowMapper;
+        this.personRepository = personRepository;
     }
 
+    /**
+     * Deletes the queued persons that are no longer linked to any book and empties the queue, so the cost
+     * follows the number of changes since the last run rather than the number of persons.
+     */
     @Transactional
     @Override
     public void cleanupUnusedPersons() {
         String query = """
                 DELETE FROM "persons"
-                WHERE NOT EXISTS (
+                WHERE "id" IN (SELECT "person_id" FROM "person_cleanup_queue")
+                AND NOT EXISTS (
                     SELECT 1 FROM "book_person"
                     WHERE "book_person"."person_id" = "persons"."id"
-                );
+                )
+                RETURNING *;
                 """;
 
-        jdbcTemplate.update(query);
-                
+        List<Person> deleted = jdbcTemplate.query(query, personRowMapper);
+        jdbcTemplate.update("""
+                DELETE FROM "person_cleanup_queue";
+                """);
+        personRepository.evictFromIdCache(deleted);
     }
     
 }
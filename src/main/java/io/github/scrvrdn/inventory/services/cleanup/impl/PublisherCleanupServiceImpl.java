@@ -1,30 +1,48 @@
 package io.github.scrvrdn.inventory.services.cleanup.impl;
 
+import java.util.List;
+
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import io.github.scrvrdn.inventory.dto.Publisher;
+import io.github.scrvrdn.inventory.mappers.PublisherRowMapper;
+import io.github.scrvrdn.inventory.repositories.PublisherRepository;
 import io.github.scrvrdn.inventory.services.cleanup.PublisherCleanupService;
 
 @Service
 public class PublisherCleanupServiceImpl implements PublisherCleanupService {
 
     private final JdbcTemplate jdbcTemplate;
+    private final PublisherRowMapper publisherRowMapper;
+    private final PublisherRepository publisherRepository;
 
-    public PublisherCleanupServiceImpl (final JdbcTemplate jdbcTemplate) {
+    public PublisherCleanupServiceImpl (final JdbcTemplate jdbcTemplate, final PublisherRowMapper publisherRowMapper, final PublisherRepository publisherRepository) {
         this.jdbcTemplate = jdbcTemplate;
+        this.publisherRowMapper = publisherRowMapper;
+        this.publisherRepository = publisherRepository;
     }
 
+    /**
+     * Deletes the queued publishers that are no longer linked to any book and empties the queue.
+     */
     @Transactional
     public void cleanupUnusedPublishers() {
         String query = """
                 DELETE FROM "publishers"
-                WHERE NOT EXISTS (
+                WHERE "id" IN (SELECT "publisher_id" FROM "publisher_cleanup_queue")
+                AND NOT EXISTS (
                     SELECT 1 FROM "published"
                     WHERE "published"."publisher_id" = "publishers"."id"
-                );
+                )
+                RETURNING *;
                 """;
         
-        jdbcTemplate.update(query);
+        List<Publisher> deleted = jdbcTemplate.query(query, publisherRowMapper);
+        jdbcTemplate.update("""
+                DELETE FROM "publisher_cleanup_queue";
+                """);
+        publisherRepository.evictFromIdCache(deleted);
     }
 }
@@ -1,27 +1,48 @@
 package io.github.scrvrdn.inventory.services.cleanup.impl;
 
-
-import org.springframework.context.ApplicationListener;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Service;
 
-import io.github.scrvrdn.inventory.events.StageReadyEvent;
 import io.github.scrvrdn.inventory.services.cleanup.PersonCleanupService;
 import io.github.scrvrdn.inventory.services.cleanup.PublisherCleanupService;
+import io.github.scrvrdn.inventory.services.startup.DeferredStartupTask;
 
+/**
+ * Works off the cleanup queues after startup and then every {@code app.cleanup.interval-seconds},
+ * so that unused persons and publishers do not pile up until the next start.
+ */
 @Service
-public class StartupCleanupServiceImpl implements ApplicationListener<StageReadyEvent> {
+@Order(2)
+public class StartupCleanupServiceImpl implements DeferredStartupTask {
 
     private final PersonCleanupService personCleanupService;
     private final PublisherCleanupService publisherCleanupService;
+    private final long intervalSeconds;
 
-    public StartupCleanupServiceImpl(final PersonCleanupService personCleanupService, final PublisherCleanupService publisherCleanupService) {
+    public StartupCleanupServiceImpl(
+        final PersonCleanupService personCleanupService,
+        final PublisherCleanupService publisherCleanupService,
+        @Value("${app.cleanup.interval-seconds:300}") final long intervalSeconds
+    ) {
         this.personCleanupService = personCleanupService;
         this.publisherCleanupService = publisherCleanupService;
+        this.intervalSeconds = intervalSeconds;
+    }
+
+    @Override
+    public String getName() {
+        return "Orphan cleanup";
     }
 
     @Override
-    public void onApplicationEvent(StageReadyEvent event) {
+    public void run() {
         personCleanupService.cleanupUnusedPersons();
         publisherCleanupService.cleanupUnusedPublishers();
-    };
+    }
+
+    @Override
+    public long getRepeatSeconds() {
+        return intervalSeconds;
+    }
 }
@@ -1,7 +1,10 @@
 package io.github.scrvrdn.inventory.services.domain;
 
+import java.util.List;
+
 import io.github.scrvrdn.inventory.dto.Book;
 import io.github.scrvrdn.inventory.dto.BookUpdateRequest;
+import io.github.scrvrdn.inventory.dto.Person;
 
 public interface BookService {
 
@@ -9,7 +12,21 @@ public interface BookService {
 
     void update(long bookId, BookUpdateRequest request);
 
+    void updateShelfMark(List<Long> bookIds, String shelfMark);
+
+    void updateYear(List<Long> bookIds, Integer year);
+
+    void addAuthor(List<Long> bookIds, long authorId);
+
+    void removeAuthor(List<Long> bookIds, Person author);
+
+    void assignPublisher(List<Long> bookIds, long publisherId);
+
+    void removePublisher(List<Long> bookIds);
+
     void delete(long bookId);
 
+    int deleteAll(List<Long> bookIds);
+
     int numberOfRows();
 }
@@ -8,4 +8,5 @@ public interface PersonService {
 
     List<Long> updateAuthorsByName(List<Person> authors);
     List<Long> updateEditorsByName(List<Person> editors);
+    void warmUpIdCache();
 }
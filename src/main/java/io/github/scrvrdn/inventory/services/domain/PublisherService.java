@@ -5,4 +5,5 @@ import io.github.scrvrdn.inventory.dto.Publisher;
 public interface PublisherService {
     
     Long updatePublisherByNameAndLocation(Publisher publisher);
+    void warmUpIdCache();
 }
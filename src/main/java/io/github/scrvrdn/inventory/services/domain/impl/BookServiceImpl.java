@@ -1,11 +1,17 @@
 package io.github.scrvrdn.inventory.services.domain.impl;
 
+import java.util.HashSet;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import org.springframework.stereotype.Service;
 
 import io.github.scrvrdn.inventory.dto.Book;
 import io.github.scrvrdn.inventory.dto.BookUpdateRequest;
+import io.github.scrvrdn.inventory.dto.FullEntryDto;
+import io.github.scrvrdn.inventory.dto.Person;
 import io.github.scrvrdn.inventory.repositories.BookPersonRepository;
 import io.github.scrvrdn.inventory.repositories.BookPublisherRepository;
 import io.github.scrvrdn.inventory.repositories.BookRepository;
@@ -29,50 +35,94 @@ public class BookServiceImpl implements BookService {
         bookRepository.create(book);
     }
 
+    /**
+     * Skips the fields and links the request leaves untouched. Links are only rewritten if they differ
+     * from what is stored.
+     */
     @Override
     public void update(long bookId, BookUpdateRequest request) {
         updateBookFields(bookId, request);
-        updateAuthors(bookId, request);
-        updateEditors(bookId, request);
-        updatePublisher(bookId, request);
+        if (request.isUpdated(FullEntryDto.AUTHORS)) updateAuthors(bookId, request.authorIds());
+        if (request.isUpdated(FullEntryDto.EDITORS)) updateEditors(bookId, request.editorIds());
+        if (request.isUpdated(FullEntryDto.PUBLISHER)) updatePublisher(bookId, request.publisherId());
     }
 
     private void updateBookFields(long bookId, BookUpdateRequest request) {
-        Book book = bookRepository.findById(bookId).orElseThrow();
-        book.setTitle(request.title());
-        book.setYear(request.year());
-        book.setIsbn10(request.isbn10());
-        book.setIsbn13(request.isbn13());
-        book.setShelfMark(request.shelfMark());
-        bookRepository.update(book);
+        Set<String> fields = FullEntryDto.BOOK_FIELDS.stream()
+                                .filter(request::isUpdated)
+                                .collect(Collectors.toSet());
+        if (fields.isEmpty()) return;
+
+        Book book = Book.builder()
+                        .id(bookId)
+                        .title(request.title())
+                        .year(request.year())
+                        .isbn10(request.isbn10())
+                        .isbn13(request.isbn13())
+                        .shelfMark(request.shelfMark())
+                        .build();
+        bookRepository.updateFields(book, fields);
     }
 
-    private void updateAuthors(long bookId, BookUpdateRequest request) {
-        List<Long> authorsToRemove = detectRemovedAuthors(bookId, request.authorIds());
+    private void updateAuthors(long bookId, List<Long> requestedAuthors) {
+        List<Long> currentAuthorIds = bookPersonRepository.findAuthorIdsByBookId(bookId);
+        if (currentAuthorIds.equals(requestedAuthors)) return;
+
+        List<Long> authorsToRemove = detectRemovedIds(currentAuthorIds, requestedAuthors);
         if (!authorsToRemove.isEmpty()) bookPersonRepository.removeAuthorsFromBook(bookId, authorsToRemove);
-        if (!request.authorIds().isEmpty()) bookPersonRepository.assignAuthorsToBook(bookId, request.authorIds());
+        if (!requestedAuthors.isEmpty()) bookPersonRepository.assignAuthorsToBook(bookId, requestedAuthors);
     }
 
-    private List<Long> detectRemovedAuthors(long bookId, List<Long> requestedAuthors) {
-        List<Long> currentAuthorIds = bookPersonRepository.findAuthorIdsByBookId(bookId);
-        return currentAuthorIds.stream().filter(id -> !requestedAuthors.contains(id)).toList();
-    }
+    private void updateEditors(long bookId, List<Long> requestedEditors) {
+        List<Long> currentEditorIds = bookPersonRepository.findEditorIdsByBookId(bookId);
+        if (currentEditorIds.equals(requestedEditors)) return;
 
-    private void updateEditors(long bookId, BookUpdateRequest request) {
-        List<Long> editorsToRemove = detectRemovedEditors(bookId, request.editorIds());
+        List<Long> editorsToRemove = detectRemovedIds(currentEditorIds, requestedEditors);
         if (!editorsToRemove.isEmpty()) bookPersonRepository.removeEditorsFromBook(bookId, editorsToRemove);
-        if (!request.editorIds().isEmpty()) bookPersonRepository.assignEditorsToBook(bookId, request.editorIds());
+        if (!requestedEditors.isEmpty()) bookPersonRepository.assignEditorsToBook(bookId, requestedEditors);
     }
 
-    private List<Long> detectRemovedEditors(long bookId, List<Long> requestedEditors) {
-        List<Long> currentEditorIds = bookPersonRepository.findEditorIdsByBookId(bookId);
-        return currentEditorIds.stream().filter(id -> !requestedEditors.contains(id)).toList();
+    private List<Long> detectRemovedIds(List<Long> currentIds, List<Long> requestedIds) {
+        Set<Long> requested = new HashSet<>(requestedIds);
+        return currentIds.stream().filter(id -> !requested.contains(id)).toList();
     }
 
-    private void updatePublisher(long bookId, BookUpdateRequest request) {
+    private void updatePublisher(long bookId, Long requestedPublisherId) {
         Long currentPublisherId = bookPublisherRepository.findPublisherIdByBookId(bookId);
-        if (request.publisherId() == null && currentPublisherId != null) bookPublisherRepository.removePublisherFromBook(bookId, currentPublisherId);
-        if (request.publisherId() != null && request.publisherId() != currentPublisherId) bookPublisherRepository.assignPublisherToBook(bookId, request.publisherId());
+        if (Objects.equals(requestedPublisherId, currentPublisherId)) return;
+
+        if (requestedPublisherId == null) bookPublisherRepository.removePublisherFromBook(bookId, currentPublisherId);
+        else bookPublisherRepository.assignPublisherToBook(bookId, requestedPublisherId);
+    }
+
+    @Override
+    public void updateShelfMark(List<Long> bookIds, String shelfMark) {
+        bookRepository.updateShelfMark(bookIds, shelfMark);
+    }
+
+    @Override
+    public void updateYear(List<Long> bookIds, Integer year) {
+        bookRepository.updateYear(bookIds, year);
+    }
+
+    @Override
+    public void addAuthor(List<Long> bookIds, long authorId) {
+        bookPersonRepository.addAuthorToBooks(bookIds, authorId);
+    }
+
+    @Override
+    public void removeAuthor(List<Long> bookIds, Person author) {
+        bookPersonRepository.removeAuthorFromBooks(bookIds, author);
+    }
+
+    @Override
+    public void assignPublisher(List<Long> bookIds, long publisherId) {
+        bookPublisherRepository.assignPublisherToBooks(bookIds, publisherId);
+    }
+
+    @Override
+    public void removePublisher(List<Long> bookIds) {
+        bookPublisherRepository.removePublishersFromBooks(bookIds);
     }
 
     @Override
@@ -80,6 +130,11 @@ public class BookServiceImpl implements BookService {
         bookRepository.delete(bookId);
     }
 
+    @Override
+    public int deleteAll(List<Long> bookIds) {
+        return bookRepository.deleteAll(bookIds);
+    }
+
     @Override
     public int numberOfRows() {
         return bookRepository.numberOfRows();
@@ -29,4 +29,9 @@ public class PersonServiceImpl implements PersonService {
         personRepository.createAll(editors);
         return editors.stream().map(Person::getId).distinct().collect(Collectors.toList());
     }
+
+    @Override
+    public void warmUpIdCache() {
+        personRepository.warmUpIdCache();
+    }
 }
@@ -17,7 +17,14 @@ public class PublisherServiceImpl implements PublisherService {
 
     @Override
     public Long updatePublisherByNameAndLocation(Publisher publisher) {
-        if (publisher.getName() != null || publisher.getLocation() != null) publisherRepository.create(publisher);
+        if (publisher.getName() == null && publisher.getLocation() == null) return null;
+
+        publisherRepository.create(publisher);
         return publisher.getId();
     }
+
+    @Override
+    public void warmUpIdCache() {
+        publisherRepository.warmUpIdCache();
+    }
 }
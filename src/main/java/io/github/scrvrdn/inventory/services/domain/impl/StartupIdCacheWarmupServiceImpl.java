@@ -0,0 +1,36 @@
+package io.github.scrvrdn.inventory.services.domain.impl;
+
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+
+import io.github.scrvrdn.inventory.services.domain.PersonService;
+import io.github.scrvrdn.inventory.services.domain.PublisherService;
+import io.github.scrvrdn.inventory.services.startup.DeferredStartupTask;
+
+/**
+ * Loads the most used person and publisher names into the name to id caches after startup.
+ * It goes first, as it speeds up the user's first edits.
+ */
+@Service
+@Order(1)
+public class StartupIdCacheWarmupServiceImpl implements DeferredStartupTask {
+
+    private final PersonService personService;
+    private final PublisherService publisherService;
+
+    public StartupIdCacheWarmupServiceImpl(final PersonService personService, final PublisherService publisherService) {
+        this.personService = personService;
+        this.publisherService = publisherService;
+    }
+
+    @Override
+    public String getName() {
+        return "Id cache warm-up";
+    }
+
+    @Override
+    public void run() {
+        personService.warmUpIdCache();
+        publisherService.warmUpIdCache();
+    }
+}
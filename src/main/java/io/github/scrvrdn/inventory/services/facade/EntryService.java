@@ -3,10 +3,15 @@ package io.github.scrvrdn.inventory.services.facade;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
+import io.github.scrvrdn.inventory.dto.CacheStats;
 import io.github.scrvrdn.inventory.dto.FullEntryDto;
 import io.github.scrvrdn.inventory.dto.Page;
+import io.github.scrvrdn.inventory.dto.PageCursor;
 import io.github.scrvrdn.inventory.dto.PageRequest;
+import io.github.scrvrdn.inventory.dto.Person;
+import io.github.scrvrdn.inventory.dto.Publisher;
 import io.github.scrvrdn.inventory.dto.FlatEntryDto;
 
 
@@ -16,6 +21,8 @@ public interface EntryService {
 
     List<FullEntryDto> findAll();
 
+    void forEachEntry(Consumer<FullEntryDto> action);
+
     Optional<FullEntryDto> findById(long id);
 
     Optional<FlatEntryDto> getFlatEntryDtoByBookId(long bookId);
@@ -26,13 +33,37 @@ public interface EntryService {
 
     Page getPage(PageRequest request);
 
+    Page getNextPage(PageCursor after, PageRequest request);
+
+    Page getPreviousPage(PageCursor before, PageRequest request);
+
+    Page getLastPage(PageRequest request);
+
     Page getPageWithBook(long bookId, PageRequest request);
 
     List<FlatEntryDto> getAllFlatEntryDtos();
 
+    void forEachFlatEntryDto(Consumer<FlatEntryDto> action);
+
     FlatEntryDto update(FullEntryDto entry);
 
     void delete(long bookId);
 
+    int deleteAll(List<Long> bookIds);
+
+    void updateShelfMark(List<Long> bookIds, String shelfMark);
+
+    void updateYear(List<Long> bookIds, Integer year);
+
+    void addAuthor(List<Long> bookIds, Person author);
+
+    void removeAuthor(List<Long> bookIds, Person author);
+
+    void updatePublisher(List<Long> bookIds, Publisher publisher);
+
     int numberOfRows();
+
+    CacheStats getSearchCacheStats();
+
+    CacheStats getDetailsCacheStats();
 }
@@ -2,19 +2,27 @@ package io.github.scrvrdn.inventory.services.facade.impl;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import io.github.scrvrdn.inventory.dto.CacheStats;
 import io.github.scrvrdn.inventory.dto.FullEntryDto;
 import io.github.scrvrdn.inventory.dto.Page;
+import io.github.scrvrdn.inventory.dto.PageCursor;
 import io.github.scrvrdn.inventory.dto.PageRequest;
 import io.github.scrvrdn.inventory.dto.Person;
+import io.github.scrvrdn.inventory.dto.Publisher;
 import io.github.scrvrdn.inventory.dto.Book;
 import io.github.scrvrdn.inventory.dto.BookUpdateRequest;
 import io.github.scrvrdn.inventory.dto.FlatEntryDto;
+import io.github.scrvrdn.inventory.events.EntriesChangedEvent;
 import io.github.scrvrdn.inventory.repositories.EntryViewRepository;
 import io.github.scrvrdn.inventory.services.domain.BookService;
 import io.github.scrvrdn.inventory.services.domain.PersonService;
@@ -28,17 +36,20 @@ public class EntryServiceImpl implements EntryService {
     private final BookService bookService;
     private final PersonService personService;
     private final PublisherService publisherService;
+    private final ApplicationEventPublisher eventPublisher;
 
     public EntryServiceImpl(
         final EntryViewRepository entryViewRepository,
         final BookService bookService,
         final PersonService personService,
-        final PublisherService publisherService
+        final PublisherService publisherService,
+        final ApplicationEventPublisher eventPublisher
     ) {
         this.entryViewRepository = entryViewRepository;
         this.bookService = bookService;
         this.personService = personService;
         this.publisherService = publisherService;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional
@@ -46,6 +57,7 @@ public class EntryServiceImpl implements EntryService {
     public Optional<FlatEntryDto> createEmptyEntry() {
         Book emptyBook = createEmptyBook();
         bookService.create(emptyBook);
+        eventPublisher.publishEvent(new EntriesChangedEvent(this, emptyBook.getId()));
         return Optional.of(new FlatEntryDto(emptyBook.getId(), null, null, null, null, null, null));
     }
 
@@ -63,6 +75,11 @@ public class EntryServiceImpl implements EntryService {
         return entryViewRepository.findAll();
     }
 
+    @Override
+    public void forEachEntry(Consumer<FullEntryDto> action) {
+        entryViewRepository.forEachEntry(action);
+    }
+
     @Override
     public Optional<FlatEntryDto> getFlatEntryDtoByBookId(long bookId) {
         return entryViewRepository.getFlatEntryDtoByBookId(bookId);
@@ -81,8 +98,8 @@ public class EntryServiceImpl implements EntryService {
     @Override
     public Page getPage(PageRequest request) {
         
-        if (request.searchString() == null || request.searchString().isEmpty()) {
-            int totalNumberOfRows = bookService.numberOfRows();
+        if (!isFiltered(request)) {
+            int totalNumberOfRows = entryViewRepository.numberOfRows();
             List<FlatEntryDto> entries = entryViewRepository.getSortedEntries(request);
             return new Page(entries, request.pageIndex(), totalNumberOfRows);
         }
@@ -90,9 +107,52 @@ public class EntryServiceImpl implements EntryService {
         return entryViewRepository.getSortedAndFilteredEntries(request);
     }
 
+    /**
+     * Pages the unfiltered table by seeking past the cursor instead of skipping rows with OFFSET.
+     * Search results are already narrowed down by the full-text index, so they keep using {@link #getPage}.
+     */
+    @Override
+    public Page getNextPage(PageCursor after, PageRequest request) {
+        if (isFiltered(request)) return getPage(request);
+
+        int totalNumberOfRows = entryViewRepository.numberOfRows();
+        List<FlatEntryDto> entries = entryViewRepository.getSortedEntriesAfter(after, request);
+        return new Page(entries, request.pageIndex(), totalNumberOfRows);
+    }
+
+    @Override
+    public Page getPreviousPage(PageCursor before, PageRequest request) {
+        if (isFiltered(request)) return getPage(request);
+
+        int totalNumberOfRows = entryViewRepository.numberOfRows();
+        List<FlatEntryDto> entries = entryViewRepository.getSortedEntriesBefore(before, request);
+        return new Page(entries, request.pageIndex(), totalNumberOfRows);
+    }
+
+    /**
+     * Reads the last page backwards from the end of the sort order; it holds whatever is left over
+     * after the full pages, so page boundaries stay the same as with {@link #getPage}.
+     */
+    @Override
+    public Page getLastPage(PageRequest request) {
+        if (isFiltered(request)) return getPage(request);
+
+        int totalNumberOfRows = entryViewRepository.numberOfRows();
+        int pageIndex = Math.max(totalNumberOfRows - 1, 0) / request.pageSize();
+        int lastPageSize = totalNumberOfRows - pageIndex * request.pageSize();
+
+        PageRequest lastPage = new PageRequest(pageIndex, lastPageSize, request.searchString(), request.sortBy(), request.sortDir(), request.caseInsensitive());
+        List<FlatEntryDto> entries = lastPageSize > 0 ? entryViewRepository.getSortedEntriesBefore(null, lastPage) : List.of();
+        return new Page(entries, pageIndex, totalNumberOfRows);
+    }
+
+    private boolean isFiltered(PageRequest request) {
+        return request.searchString() != null && !request.searchString().isEmpty();
+    }
+
     @Override
     public Page getPageWithBook(long bookId, PageRequest request) {
-        int totalNumberOfRows = bookService.numberOfRows();
+        int totalNumberOfRows = entryViewRepository.numberOfRows();
         int rowNum = entryViewRepository.findRow(bookId, request);
         int pageIndex = (rowNum - 1) / request.pageSize();
         
@@ -109,14 +169,26 @@ public class EntryServiceImpl implements EntryService {
         return entryViewRepository.getAllFlatEntryDtos();
     }
 
+    @Override
+    public void forEachFlatEntryDto(Consumer<FlatEntryDto> action) {
+        entryViewRepository.forEachFlatEntryDto(action);
+    }
+
+    /**
+     * Saves only the sections marked in {@link FullEntryDto#getUpdatedFields()}, so that names of
+     * untouched authors, editors or publishers are not resolved again. Unmarked entries are saved in full.
+     */
     @Transactional
     @Override
     public FlatEntryDto update(FullEntryDto entry) {
+        Set<String> updatedFields = entry.getUpdatedFields().isEmpty() ? FullEntryDto.ALL_FIELDS : Set.copyOf(entry.getUpdatedFields());
         convertEmptyStringsToNull(entry);
 
-        List<Long> authorIds = personService.updateAuthorsByName(entry.getAuthors());
-        List<Long> editorIds = personService.updateEditorsByName(entry.getEditors());
-        Long publisherId = publisherService.updatePublisherByNameAndLocation(entry.getPublisher());
+        List<Long> authorIds = updatedFields.contains(FullEntryDto.AUTHORS) ? personService.updateAuthorsByName(entry.getAuthors()) : List.of();
+        List<Long> editorIds = updatedFields.contains(FullEntryDto.EDITORS) ? personService.updateEditorsByName(entry.getEditors()) : List.of();
+        Long publisherId = updatedFields.contains(FullEntryDto.PUBLISHER) && entry.getPublisher() != null
+                                ? publisherService.updatePublisherByNameAndLocation(entry.getPublisher())
+                                : null;
         Book book = entry.getBook();
 
         BookUpdateRequest request = new BookUpdateRequest(
@@ -127,10 +199,12 @@ public class EntryServiceImpl implements EntryService {
                                             book.getShelfMark(),
                                             authorIds,
                                             editorIds,
-                                            publisherId
+                                            publisherId,
+                                            updatedFields
                                         );
 
         bookService.update(entry.getBook().getId(), request);
+        eventPublisher.publishEvent(new EntriesChangedEvent(this, entry.getBook().getId()));
 
         return mapFullDtoToFlatDto(entry);
     }
@@ -146,7 +220,7 @@ public class EntryServiceImpl implements EntryService {
             convertEmptyStringsToNull(e);
         }
 
-        convertEmptyStringsToNull(entry.getPublisher());
+        if (entry.getPublisher() != null) convertEmptyStringsToNull(entry.getPublisher());
     }
 
     private void convertEmptyStringsToNull(Object obj) {
@@ -177,7 +251,7 @@ public class EntryServiceImpl implements EntryService {
             fullDto.getEditors().stream()
                 .map(e -> e.toString())
                 .collect(Collectors.joining("; ")),
-            fullDto.getPublisher().toString()
+            Objects.toString(fullDto.getPublisher(), "")
         );
     }
 
@@ -185,9 +259,95 @@ public class EntryServiceImpl implements EntryService {
     @Override
     public void delete(long id) {
         bookService.delete(id);
+        eventPublisher.publishEvent(new EntriesChangedEvent(this, id));
+    }
+
+    @Transactional
+    @Override
+    public int deleteAll(List<Long> bookIds) {
+        if (bookIds.isEmpty()) return 0;
+
+        int deleted = bookService.deleteAll(bookIds);
+        eventPublisher.publishEvent(new EntriesChangedEvent(this, bookIds));
+        return deleted;
+    }
+
+    @Transactional
+    @Override
+    public void updateShelfMark(List<Long> bookIds, String shelfMark) {
+        if (bookIds.isEmpty()) return;
+
+        bookService.updateShelfMark(bookIds, shelfMark == null || shelfMark.isBlank() ? null : shelfMark.strip());
+        eventPublisher.publishEvent(new EntriesChangedEvent(this, bookIds));
+    }
+
+    @Transactional
+    @Override
+    public void updateYear(List<Long> bookIds, Integer year) {
+        if (bookIds.isEmpty()) return;
+
+        bookService.updateYear(bookIds, year);
+        eventPublisher.publishEvent(new EntriesChangedEvent(this, bookIds));
+    }
+
+    @Transactional
+    @Override
+    public void addAuthor(List<Long> bookIds, Person author) {
+        convertEmptyStringsToNull(author);
+        if (bookIds.isEmpty() || isEmpty(author)) return;
+
+        long authorId = personService.updateAuthorsByName(List.of(author)).getFirst();
+        bookService.addAuthor(bookIds, authorId);
+        eventPublisher.publishEvent(new EntriesChangedEvent(this, bookIds));
+    }
+
+    @Transactional
+    @Override
+    public void removeAuthor(List<Long> bookIds, Person author) {
+        convertEmptyStringsToNull(author);
+        if (bookIds.isEmpty() || isEmpty(author)) return;
+
+        bookService.removeAuthor(bookIds, author);
+        eventPublisher.publishEvent(new EntriesChangedEvent(this, bookIds));
+    }
+
+    /**
+     * Assigns the publisher to all books, or removes their publishers if it has neither name nor location.
+     */
+    @Transactional
+    @Override
+    public void updatePublisher(List<Long> bookIds, Publisher publisher) {
+        if (bookIds.isEmpty()) return;
+
+        Long publisherId = null;
+        if (publisher != null) {
+            convertEmptyStringsToNull(publisher);
+            publisherId = publisherService.updatePublisherByNameAndLocation(publisher);
+        }
+
+        if (publisherId != null) {
+            bookService.assignPublisher(bookIds, publisherId);
+        } else {
+            bookService.removePublisher(bookIds);
+        }
+        eventPublisher.publishEvent(new EntriesChangedEvent(this, bookIds));
+    }
+
+    private boolean isEmpty(Person person) {
+        return person.getLastName() == null && person.getFirstNames() == null;
     }
 
     public int numberOfRows() {
-        return bookService.numberOfRows();
+        return entryViewRepository.numberOfRows();
+    }
+
+    @Override
+    public CacheStats getSearchCacheStats() {
+        return entryViewRepository.getSearchCacheStats();
+    }
+
+    @Override
+    public CacheStats getDetailsCacheStats() {
+        return entryViewRepository.getDetailsCacheStats();
     }
 }
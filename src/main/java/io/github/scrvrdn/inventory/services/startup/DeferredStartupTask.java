@@ -0,0 +1,18 @@
+package io.github.scrvrdn.inventory.services.startup;
+
+/**
+ * Startup work that the first page does not need. All tasks run one after the other, in their {@code @Order},
+ * on a background thread once the window is shown.
+ */
+public interface DeferredStartupTask {
+
+    String getName();
+    void run();
+
+    /**
+     * Seconds between the later runs of the task, or 0 if it only runs at startup.
+     */
+    default long getRepeatSeconds() {
+        return 0;
+    }
+}
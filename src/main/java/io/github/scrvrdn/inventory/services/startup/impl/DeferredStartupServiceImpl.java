@@ -0,0 +1,79 @@
+package io.github.scrvrdn.inventory.services.startup.impl;
+
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.context.ApplicationListener;
+import org.springframework.stereotype.Service;
+
+import io.github.scrvrdn.inventory.events.StageShownEvent;
+import io.github.scrvrdn.inventory.services.startup.DeferredStartupTask;
+
+/**
+ * Runs the {@link DeferredStartupTask}s on a single low priority thread once the first frame is laid out,
+ * so that none of them competes with loading the first page. Every run is timed and logged. A failing task
+ * is logged and does not hold up the ones after it.
+ */
+@Service
+public class DeferredStartupServiceImpl implements ApplicationListener<StageShownEvent>, DisposableBean {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DeferredStartupServiceImpl.class);
+
+    private final List<DeferredStartupTask> tasks;
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "deferred-startup");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        return thread;
+    });
+
+    public DeferredStartupServiceImpl(final List<DeferredStartupTask> tasks) {
+        this.tasks = tasks;
+    }
+
+    @Override
+    public void onApplicationEvent(StageShownEvent event) {
+        executor.execute(this::runAll);
+    }
+
+    void runAll() {
+        long start = System.nanoTime();
+
+        for (DeferredStartupTask task : tasks) {
+            run(task);
+
+            long repeatSeconds = task.getRepeatSeconds();
+            if (repeatSeconds > 0) {
+                executor.scheduleWithFixedDelay(() -> run(task), repeatSeconds, repeatSeconds, TimeUnit.SECONDS);
+            }
+        }
+
+        LOG.info("Deferred startup finished in {} ms", millisSince(start));
+    }
+
+    private void run(DeferredStartupTask task) {
+        long start = System.nanoTime();
+
+        // an exception would also cancel the later runs of a repeating task
+        try {
+            task.run();
+            LOG.info("{} took {} ms", task.getName(), millisSince(start));
+        } catch (RuntimeException e) {
+            LOG.error("{} failed after {} ms", task.getName(), millisSince(start), e);
+        }
+    }
+
+    private long millisSince(long start) {
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
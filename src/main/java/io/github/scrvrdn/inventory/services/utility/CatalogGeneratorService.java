@@ -0,0 +1,8 @@
+package io.github.scrvrdn.inventory.services.utility;
+
+import io.github.scrvrdn.inventory.dto.GeneratedCatalog;
+
+public interface CatalogGeneratorService {
+
+    GeneratedCatalog generate(int books, long seed);
+}
@@ -0,0 +1,11 @@
+package io.github.scrvrdn.inventory.services.utility;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import io.github.scrvrdn.inventory.dto.ExportResult;
+
+public interface ExportService {
+
+    ExportResult exportEntries(Path file) throws IOException;
+}
@@ -0,0 +1,14 @@
+package io.github.scrvrdn.inventory.services.utility;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.function.Consumer;
+
+import io.github.scrvrdn.inventory.dto.ImportProgress;
+import io.github.scrvrdn.inventory.dto.ImportResult;
+
+public interface ImportService {
+
+    ImportResult importEntries(Path file) throws IOException;
+    ImportResult importEntries(Path file, Consumer<ImportProgress> progress) throws IOException;
+}
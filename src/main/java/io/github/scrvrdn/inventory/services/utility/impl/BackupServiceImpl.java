@@ -9,9 +9,11 @@ import java.sql.ResultSet;
 import java.sql.Statement;
 import java.util.function.Supplier;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 
+import io.github.scrvrdn.inventory.events.EntriesChangedEvent;
 import io.github.scrvrdn.inventory.services.utility.BackupService;
 import io.github.scrvrdn.inventory.services.utility.BackupValidationService;
 
@@ -22,11 +24,13 @@ public class BackupServiceImpl implements BackupService {
     private final JdbcTemplate jdbcTemplate;
     private final BackupValidationService backupValidationService;
     private final Supplier<String> backupFileNameSupplier;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public BackupServiceImpl(final JdbcTemplate jdbcTemplate, final BackupValidationService backupValidationService, final Supplier<String> backupFileNameSupplier) {
+    public BackupServiceImpl(final JdbcTemplate jdbcTemplate, final BackupValidationService backupValidationService, final Supplier<String> backupFileNameSupplier, final ApplicationEventPublisher eventPublisher) {
         this.jdbcTemplate = jdbcTemplate;
         this.backupValidationService = backupValidationService;
         this.backupFileNameSupplier = backupFileNameSupplier;
+        this.eventPublisher = eventPublisher;
     }
     
     @Override
@@ -80,20 +84,29 @@ public class BackupServiceImpl implements BackupService {
 
                     metaStmt.execute(attachSql);
 
-                    try (ResultSet tables = readStmt.executeQuery("SELECT name FROM backupdb.sqlite_master WHERE type = 'table';")) {
-                        
-                        while (tables.next()) {
-                            String tableName = tables.getString("name");
-                            writeStmt.execute("DELETE FROM " + tableName);
-                            writeStmt.execute("INSERT INTO " + tableName + " SELECT * FROM backupdb." + tableName);
+                    // the writer connection is pooled, so a failed copy must not leave the backup attached to it
+                    try {
+                        // virtual tables (full-text index) and their shadow tables are skipped; the live triggers rebuild them
+                        try (ResultSet tables = readStmt.executeQuery("""
+                                SELECT name FROM backupdb.sqlite_master
+                                WHERE type = 'table'
+                                AND name IN (SELECT name FROM pragma_table_list WHERE schema = 'backupdb' AND type = 'table');
+                                """)) {
+                            
+                            while (tables.next()) {
+                                String tableName = tables.getString("name");
+                                writeStmt.execute("DELETE FROM " + tableName);
+                                writeStmt.execute("INSERT INTO " + tableName + " SELECT * FROM backupdb." + tableName);
+                            }
                         }
+                    } finally {
+                        metaStmt.execute("DETACH DATABASE backupdb;");
                     }
-
-                    metaStmt.execute("DETACH DATABASE backupdb;");
                 }
                 
                 return null;
             });
+            eventPublisher.publishEvent(new EntriesChangedEvent(this));
             
             boolean validAfterIntegrityCheck = backupValidationService.runIntegrityCheck();
             if (!validAfterIntegrityCheck) return "Live DB corrupt after reverting to Backup";
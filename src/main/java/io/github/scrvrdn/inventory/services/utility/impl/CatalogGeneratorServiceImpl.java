@@ -0,0 +1,423 @@
+package io.github.scrvrdn.inventory.services.utility.impl;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import javax.sql.DataSource;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import io.github.scrvrdn.inventory.config.DatabaseInitializer;
+import io.github.scrvrdn.inventory.dto.GeneratedCatalog;
+import io.github.scrvrdn.inventory.events.EntriesChangedEvent;
+import io.github.scrvrdn.inventory.services.utility.CatalogGeneratorService;
+
+/**
+ * Fills the database with synthetic books. The same seed on the same database always yields the same rows.
+ *
+ * <p>Persons and publishers are drawn from pools with a power-law skew, so that a few of them appear on
+ * many books and most on only a few, and they are only inserted once a book refers to them. Books get
+ * one author in most cases, editors rarely; years lean towards the present, older books have no ISBN.
+ * ISBNs carry valid check digits and are derived from the book id, so they never collide with each other.
+ * New rows get ids after the existing ones; an ISBN that is already taken is left empty, and a generated
+ * person or publisher whose name is already taken is reused instead of inserted again. Every
+ * {@value #BATCH_SIZE} books are written as one batch and committed; "flat_entries" and the search index
+ * are filled once at the end instead of by the insert triggers.
+ */
+@Service
+public class CatalogGeneratorServiceImpl implements CatalogGeneratorService {
+
+    private static final int BATCH_SIZE = 10_000;
+    private static final int LATEST_YEAR = 2025;
+    private static final int BULK_CACHE_SIZE = -262_144; // KiB
+
+    // ordered by how often they are picked
+    private static final List<String> WORDS = List.of(
+        "the", "of", "and", "history", "in", "a", "to", "on", "introduction", "poems",
+        "letters", "essays", "world", "life", "collected", "works", "studies", "art", "new", "modern",
+        "war", "philosophy", "tales", "early", "language", "science", "music", "ancient", "rome", "greek",
+        "peace", "natural", "literature", "europe", "theory", "selected", "writings", "journey", "century", "memoirs",
+        "poetry", "novel", "critique", "reason", "city", "empire", "garden", "sea", "light", "silence"
+    );
+    private static final List<String> SYLLABLES = List.of(
+        "ba", "ker", "mil", "son", "ro", "be", "ta", "lin", "gar", "dez", "mu", "ller", "ha", "wen", "st", "or"
+    );
+    private static final List<String> FIRST_NAMES = List.of(
+        "", "Anna", "John", "Maria", "Thomas", "Elisabeth", "Peter", "Clara", "Karl", "Sophie",
+        "Robert", "Helen", "Friedrich", "Jane", "Hans", "Marie", "William", "Eva", "Georg", "Charlotte",
+        "Edgar Allan", "Mary Ann", "Johann Wolfgang", "T. S.", "Jean-Paul", "Virginia", "Paul", "Emily", "Ernst", "Greta",
+        "David", "Ida", "Felix", "Ruth", "Henry", "Alice", "Walter", "Rosa", "Otto", "Lou"
+    );
+    private static final List<String> PUBLISHER_SUFFIXES = List.of(
+        "Press", "Books", "Verlag", "Publishing", "& Sons", "House", "Editions", "Library"
+    );
+    private static final List<String> LOCATIONS = List.of(
+        "New York", "London", "Berlin", "Paris", "Oxford", "Cambridge", "Munich", "Vienna", "Boston", "Zurich",
+        "Leipzig", "Frankfurt", "Chicago", "Milan", "Hamburg", "Edinburgh"
+    );
+
+    // weights for 0, 1, 2, ... persons of a role on one book
+    private static final double[] AUTHOR_COUNTS = cumulative(4, 74, 14, 5, 2, 1);
+    private static final double[] EDITOR_COUNTS = cumulative(85, 11, 3, 1);
+
+    // names are derived from a bijection of the id onto [0, NAME_SPACE), so each id gets its own name
+    private static final long NAME_SPACE = FIRST_NAMES.size() * 65_536L;
+    private static final long NAME_MULTIPLIER = 1_000_003L;
+    private static final long ISBN_SPACE = 1_000_000_000L;
+    private static final long ISBN_MULTIPLIER = 387_420_489L;
+
+    private final DataSource dataSource;
+    private final DatabaseInitializer databaseInitializer;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public CatalogGeneratorServiceImpl(final DataSource dataSource, final DatabaseInitializer databaseInitializer, final ApplicationEventPublisher eventPublisher) {
+        this.dataSource = dataSource;
+        this.databaseInitializer = databaseInitializer;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    public GeneratedCatalog generate(int books, long seed) {
+        if (books < 0) throw new IllegalArgumentException("books must not be negative");
+        long start = System.nanoTime();
+
+        GeneratedCatalog result;
+        try (Connection conn = dataSource.getConnection(); Statement stmt = conn.createStatement()) {
+            boolean autoCommit = conn.getAutoCommit();
+            long cacheSize = pragma(stmt, "cache_size");
+            // the unique indexes are filled in random order and stay fast only while they fit in the page cache
+            stmt.execute("PRAGMA cache_size = " + BULK_CACHE_SIZE + ";");
+            conn.setAutoCommit(false);
+
+            try (Run run = new Run(conn, books, seed)) {
+                databaseInitializer.beginBulkLoad(stmt);
+                for (int i = 1; i <= books; i++) {
+                    run.addBook();
+                    if (i % BATCH_SIZE == 0 || i == books) {
+                        run.flush();
+                        conn.commit();
+                    }
+                }
+                databaseInitializer.endBulkLoad(stmt);
+                conn.commit();
+                result = new GeneratedCatalog(books, run.personCount, run.publisherCount, (System.nanoTime() - start) / 1_000_000);
+
+            } catch (SQLException e) {
+                conn.rollback();
+                // the batches committed so far still get their rows
+                databaseInitializer.endBulkLoad(stmt);
+                conn.commit();
+                throw e;
+            } finally {
+                conn.setAutoCommit(autoCommit);
+                stmt.execute("PRAGMA cache_size = " + cacheSize + ";");
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Generating the catalog failed", e);
+        }
+
+        eventPublisher.publishEvent(new EntriesChangedEvent(this));
+        return result;
+    }
+
+    private long pragma(Statement stmt, String name) throws SQLException {
+        try (ResultSet rs = stmt.executeQuery("PRAGMA " + name + ";")) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    private record NameKey(String first, String second) {}
+
+    private static final class Run implements AutoCloseable {
+
+        private final Random random;
+        private final PreparedStatement personStmt;
+        private final PreparedStatement publisherStmt;
+        private final PreparedStatement bookStmt;
+        private final PreparedStatement bookPersonStmt;
+        private final PreparedStatement publishedStmt;
+
+        // pool rank -> row id, 0 while the person or publisher has not been inserted yet
+        private final long[] personIds;
+        private final long[] publisherIds;
+
+        // rows that were there before the run, (last name, first names) and (name, location) -> id
+        private final Map<NameKey, Long> existingPersonIds = new HashMap<>();
+        private final Map<NameKey, Long> existingPublisherIds = new HashMap<>();
+        private final Set<String> existingIsbn10s = new HashSet<>();
+        private final Set<String> existingIsbn13s = new HashSet<>();
+
+        private long nextBookId;
+        private long nextPersonId;
+        private long nextPublisherId;
+        private int personCount;
+        private int publisherCount;
+
+        Run(Connection conn, int books, long seed) throws SQLException {
+            this.random = new Random(seed);
+            this.personIds = new long[Math.max(books * 3 / 5, 50)];
+            this.publisherIds = new long[Math.clamp(books / 40, 20, 20_000)];
+
+            try (Statement stmt = conn.createStatement()) {
+                nextBookId = maxId(stmt, "books") + 1;
+                nextPersonId = maxId(stmt, "persons") + 1;
+                nextPublisherId = maxId(stmt, "publishers") + 1;
+
+                try (ResultSet rs = stmt.executeQuery("SELECT \"id\", \"last_name\", \"first_names\" FROM \"persons\";")) {
+                    while (rs.next()) existingPersonIds.putIfAbsent(new NameKey(rs.getString("last_name"), rs.getString("first_names")), rs.getLong("id"));
+                }
+                try (ResultSet rs = stmt.executeQuery("SELECT \"id\", \"name\", \"location\" FROM \"publishers\";")) {
+                    while (rs.next()) existingPublisherIds.putIfAbsent(new NameKey(rs.getString("name"), rs.getString("location")), rs.getLong("id"));
+                }
+                try (ResultSet rs = stmt.executeQuery("SELECT \"isbn10\", \"isbn13\" FROM \"books\" WHERE \"isbn10\" IS NOT NULL OR \"isbn13\" IS NOT NULL;")) {
+                    while (rs.next()) {
+                        if (rs.getString("isbn10") != null) existingIsbn10s.add(rs.getString("isbn10"));
+                        if (rs.getString("isbn13") != null) existingIsbn13s.add(rs.getString("isbn13"));
+                    }
+                }
+            }
+            if (nextPersonId + personIds.length > NAME_SPACE) {
+                throw new IllegalArgumentException("Too many persons for distinct generated names");
+            }
+
+            personStmt = conn.prepareStatement("""
+                INSERT INTO "persons" ("id", "last_name", "first_names") VALUES (?, ?, ?);
+                """);
+            publisherStmt = conn.prepareStatement("""
+                INSERT INTO "publishers" ("id", "name", "location") VALUES (?, ?, ?);
+                """);
+            bookStmt = conn.prepareStatement("""
+                INSERT INTO "books" ("id", "title", "year", "isbn10", "isbn13", "shelf_mark") VALUES (?, ?, ?, ?, ?, ?);
+                """);
+            bookPersonStmt = conn.prepareStatement("""
+                INSERT INTO "book_person" ("book_id", "person_id", "role", "order_index") VALUES (?, ?, ?, ?);
+                """);
+            publishedStmt = conn.prepareStatement("""
+                INSERT INTO "published" ("book_id", "publisher_id") VALUES (?, ?);
+                """);
+        }
+
+        private long maxId(Statement stmt, String table) throws SQLException {
+            try (ResultSet rs = stmt.executeQuery("SELECT COALESCE(MAX(\"id\"), 0) FROM \"" + table + "\";")) {
+                rs.next();
+                return rs.getLong(1);
+            }
+        }
+
+        void addBook() throws SQLException {
+            long bookId = nextBookId++;
+            Integer year = random.nextInt(100) < 6 ? null : LATEST_YEAR - (int) (125 * Math.pow(random.nextDouble(), 2));
+
+            bookStmt.setLong(1, bookId);
+            bookStmt.setString(2, title());
+            bookStmt.setObject(3, year);
+            bookStmt.setString(4, hasIsbn10(year) ? unused(isbn10(bookId), existingIsbn10s) : null);
+            bookStmt.setString(5, hasIsbn13(year) ? unused(isbn13(bookId), existingIsbn13s) : null);
+            bookStmt.setString(6, random.nextInt(100) < 4 ? null : shelfMark());
+            bookStmt.addBatch();
+
+            addPersons(bookId, "AUTHOR", pick(AUTHOR_COUNTS));
+            addPersons(bookId, "EDITOR", pick(EDITOR_COUNTS));
+
+            if (random.nextInt(100) >= 12) {
+                publishedStmt.setLong(1, bookId);
+                publishedStmt.setLong(2, publisherId(skewed(publisherIds.length, 3)));
+                publishedStmt.addBatch();
+            }
+        }
+
+        private void addPersons(long bookId, String role, int count) throws SQLException {
+            long[] chosen = new long[count];
+            for (int i = 0; i < count; i++) {
+                long personId;
+                do {
+                    personId = personId(skewed(personIds.length, 2));
+                } while (contains(chosen, i, personId));
+                chosen[i] = personId;
+
+                bookPersonStmt.setLong(1, bookId);
+                bookPersonStmt.setLong(2, personId);
+                bookPersonStmt.setString(3, role);
+                bookPersonStmt.setInt(4, i);
+                bookPersonStmt.addBatch();
+            }
+        }
+
+        private long personId(int rank) throws SQLException {
+            if (personIds[rank] == 0) {
+                long id = nextPersonId++;
+                long name = id * NAME_MULTIPLIER % NAME_SPACE;
+                String lastName = word(name / FIRST_NAMES.size());
+                String firstNames = FIRST_NAMES.get((int) (name % FIRST_NAMES.size()));
+                if (firstNames.isEmpty()) firstNames = null;
+
+                Long existing = existingPersonIds.get(new NameKey(lastName, firstNames));
+                if (existing != null) {
+                    personIds[rank] = existing;
+                    return existing;
+                }
+
+                personStmt.setLong(1, id);
+                personStmt.setString(2, lastName);
+                personStmt.setString(3, firstNames);
+                personStmt.addBatch();
+                personIds[rank] = id;
+                personCount++;
+            }
+            return personIds[rank];
+        }
+
+        private long publisherId(int rank) throws SQLException {
+            if (publisherIds[rank] == 0) {
+                long id = nextPublisherId++;
+                long name = id * NAME_MULTIPLIER % NAME_SPACE;
+                String publisher = word(name / PUBLISHER_SUFFIXES.size()) + " " + PUBLISHER_SUFFIXES.get((int) (name % PUBLISHER_SUFFIXES.size()));
+                String location = random.nextInt(100) < 15 ? null : LOCATIONS.get(skewed(LOCATIONS.size(), 2));
+
+                Long existing = existingPublisherIds.get(new NameKey(publisher, location));
+                if (existing != null) {
+                    publisherIds[rank] = existing;
+                    return existing;
+                }
+
+                publisherStmt.setLong(1, id);
+                publisherStmt.setString(2, publisher);
+                publisherStmt.setString(3, location);
+                publisherStmt.addBatch();
+                publisherIds[rank] = id;
+                publisherCount++;
+            }
+            return publisherIds[rank];
+        }
+
+        /**
+         * Writes the pending rows, referenced tables first.
+         */
+        void flush() throws SQLException {
+            personStmt.executeBatch();
+            publisherStmt.executeBatch();
+            bookStmt.executeBatch();
+            bookPersonStmt.executeBatch();
+            publishedStmt.executeBatch();
+        }
+
+        private String title() {
+            int length = 1;
+            while (length < 10 && random.nextInt(100) < 60) length++;
+
+            StringBuilder title = new StringBuilder();
+            for (int i = 0; i < length; i++) {
+                String word = WORDS.get(skewed(WORDS.size(), 2));
+                if (i > 0) title.append(' ');
+                title.append(i == 0 ? capitalize(word) : word);
+            }
+            return title.toString();
+        }
+
+        private String shelfMark() {
+            return (char) ('A' + skewed(26, 1.5)) + ":" + (char) ('a' + random.nextInt(8)) + ":" + (1 + random.nextInt(9)) + ":" + (1 + random.nextInt(6));
+        }
+
+        private boolean hasIsbn10(Integer year) {
+            if (year == null) return random.nextInt(100) < 30;
+            if (year < 1970) return false;
+            return random.nextInt(100) < (year < 2007 ? 90 : 20);
+        }
+
+        private boolean hasIsbn13(Integer year) {
+            if (year == null) return random.nextInt(100) < 50;
+            if (year < 1970) return false;
+            return random.nextInt(100) < (year < 2007 ? 70 : 97);
+        }
+
+        /**
+         * Rank in [0, size) where small ranks are much more likely; higher exponents skew harder.
+         */
+        private int skewed(int size, double exponent) {
+            return (int) (size * Math.pow(random.nextDouble(), exponent));
+        }
+
+        private int pick(double[] cumulative) {
+            double value = random.nextDouble();
+            int index = Arrays.binarySearch(cumulative, value);
+            return index >= 0 ? index + 1 : -index - 1;
+        }
+
+        @Override
+        public void close() throws SQLException {
+            personStmt.close();
+            publisherStmt.close();
+            bookStmt.close();
+            bookPersonStmt.close();
+            publishedStmt.close();
+        }
+    }
+
+    private static double[] cumulative(double... weights) {
+        double total = Arrays.stream(weights).sum();
+        double[] cumulative = new double[weights.length - 1];
+        double sum = 0;
+        for (int i = 0; i < cumulative.length; i++) {
+            sum += weights[i];
+            cumulative[i] = sum / total;
+        }
+        return cumulative;
+    }
+
+    private static String unused(String isbn, Set<String> existing) {
+        return existing.contains(isbn) ? null : isbn;
+    }
+
+    private static boolean contains(long[] values, int length, long value) {
+        for (int i = 0; i < length; i++) {
+            if (values[i] == value) return true;
+        }
+        return false;
+    }
+
+    private static String word(long number) {
+        StringBuilder word = new StringBuilder();
+        long rest = number;
+        do {
+            word.append(SYLLABLES.get((int) (rest % SYLLABLES.size())));
+            rest /= SYLLABLES.size();
+        } while (rest > 0);
+        return capitalize(word.toString());
+    }
+
+    private static String capitalize(String word) {
+        return Character.toUpperCase(word.charAt(0)) + word.substring(1);
+    }
+
+    private static String isbn10(long bookId) {
+        String digits = String.format("%09d", isbnBody(bookId));
+        int sum = 0;
+        for (int i = 0; i < 9; i++) sum += (10 - i) * (digits.charAt(i) - '0');
+        int check = (11 - sum % 11) % 11;
+        return digits + (check == 10 ? "X" : String.valueOf(check));
+    }
+
+    private static String isbn13(long bookId) {
+        String digits = "978" + String.format("%09d", isbnBody(bookId));
+        int sum = 0;
+        for (int i = 0; i < 12; i++) sum += (i % 2 == 0 ? 1 : 3) * (digits.charAt(i) - '0');
+        return digits + (10 - sum % 10) % 10;
+    }
+
+    // a bijection on [0, ISBN_SPACE), so distinct book ids get distinct ISBNs that do not look sequential
+    private static long isbnBody(long bookId) {
+        return bookId % ISBN_SPACE * ISBN_MULTIPLIER % ISBN_SPACE;
+    }
+}
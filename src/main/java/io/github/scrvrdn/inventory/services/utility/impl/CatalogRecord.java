@@ -0,0 +1,28 @@
+package io.github.scrvrdn.inventory.services.utility.impl;
+
+import java.util.List;
+
+import io.github.scrvrdn.inventory.dto.Person;
+
+/**
+ * One entry of an imported or exported catalog file, with its fields as they appear in the file.
+ * {@code line} is the line the entry starts on, for error messages.
+ */
+record CatalogRecord(
+    long line,
+    String title,
+    String year,
+    String isbn10,
+    String isbn13,
+    String shelfMark,
+    List<Person> authors,
+    List<Person> editors,
+    String publisher,
+    String location
+) {
+
+    boolean isEmpty() {
+        return title == null && year == null && isbn10 == null && isbn13 == null && shelfMark == null
+            && authors.isEmpty() && editors.isEmpty() && publisher == null && location == null;
+    }
+}
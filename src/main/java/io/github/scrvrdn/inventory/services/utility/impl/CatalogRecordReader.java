@@ -0,0 +1,28 @@
+package io.github.scrvrdn.inventory.services.utility.impl;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * Reads the entries of a catalog file one at a time, so that files of any size can be imported.
+ */
+interface CatalogRecordReader extends AutoCloseable {
+
+    /**
+     * The next entry, or null at the end of the file.
+     */
+    CatalogRecord next() throws IOException;
+
+    @Override
+    void close() throws IOException;
+
+    static CatalogRecordReader open(Path file) throws IOException {
+        String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        if (name.endsWith(".json")) return new JsonCatalogReader(Files.newBufferedReader(file, StandardCharsets.UTF_8));
+        if (name.endsWith(".csv")) return new CsvCatalogReader(Files.newBufferedReader(file, StandardCharsets.UTF_8));
+        throw new IOException("Unsupported file type, expected .csv or .json: " + file.getFileName());
+    }
+}
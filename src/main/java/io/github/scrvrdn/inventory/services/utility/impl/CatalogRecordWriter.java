@@ -0,0 +1,25 @@
+package io.github.scrvrdn.inventory.services.utility.impl;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * Writes entries to a catalog file in the formats read by {@link CatalogRecordReader}.
+ */
+interface CatalogRecordWriter extends AutoCloseable {
+
+    void write(CatalogRecord record) throws IOException;
+
+    @Override
+    void close() throws IOException;
+
+    static CatalogRecordWriter open(Path file) throws IOException {
+        String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        if (name.endsWith(".json")) return new JsonCatalogWriter(Files.newBufferedWriter(file, StandardCharsets.UTF_8));
+        if (name.endsWith(".csv")) return new CsvCatalogWriter(Files.newBufferedWriter(file, StandardCharsets.UTF_8));
+        throw new IOException("Unsupported file type, expected .csv or .json: " + file.getFileName());
+    }
+}
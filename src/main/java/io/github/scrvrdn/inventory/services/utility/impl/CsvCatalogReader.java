@@ -0,0 +1,161 @@
+package io.github.scrvrdn.inventory.services.utility.impl;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import io.github.scrvrdn.inventory.dto.Person;
+
+/**
+ * Reads CSV as described in RFC 4180: comma separated, fields may be quoted and then contain commas,
+ * line breaks and doubled quotes. The first row names the columns, see {@link CsvCatalogWriter#COLUMNS};
+ * their order does not matter and unknown columns are ignored. Persons are written as
+ * {@code Last, First; Last, First}, see {@link CsvCatalogWriter#formatPersons}.
+ */
+final class CsvCatalogReader implements CatalogRecordReader {
+
+    private final BufferedReader reader;
+    private final Map<String, Integer> columns = new HashMap<>();
+    private long line = 1;
+
+    CsvCatalogReader(BufferedReader reader) throws IOException {
+        this.reader = reader;
+
+        List<String> header = readRow();
+        if (header == null) throw new IOException("The CSV file is empty");
+        for (int i = 0; i < header.size(); i++) {
+            String name = header.get(i).replace("\uFEFF", "").strip().toLowerCase(Locale.ROOT);
+            columns.putIfAbsent(name, i);
+        }
+        if (CsvCatalogWriter.COLUMNS.stream().noneMatch(columns::containsKey)) {
+            throw new IOException("The CSV header has none of the columns " + CsvCatalogWriter.COLUMNS);
+        }
+    }
+
+    @Override
+    public CatalogRecord next() throws IOException {
+        List<String> row;
+        long start;
+        do {
+            start = line;
+            row = readRow();
+            if (row == null) return null;
+        } while (row.size() == 1 && row.getFirst().isBlank());
+
+        return new CatalogRecord(
+            start,
+            get(row, "title"),
+            get(row, "year"),
+            get(row, "isbn10"),
+            get(row, "isbn13"),
+            get(row, "shelf_mark"),
+            parsePersons(get(row, "authors")),
+            parsePersons(get(row, "editors")),
+            get(row, "publisher"),
+            get(row, "location")
+        );
+    }
+
+    private String get(List<String> row, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= row.size()) return null;
+
+        String value = row.get(index).strip();
+        return value.isEmpty() ? null : value;
+    }
+
+    /**
+     * The fields of the next row, or null at the end of the input.
+     */
+    private List<String> readRow() throws IOException {
+        int c = reader.read();
+        if (c == -1) return null;
+
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+
+        while (true) {
+            if (c == -1) {
+                fields.add(field.toString());
+                return fields;
+            }
+
+            if (quoted) {
+                if (c == '"') {
+                    c = reader.read();
+                    if (c != '"') {
+                        quoted = false;
+                        continue;
+                    }
+                }
+                if (c == '\n') line++;
+                field.append((char) c);
+
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n') {
+                line++;
+                fields.add(field.toString());
+                return fields;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+
+            c = reader.read();
+        }
+    }
+
+    /**
+     * Splits at unescaped {@code ;} into persons and at the first unescaped {@code ,} into last and first names;
+     * a backslash takes the next character literally.
+     */
+    static List<Person> parsePersons(String value) {
+        if (value == null) return List.of();
+
+        List<Person> persons = new ArrayList<>();
+        StringBuilder lastName = new StringBuilder();
+        StringBuilder firstNames = null;
+
+        for (int i = 0; i <= value.length(); i++) {
+            char c = i < value.length() ? value.charAt(i) : ';';
+            StringBuilder name = firstNames == null ? lastName : firstNames;
+
+            if (c == '\\' && i + 1 < value.length()) {
+                name.append(value.charAt(++i));
+            } else if (c == ';') {
+                addPerson(persons, lastName.toString(), firstNames == null ? null : firstNames.toString());
+                lastName.setLength(0);
+                firstNames = null;
+            } else if (c == ',' && firstNames == null) {
+                firstNames = new StringBuilder();
+            } else {
+                name.append(c);
+            }
+        }
+        return persons;
+    }
+
+    private static void addPerson(List<Person> persons, String lastName, String firstNames) {
+        String last = blankToNull(lastName);
+        String first = firstNames == null ? null : blankToNull(firstNames);
+        if (last != null || first != null) persons.add(new Person(null, last, first));
+    }
+
+    private static String blankToNull(String value) {
+        String stripped = value.strip();
+        return stripped.isEmpty() ? null : stripped;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
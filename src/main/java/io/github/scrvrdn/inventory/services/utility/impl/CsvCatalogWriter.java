@@ -0,0 +1,87 @@
+package io.github.scrvrdn.inventory.services.utility.impl;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import io.github.scrvrdn.inventory.dto.Person;
+
+/**
+ * Writes catalog entries in the CSV format read by {@link CsvCatalogReader}. Extra leading columns,
+ * such as the reason a row was rejected, are ignored when the file is read back.
+ */
+final class CsvCatalogWriter implements CatalogRecordWriter {
+
+    static final List<String> COLUMNS = List.of(
+        "title", "year", "isbn10", "isbn13", "shelf_mark", "authors", "editors", "publisher", "location"
+    );
+
+    private final Writer writer;
+
+    CsvCatalogWriter(Writer writer, String... leadingColumns) throws IOException {
+        this.writer = writer;
+
+        for (String column : leadingColumns) writer.write(column + ",");
+        writer.write(String.join(",", COLUMNS));
+        writer.write("\r\n");
+    }
+
+    @Override
+    public void write(CatalogRecord record) throws IOException {
+        write(record, new String[0]);
+    }
+
+    void write(CatalogRecord record, String... leadingValues) throws IOException {
+        StringBuilder row = new StringBuilder();
+        for (String value : leadingValues) field(row, value).append(',');
+
+        field(row, record.title()).append(',');
+        field(row, record.year()).append(',');
+        field(row, record.isbn10()).append(',');
+        field(row, record.isbn13()).append(',');
+        field(row, record.shelfMark()).append(',');
+        field(row, formatPersons(record.authors())).append(',');
+        field(row, formatPersons(record.editors())).append(',');
+        field(row, record.publisher()).append(',');
+        field(row, record.location()).append("\r\n");
+
+        writer.write(row.toString());
+    }
+
+    private static StringBuilder field(StringBuilder row, String value) {
+        if (value == null) return row;
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return row.append(value);
+        }
+        return row.append('"').append(value.replace("\"", "\"\"")).append('"');
+    }
+
+    /**
+     * Writes {@code Last, First; Last, First}, with {@code , First} for a person without last name and
+     * {@code \}, {@code ,} and {@code ;} in names escaped by a backslash, as {@link CsvCatalogReader#parsePersons} expects.
+     */
+    static String formatPersons(List<Person> persons) {
+        return persons.stream().map(CsvCatalogWriter::formatPerson).collect(Collectors.joining("; "));
+    }
+
+    private static String formatPerson(Person person) {
+        if (person.getFirstNames() == null) return escape(person.getLastName());
+        if (person.getLastName() == null) return ", " + escape(person.getFirstNames());
+
+        return escape(person.getLastName()) + ", " + escape(person.getFirstNames());
+    }
+
+    private static String escape(String name) {
+        return name.replace("\\", "\\\\").replace(",", "\\,").replace(";", "\\;");
+    }
+
+    void flush() throws IOException {
+        writer.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+}
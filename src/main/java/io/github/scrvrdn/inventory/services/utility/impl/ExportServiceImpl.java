@@ -0,0 +1,173 @@
+package io.github.scrvrdn.inventory.services.utility.impl;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import io.github.scrvrdn.inventory.dto.ExportResult;
+import io.github.scrvrdn.inventory.dto.Person;
+import io.github.scrvrdn.inventory.services.utility.ExportService;
+
+/**
+ * Exports all entries in id order to a CSV or JSON file that {@link ImportServiceImpl} can read back.
+ *
+ * <p>The id range is cut into slices of {@value #SLICE_SIZE} ids that are read in parallel on the read-only
+ * connections, one slice per connection at a time, each in its own read transaction. The writer drains the
+ * slices in id order and at most two per reader are held in memory, so the heap stays flat for any catalog
+ * size. Entries saved during an export appear in the state their slice was read in.
+ */
+@Service
+public class ExportServiceImpl implements ExportService {
+
+    private static final int SLICE_SIZE = 2_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int readers;
+
+    public ExportServiceImpl(@Qualifier("readerJdbcTemplate") final JdbcTemplate jdbcTemplate, @Value("${app.db.pool.reader-size:4}") final int readerPoolSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.readers = Math.clamp(Runtime.getRuntime().availableProcessors(), 1, Math.max(readerPoolSize, 1));
+    }
+
+    @Override
+    public ExportResult exportEntries(Path file) throws IOException {
+        long start = System.nanoTime();
+        long[] ids = jdbcTemplate.queryForObject("""
+            SELECT COALESCE(MIN("id"), 1), COALESCE(MAX("id"), 0) FROM "books";
+            """, (rs, rowNum) -> new long[] { rs.getLong(1), rs.getLong(2) });
+
+        CatalogRecordWriter writer = CatalogRecordWriter.open(file);
+        ExecutorService executor = Executors.newFixedThreadPool(readers, runnable -> {
+            Thread thread = new Thread(runnable, "catalog-exporter");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        int exported = 0;
+        boolean done = false;
+        try (writer) {
+            Deque<Future<List<CatalogRecord>>> slices = new ArrayDeque<>();
+            long next = ids[0];
+
+            while (next <= ids[1] || !slices.isEmpty()) {
+                while (next <= ids[1] && slices.size() < 2 * readers) {
+                    long from = next;
+                    long to = Math.min(from + SLICE_SIZE - 1, ids[1]);
+                    slices.add(executor.submit(() -> readSlice(from, to)));
+                    next = to + 1;
+                }
+
+                for (CatalogRecord record : slices.removeFirst().get()) {
+                    writer.write(record);
+                    exported++;
+                }
+            }
+            done = true;
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Export interrupted", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Exporting to " + file.getFileName() + " failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+            if (!done) Files.deleteIfExists(file);
+        }
+
+        return new ExportResult(exported, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private List<CatalogRecord> readSlice(long from, long to) {
+        return jdbcTemplate.execute((ConnectionCallback<List<CatalogRecord>>) conn -> {
+            boolean autoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+            try {
+                return readSlice(conn, from, to);
+            } finally {
+                conn.rollback();
+                conn.setAutoCommit(autoCommit);
+            }
+        });
+    }
+
+    private List<CatalogRecord> readSlice(Connection conn, long from, long to) throws SQLException {
+        List<Long> bookIds = new ArrayList<>();
+        List<CatalogRecord> records = new ArrayList<>();
+
+        try (PreparedStatement stmt = conn.prepareStatement("""
+                SELECT b."id", b."title", b."year", b."isbn10", b."isbn13", b."shelf_mark", p."name", p."location"
+                FROM "books" b
+                LEFT JOIN "published" pd ON pd."book_id" = b."id"
+                LEFT JOIN "publishers" p ON p."id" = pd."publisher_id"
+                WHERE b."id" BETWEEN ? AND ?
+                ORDER BY b."id";
+                """)) {
+            stmt.setLong(1, from);
+            stmt.setLong(2, to);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    bookIds.add(rs.getLong("id"));
+                    records.add(new CatalogRecord(
+                        0,
+                        rs.getString("title"),
+                        rs.getObject("year") == null ? null : String.valueOf(rs.getInt("year")),
+                        rs.getString("isbn10"),
+                        rs.getString("isbn13"),
+                        rs.getString("shelf_mark"),
+                        new ArrayList<>(),
+                        new ArrayList<>(),
+                        rs.getString("name"),
+                        rs.getString("location")
+                    ));
+                }
+            }
+        }
+
+        try (PreparedStatement stmt = conn.prepareStatement("""
+                SELECT bp."book_id", bp."role", p."last_name", p."first_names"
+                FROM "book_person" bp
+                JOIN "persons" p ON p."id" = bp."person_id"
+                WHERE bp."book_id" BETWEEN ? AND ?
+                ORDER BY bp."book_id", bp."role", bp."order_index";
+                """)) {
+            stmt.setLong(1, from);
+            stmt.setLong(2, to);
+
+            // both result sets are in book id order, so the persons are matched up by walking the books once
+            int index = 0;
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    long bookId = rs.getLong("book_id");
+                    while (index < bookIds.size() && bookIds.get(index) < bookId) index++;
+                    if (index == bookIds.size()) break;
+                    if (bookIds.get(index) != bookId) continue;
+
+                    CatalogRecord record = records.get(index);
+                    Person person = new Person(null, rs.getString("last_name"), rs.getString("first_names"));
+                    ("AUTHOR".equals(rs.getString("role")) ? record.authors() : record.editors()).add(person);
+                }
+            }
+        }
+
+        return records;
+    }
+}
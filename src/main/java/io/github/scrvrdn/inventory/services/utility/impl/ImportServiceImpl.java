@@ -0,0 +1,427 @@
+package io.github.scrvrdn.inventory.services.utility.impl;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import javax.sql.DataSource;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import io.github.scrvrdn.inventory.dto.ImportProgress;
+import io.github.scrvrdn.inventory.dto.ImportResult;
+import io.github.scrvrdn.inventory.dto.Person;
+import io.github.scrvrdn.inventory.events.EntriesChangedEvent;
+import io.github.scrvrdn.inventory.services.utility.ImportService;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.ObjectWriteContext;
+import tools.jackson.core.json.JsonFactory;
+
+/**
+ * Imports the entries of a CSV or JSON catalog file, see {@link CsvCatalogReader} and {@link JsonCatalogReader}.
+ *
+ * <p>The file is streamed and written in chunks of {@value #CHUNK_SIZE} entries, each one JDBC batch per table
+ * and one transaction on a writer connection that is returned after the chunk. The existing persons, publishers and
+ * ISBNs among a chunk's entries are read at its start with one statement each, so an import does not query per row;
+ * new ones are added to the chunk's maps and get ids after the existing ones.
+ * Rows whose ISBN is already taken, by the database or by an earlier row, as well as rows with an invalid
+ * year or no content, are skipped and written to {@code <file>.rejected.csv} with the reason, so they can be
+ * fixed and imported again. If the import fails midway, the chunks committed so far are kept.
+ */
+@Service
+public class ImportServiceImpl implements ImportService {
+
+    private static final int CHUNK_SIZE = 5_000;
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final DataSource dataSource;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public ImportServiceImpl(final DataSource dataSource, final ApplicationEventPublisher eventPublisher) {
+        this.dataSource = dataSource;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    public ImportResult importEntries(Path file) throws IOException {
+        return importEntries(file, progress -> {});
+    }
+
+    @Override
+    public ImportResult importEntries(Path file, Consumer<ImportProgress> progress) throws IOException {
+        long start = System.nanoTime();
+        Path rejectedFile = file.resolveSibling(file.getFileName() + ".rejected.csv");
+        Files.deleteIfExists(rejectedFile);
+
+        Run run = new Run(rejectedFile);
+        try (run; CatalogRecordReader reader = CatalogRecordReader.open(file)) {
+            List<CatalogRecord> chunk = new ArrayList<>(CHUNK_SIZE);
+            CatalogRecord record;
+            while ((record = reader.next()) != null) {
+                chunk.add(record);
+                if (chunk.size() == CHUNK_SIZE) {
+                    writeChunk(run, chunk);
+                    progress.accept(new ImportProgress(run.rows, run.imported, run.rejected));
+                    chunk.clear();
+                }
+            }
+            writeChunk(run, chunk);
+            progress.accept(new ImportProgress(run.rows, run.imported, run.rejected));
+
+        } catch (SQLException e) {
+            throw new RuntimeException("Importing " + file.getFileName() + " failed", e);
+        } catch (IOException e) {
+            if (run.imported == 0) throw e;
+            throw new IOException(e.getMessage() + " (" + run.imported + " entries were imported before)", e);
+        } finally {
+            if (run.imported > 0) eventPublisher.publishEvent(new EntriesChangedEvent(this));
+        }
+
+        return new ImportResult(run.imported, run.rejected, run.rejected > 0 ? rejectedFile : null, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Writes one chunk in its own transaction. The writer connection is returned in between, so saves,
+     * backups and the cleanup task are not held up while the file is read.
+     */
+    private void writeChunk(Run run, List<CatalogRecord> chunk) throws SQLException, IOException {
+        if (chunk.isEmpty()) return;
+
+        try (Connection conn = dataSource.getConnection()) {
+            boolean autoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+
+            try {
+                run.write(conn, chunk);
+                conn.commit();
+                run.committed();
+            } catch (SQLException | IOException | RuntimeException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(autoCommit);
+            }
+        }
+    }
+
+    private record NameKey(String first, String second) {}
+
+    private static final class Run implements AutoCloseable {
+
+        private final Path rejectedFile;
+
+        private CsvCatalogWriter rejectedWriter;
+        private long rows;
+        private int imported;
+        private int rejected;
+        private int pending;
+
+        Run(Path rejectedFile) {
+            this.rejectedFile = rejectedFile;
+        }
+
+        /**
+         * Adds the entries to the batches and writes them, referenced tables first.
+         */
+        void write(Connection conn, List<CatalogRecord> records) throws SQLException, IOException {
+            pending = 0;
+            try (Chunk chunk = new Chunk(conn, records)) {
+                for (CatalogRecord record : records) {
+                    rows++;
+                    String reason = chunk.add(record);
+                    if (reason != null) reject(record, reason);
+                    else pending++;
+                }
+                chunk.execute();
+            }
+
+            if (rejectedWriter != null) rejectedWriter.flush();
+        }
+
+        void committed() {
+            imported += pending;
+            pending = 0;
+        }
+
+        private void reject(CatalogRecord record, String reason) throws IOException {
+            if (rejectedWriter == null) {
+                rejectedWriter = new CsvCatalogWriter(Files.newBufferedWriter(rejectedFile, StandardCharsets.UTF_8), "line", "reason");
+            }
+            rejectedWriter.write(record, String.valueOf(record.line()), reason);
+            rejected++;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (rejectedWriter != null) rejectedWriter.close();
+        }
+    }
+
+    /**
+     * The batches of one chunk. Ids after the current maximum and the existing persons, publishers and ISBNs
+     * among the chunk's names are read in its own transaction, so rows that other writers added or deleted
+     * between chunks are seen.
+     */
+    private static final class Chunk implements AutoCloseable {
+
+        private final PreparedStatement personStmt;
+        private final PreparedStatement publisherStmt;
+        private final PreparedStatement bookStmt;
+        private final PreparedStatement bookPersonStmt;
+        private final PreparedStatement publishedStmt;
+
+        // (last name, first names) and (name, location) -> id
+        private final Map<NameKey, Long> personIds = new HashMap<>();
+        private final Map<NameKey, Long> publisherIds = new HashMap<>();
+        private final Set<String> isbn10s = new HashSet<>();
+        private final Set<String> isbn13s = new HashSet<>();
+
+        private long nextBookId;
+        private long nextPersonId;
+        private long nextPublisherId;
+
+        Chunk(Connection conn, List<CatalogRecord> records) throws SQLException {
+            Set<NameKey> persons = new HashSet<>();
+            Set<NameKey> publishers = new HashSet<>();
+            Set<String> isbn10Values = new HashSet<>();
+            Set<String> isbn13Values = new HashSet<>();
+            for (CatalogRecord record : records) {
+                for (Person person : record.authors()) persons.add(personKey(person));
+                for (Person person : record.editors()) persons.add(personKey(person));
+                NameKey publisher = new NameKey(normalize(record.publisher()), normalize(record.location()));
+                if (publisher.first() != null || publisher.second() != null) publishers.add(publisher);
+                if (isbn(record.isbn10()) != null) isbn10Values.add(isbn(record.isbn10()));
+                if (isbn(record.isbn13()) != null) isbn13Values.add(isbn(record.isbn13()));
+            }
+
+            try (Statement stmt = conn.createStatement()) {
+                nextBookId = maxId(stmt, "books") + 1;
+                nextPersonId = maxId(stmt, "persons") + 1;
+                nextPublisherId = maxId(stmt, "publishers") + 1;
+            }
+
+            // duplicates with a NULL column can exist from before; the oldest row wins
+            readIds(conn, """
+                SELECT p."id", p."last_name", p."first_names"
+                FROM json_each(?) j
+                JOIN "persons" p ON p."last_name" IS json_extract(j."value", '$[0]') AND p."first_names" IS json_extract(j."value", '$[1]')
+                ORDER BY p."id";
+                """, persons, personIds);
+            readIds(conn, """
+                SELECT p."id", p."name", p."location"
+                FROM json_each(?) j
+                JOIN "publishers" p ON p."name" IS json_extract(j."value", '$[0]') AND p."location" IS json_extract(j."value", '$[1]')
+                ORDER BY p."id";
+                """, publishers, publisherIds);
+            readIsbns(conn, "isbn10", isbn10Values, isbn10s);
+            readIsbns(conn, "isbn13", isbn13Values, isbn13s);
+
+            personStmt = conn.prepareStatement("""
+                INSERT INTO "persons" ("id", "last_name", "first_names") VALUES (?, ?, ?);
+                """);
+            publisherStmt = conn.prepareStatement("""
+                INSERT INTO "publishers" ("id", "name", "location") VALUES (?, ?, ?);
+                """);
+            bookStmt = conn.prepareStatement("""
+                INSERT INTO "books" ("id", "title", "year", "isbn10", "isbn13", "shelf_mark") VALUES (?, ?, ?, ?, ?, ?);
+                """);
+            bookPersonStmt = conn.prepareStatement("""
+                INSERT INTO "book_person" ("book_id", "person_id", "role", "order_index") VALUES (?, ?, ?, ?);
+                """);
+            publishedStmt = conn.prepareStatement("""
+                INSERT INTO "published" ("book_id", "publisher_id") VALUES (?, ?);
+                """);
+        }
+
+        private long maxId(Statement stmt, String table) throws SQLException {
+            try (ResultSet rs = stmt.executeQuery("SELECT COALESCE(MAX(\"id\"), 0) FROM \"" + table + "\";")) {
+                rs.next();
+                return rs.getLong(1);
+            }
+        }
+
+        private void readIds(Connection conn, String query, Set<NameKey> names, Map<NameKey, Long> ids) throws SQLException {
+            if (names.isEmpty()) return;
+
+            try (PreparedStatement ps = conn.prepareStatement(query)) {
+                ps.setString(1, jsonArray(names.stream().map(name -> Arrays.asList(name.first(), name.second())).toList()));
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) ids.putIfAbsent(new NameKey(rs.getString(2), rs.getString(3)), rs.getLong(1));
+                }
+            }
+        }
+
+        private void readIsbns(Connection conn, String column, Set<String> values, Set<String> existing) throws SQLException {
+            if (values.isEmpty()) return;
+
+            String query = "SELECT \"" + column + "\" FROM \"books\" WHERE \"" + column + "\" IN (SELECT \"value\" FROM json_each(?));";
+            try (PreparedStatement ps = conn.prepareStatement(query)) {
+                ps.setString(1, jsonArray(values));
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) existing.add(rs.getString(1));
+                }
+            }
+        }
+
+        void execute() throws SQLException {
+            personStmt.executeBatch();
+            publisherStmt.executeBatch();
+            bookStmt.executeBatch();
+            bookPersonStmt.executeBatch();
+            publishedStmt.executeBatch();
+        }
+
+        /**
+         * Batches the entry, or returns why it cannot be imported.
+         */
+        private String add(CatalogRecord record) throws SQLException {
+            if (record.isEmpty()) return "Empty entry";
+
+            Integer year;
+            try {
+                year = record.year() == null ? null : Integer.valueOf(record.year());
+            } catch (NumberFormatException e) {
+                return "Invalid year: " + record.year();
+            }
+
+            String isbn10 = isbn(record.isbn10());
+            String isbn13 = isbn(record.isbn13());
+            if (isbn10 != null && isbn10s.contains(isbn10)) return "ISBN-10 " + isbn10 + " already exists";
+            if (isbn13 != null && isbn13s.contains(isbn13)) return "ISBN-13 " + isbn13 + " already exists";
+            if (isbn10 != null) isbn10s.add(isbn10);
+            if (isbn13 != null) isbn13s.add(isbn13);
+
+            long bookId = nextBookId++;
+            bookStmt.setLong(1, bookId);
+            bookStmt.setString(2, normalize(record.title()));
+            bookStmt.setObject(3, year);
+            bookStmt.setString(4, isbn10);
+            bookStmt.setString(5, isbn13);
+            bookStmt.setString(6, normalize(record.shelfMark()));
+            bookStmt.addBatch();
+
+            addPersons(bookId, "AUTHOR", record.authors());
+            addPersons(bookId, "EDITOR", record.editors());
+
+            String publisher = normalize(record.publisher());
+            String location = normalize(record.location());
+            if (publisher != null || location != null) {
+                publishedStmt.setLong(1, bookId);
+                publishedStmt.setLong(2, publisherId(new NameKey(publisher, location)));
+                publishedStmt.addBatch();
+            }
+
+            return null;
+        }
+
+        private void addPersons(long bookId, String role, List<Person> persons) throws SQLException {
+            Set<Long> added = new HashSet<>();
+            int order = 0;
+            for (Person person : persons) {
+                long personId = personId(personKey(person));
+                if (!added.add(personId)) continue;
+
+                bookPersonStmt.setLong(1, bookId);
+                bookPersonStmt.setLong(2, personId);
+                bookPersonStmt.setString(3, role);
+                bookPersonStmt.setInt(4, order++);
+                bookPersonStmt.addBatch();
+            }
+        }
+
+        private long personId(NameKey name) throws SQLException {
+            Long id = personIds.get(name);
+            if (id == null) {
+                id = nextPersonId++;
+                personStmt.setLong(1, id);
+                personStmt.setString(2, name.first());
+                personStmt.setString(3, name.second());
+                personStmt.addBatch();
+                personIds.put(name, id);
+            }
+            return id;
+        }
+
+        private long publisherId(NameKey name) throws SQLException {
+            Long id = publisherIds.get(name);
+            if (id == null) {
+                id = nextPublisherId++;
+                publisherStmt.setLong(1, id);
+                publisherStmt.setString(2, name.first());
+                publisherStmt.setString(3, name.second());
+                publisherStmt.addBatch();
+                publisherIds.put(name, id);
+            }
+            return id;
+        }
+
+        @Override
+        public void close() throws SQLException {
+            personStmt.close();
+            publisherStmt.close();
+            bookStmt.close();
+            bookPersonStmt.close();
+            publishedStmt.close();
+        }
+    }
+
+    private static NameKey personKey(Person person) {
+        return new NameKey(normalize(person.getLastName()), normalize(person.getFirstNames()));
+    }
+
+    /**
+     * Strings, or lists of them, as one JSON array parameter for {@code json_each}.
+     */
+    private static String jsonArray(Collection<?> values) {
+        StringWriter json = new StringWriter();
+        try (JsonGenerator generator = JSON_FACTORY.createGenerator(ObjectWriteContext.empty(), json)) {
+            generator.writeStartArray();
+            for (Object value : values) {
+                if (value instanceof List<?> list) {
+                    generator.writeStartArray();
+                    for (Object element : list) writeString(generator, (String) element);
+                    generator.writeEndArray();
+                } else {
+                    writeString(generator, (String) value);
+                }
+            }
+            generator.writeEndArray();
+        }
+        return json.toString();
+    }
+
+    private static void writeString(JsonGenerator generator, String value) {
+        if (value == null) generator.writeNull();
+        else generator.writeString(value);
+    }
+
+    // hyphens and spaces are dropped, as in the details pane; the check digit may be an X
+    private static String isbn(String value) {
+        if (value == null) return null;
+        String isbn = value.replaceAll("[^0-9Xx]", "").toUpperCase();
+        return isbn.isEmpty() ? null : isbn;
+    }
+
+    private static String normalize(String value) {
+        if (value == null) return null;
+        String normalized = value.strip().replaceAll("\\s+", " ");
+        return normalized.isEmpty() ? null : normalized;
+    }
+}
@@ -0,0 +1,130 @@
+package io.github.scrvrdn.inventory.services.utility.impl;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+import io.github.scrvrdn.inventory.dto.Person;
+import tools.jackson.core.JacksonException;
+import tools.jackson.core.JsonParser;
+import tools.jackson.core.JsonToken;
+import tools.jackson.core.ObjectReadContext;
+import tools.jackson.core.json.JsonFactory;
+
+/**
+ * Reads a JSON array of entries token by token, so that only the current entry is held in memory:
+ * <pre>
+ * [{"title": "...", "year": 1999, "isbn10": "...", "isbn13": "...", "shelfMark": "...",
+ *   "authors": [{"lastName": "...", "firstNames": "..."}], "editors": [...],
+ *   "publisher": {"name": "...", "location": "..."}}]
+ * </pre>
+ * Missing and unknown properties are allowed.
+ */
+final class JsonCatalogReader implements CatalogRecordReader {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final JsonParser parser;
+
+    JsonCatalogReader(Reader reader) throws IOException {
+        try {
+            this.parser = JSON_FACTORY.createParser(ObjectReadContext.empty(), reader);
+            if (parser.nextToken() != JsonToken.START_ARRAY) throw new IOException("Expected a JSON array of entries");
+        } catch (JacksonException e) {
+            reader.close();
+            throw new IOException("Malformed JSON: " + e.getOriginalMessage(), e);
+        }
+    }
+
+    @Override
+    public CatalogRecord next() throws IOException {
+        try {
+            JsonToken token = parser.nextToken();
+            if (token == null || token == JsonToken.END_ARRAY) return null;
+
+            long line = parser.currentTokenLocation().getLineNr();
+            if (token != JsonToken.START_OBJECT) throw new IOException("Expected an entry object in line " + line);
+
+            String title = null, year = null, isbn10 = null, isbn13 = null, shelfMark = null, publisher = null, location = null;
+            List<Person> authors = List.of(), editors = List.of();
+
+            while (parser.nextToken() == JsonToken.PROPERTY_NAME) {
+                String name = parser.currentName();
+                JsonToken value = parser.nextToken();
+
+                switch (name) {
+                    case "title" -> title = text(value);
+                    case "year" -> year = text(value);
+                    case "isbn10" -> isbn10 = text(value);
+                    case "isbn13" -> isbn13 = text(value);
+                    case "shelfMark" -> shelfMark = text(value);
+                    case "authors" -> authors = persons(value);
+                    case "editors" -> editors = persons(value);
+                    case "publisher" -> {
+                        if (value == JsonToken.START_OBJECT) {
+                            String[] fields = object("name", "location");
+                            publisher = fields[0];
+                            location = fields[1];
+                        } else {
+                            publisher = text(value);
+                        }
+                    }
+                    case "location" -> location = text(value);
+                    default -> parser.skipChildren();
+                }
+            }
+
+            return new CatalogRecord(line, title, year, isbn10, isbn13, shelfMark, authors, editors, publisher, location);
+
+        } catch (JacksonException e) {
+            throw new IOException("Malformed JSON: " + e.getOriginalMessage(), e);
+        }
+    }
+
+    private List<Person> persons(JsonToken value) throws IOException {
+        if (value == JsonToken.VALUE_NULL) return List.of();
+        if (value != JsonToken.START_ARRAY) throw new IOException("Expected a list of persons in line " + parser.currentTokenLocation().getLineNr());
+
+        List<Person> persons = new ArrayList<>();
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            if (token != JsonToken.START_OBJECT) throw new IOException("Expected a person object in line " + parser.currentTokenLocation().getLineNr());
+
+            String[] fields = object("lastName", "firstNames");
+            if (fields[0] != null || fields[1] != null) persons.add(new Person(null, fields[0], fields[1]));
+        }
+        return persons;
+    }
+
+    /**
+     * The values of the given properties of the object that was just opened.
+     */
+    private String[] object(String... names) {
+        String[] values = new String[names.length];
+        while (parser.nextToken() == JsonToken.PROPERTY_NAME) {
+            String name = parser.currentName();
+            JsonToken value = parser.nextToken();
+
+            int index = List.of(names).indexOf(name);
+            if (index >= 0) values[index] = text(value);
+            else parser.skipChildren();
+        }
+        return values;
+    }
+
+    private String text(JsonToken value) {
+        if (!value.isScalarValue() || value == JsonToken.VALUE_NULL) {
+            parser.skipChildren();
+            return null;
+        }
+
+        String text = parser.getString().strip();
+        return text.isEmpty() ? null : text;
+    }
+
+    @Override
+    public void close() throws IOException {
+        parser.close();
+    }
+}
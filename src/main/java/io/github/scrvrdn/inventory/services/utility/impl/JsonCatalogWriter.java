@@ -0,0 +1,82 @@
+package io.github.scrvrdn.inventory.services.utility.impl;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+
+import io.github.scrvrdn.inventory.dto.Person;
+import tools.jackson.core.JacksonException;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.ObjectWriteContext;
+import tools.jackson.core.json.JsonFactory;
+
+/**
+ * Writes entries as the JSON array read by {@link JsonCatalogReader}, one entry at a time.
+ */
+final class JsonCatalogWriter implements CatalogRecordWriter {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final JsonGenerator generator;
+
+    JsonCatalogWriter(Writer writer) throws IOException {
+        try {
+            this.generator = JSON_FACTORY.createGenerator(ObjectWriteContext.empty(), writer);
+            generator.writeStartArray();
+        } catch (JacksonException e) {
+            writer.close();
+            throw new IOException(e.getOriginalMessage(), e);
+        }
+    }
+
+    @Override
+    public void write(CatalogRecord record) throws IOException {
+        try {
+            generator.writeStartObject();
+            generator.writeStringProperty("title", record.title());
+            if (record.year() == null) generator.writeNullProperty("year");
+            else generator.writeNumberProperty("year", Integer.parseInt(record.year()));
+            generator.writeStringProperty("isbn10", record.isbn10());
+            generator.writeStringProperty("isbn13", record.isbn13());
+            generator.writeStringProperty("shelfMark", record.shelfMark());
+            writePersons("authors", record.authors());
+            writePersons("editors", record.editors());
+
+            if (record.publisher() == null && record.location() == null) {
+                generator.writeNullProperty("publisher");
+            } else {
+                generator.writeName("publisher");
+                generator.writeStartObject();
+                generator.writeStringProperty("name", record.publisher());
+                generator.writeStringProperty("location", record.location());
+                generator.writeEndObject();
+            }
+            generator.writeEndObject();
+
+        } catch (JacksonException e) {
+            throw new IOException(e.getOriginalMessage(), e);
+        }
+    }
+
+    private void writePersons(String name, List<Person> persons) {
+        generator.writeName(name);
+        generator.writeStartArray();
+        for (Person person : persons) {
+            generator.writeStartObject();
+            generator.writeStringProperty("lastName", person.getLastName());
+            generator.writeStringProperty("firstNames", person.getFirstNames());
+            generator.writeEndObject();
+        }
+        generator.writeEndArray();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            generator.writeEndArray();
+            generator.close();
+        } catch (JacksonException e) {
+            throw new IOException(e.getOriginalMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package io.github.scrvrdn.inventory.services.utility.impl;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import io.github.scrvrdn.inventory.services.startup.DeferredStartupTask;
+
+/**
+ * Runs {@code PRAGMA quick_check} on a reader connection, which does not block the writer, and logs
+ * any problem it finds. It reads every page of the database, so it goes last.
+ */
+@Service
+@Order(4)
+public class StartupIntegrityCheckServiceImpl implements DeferredStartupTask {
+
+    private static final Logger LOG = LoggerFactory.getLogger(StartupIntegrityCheckServiceImpl.class);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public StartupIntegrityCheckServiceImpl(@Qualifier("readerJdbcTemplate") final JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public String getName() {
+        return "Integrity check";
+    }
+
+    @Override
+    public void run() {
+        List<String> result = jdbcTemplate.queryForList("PRAGMA quick_check;", String.class);
+        if (!result.equals(List.of("ok"))) {
+            LOG.warn("Integrity check found problems in the database: {}", result);
+        }
+    }
+}
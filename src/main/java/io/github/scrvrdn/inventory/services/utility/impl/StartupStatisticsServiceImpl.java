@@ -0,0 +1,35 @@
+package io.github.scrvrdn.inventory.services.utility.impl;
+
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import io.github.scrvrdn.inventory.services.startup.DeferredStartupTask;
+
+/**
+ * Lets SQLite refresh the planner statistics of the tables that changed noticeably since they were last analyzed.
+ * Runs after the orphan cleanup, whose deletes it should see. The analysis limit keeps a run on a large
+ * catalog short.
+ */
+@Service
+@Order(3)
+public class StartupStatisticsServiceImpl implements DeferredStartupTask {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public StartupStatisticsServiceImpl(final JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public String getName() {
+        return "Planner statistics";
+    }
+
+    @Override
+    public void run() {
+        jdbcTemplate.execute("PRAGMA analysis_limit = 1000;");
+        // 0x10000 checks every table, not only those queried on this connection
+        jdbcTemplate.execute("PRAGMA optimize = 0x10002;");
+    }
+}
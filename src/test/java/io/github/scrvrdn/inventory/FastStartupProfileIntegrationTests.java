@@ -0,0 +1,28 @@
+package io.github.scrvrdn.inventory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.context.ActiveProfiles;
+
+@SpringBootTest
+@ActiveProfiles({"test", "fast-startup"})
+public class FastStartupProfileIntegrationTests {
+
+    private final ConfigurableApplicationContext context;
+
+    @Autowired
+    public FastStartupProfileIntegrationTests(final ConfigurableApplicationContext context) {
+        this.context = context;
+    }
+
+    @Test
+    public void testThatOnlyTheSchemaIsCreatedUpFront() {
+        assertThat(context.getBeanFactory().containsSingleton("databaseInitializer")).isTrue();
+        assertThat(context.getBeanFactory().containsSingleton("exportServiceImpl")).isFalse();
+        assertThat(context.getBeanFactory().containsSingleton("entryServiceImpl")).isFalse();
+    }
+}
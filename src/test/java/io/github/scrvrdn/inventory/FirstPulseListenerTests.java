@@ -0,0 +1,40 @@
+package io.github.scrvrdn.inventory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import javafx.scene.Scene;
+
+public class FirstPulseListenerTests {
+
+    @Test
+    public void testThatActionRunsOnceAndListenerIsRemovedAfterThePulse() {
+        Scene scene = mock(Scene.class);
+        List<Runnable> fxThread = new ArrayList<>();
+        AtomicInteger runs = new AtomicInteger();
+
+        FirstPulseListener.register(scene, runs::incrementAndGet, fxThread::add);
+
+        ArgumentCaptor<Runnable> listener = ArgumentCaptor.forClass(Runnable.class);
+        verify(scene).addPostLayoutPulseListener(listener.capture());
+
+        // two pulses before the removal gets its turn on the FX thread
+        listener.getValue().run();
+        listener.getValue().run();
+
+        assertThat(runs).hasValue(1);
+        verify(scene, never()).removePostLayoutPulseListener(listener.getValue());
+
+        fxThread.forEach(Runnable::run);
+        verify(scene).removePostLayoutPulseListener(listener.getValue());
+    }
+}
@@ -0,0 +1,58 @@
+package io.github.scrvrdn.inventory.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.scrvrdn.inventory.dto.CacheStats;
+
+public class LruCacheTests {
+
+    @Test
+    public void testThatEvictsLeastRecentlyUsedEntry() {
+        LruCache<String, Integer> underTest = new LruCache<>(2);
+        underTest.put("a", 1, underTest.generation());
+        underTest.put("b", 2, underTest.generation());
+        underTest.get("a");
+        underTest.put("c", 3, underTest.generation());
+
+        assertThat(underTest.get("a")).contains(1);
+        assertThat(underTest.get("b")).isEmpty();
+        assertThat(underTest.get("c")).contains(3);
+        assertThat(underTest.stats()).isEqualTo(new CacheStats(3, 1, 2, 2));
+    }
+
+    @Test
+    public void testThatContainsDoesNotCountOrRefreshEntry() {
+        LruCache<String, Integer> underTest = new LruCache<>(2);
+        underTest.put("a", 1, underTest.generation());
+        underTest.put("b", 2, underTest.generation());
+        assertThat(underTest.contains("a")).isTrue();
+        underTest.put("c", 3, underTest.generation());
+
+        assertThat(underTest.contains("a")).isFalse();
+        assertThat(underTest.stats()).isEqualTo(new CacheStats(0, 0, 2, 2));
+    }
+
+    @Test
+    public void testThatValuesFromBeforeClearAreNotCached() {
+        LruCache<String, Integer> underTest = new LruCache<>(2);
+        long generation = underTest.generation();
+        underTest.clear();
+        underTest.put("a", 1, generation);
+
+        assertThat(underTest.get("a")).isEmpty();
+    }
+
+    @Test
+    public void testThatValuesFromBeforeRemoveAreNotCached() {
+        LruCache<String, Integer> underTest = new LruCache<>(2);
+        underTest.put("a", 1, underTest.generation());
+        long generation = underTest.generation();
+        underTest.remove("b");
+        underTest.put("b", 2, generation);
+
+        assertThat(underTest.get("a")).contains(1);
+        assertThat(underTest.get("b")).isEmpty();
+    }
+}
@@ -0,0 +1,97 @@
+package io.github.scrvrdn.inventory.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import io.github.scrvrdn.inventory.dto.FlatEntryDto;
+import io.github.scrvrdn.inventory.dto.PageRequest;
+import io.github.scrvrdn.inventory.services.facade.EntryService;
+
+/**
+ * Runs the prod pools on a database file and checks the pragmas that reach their connections
+ * and that reads stay off the writer connection.
+ */
+@SpringBootTest
+@ActiveProfiles("prod")
+public class InventoryConfigIntegrationTests {
+
+    private final DataSource dataSource;
+    private final JdbcTemplate writer;
+    private final JdbcTemplate reader;
+    private final EntryService entryService;
+
+    @Autowired
+    public InventoryConfigIntegrationTests(final DataSource dataSource, @Qualifier("readerDataSource") final DataSource readerDataSource, final EntryService entryService) {
+        this.dataSource = dataSource;
+        this.writer = new JdbcTemplate(dataSource);
+        this.reader = new JdbcTemplate(readerDataSource);
+        this.entryService = entryService;
+    }
+
+    @DynamicPropertySource
+    static void databaseFile(DynamicPropertyRegistry registry) {
+        try {
+            Path dir = Files.createTempDirectory("inventory-config");
+            registry.add("app.db.path", () -> dir.resolve("database.db").toString());
+            registry.add("app.db.slow-query.log-dir", dir::toString);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Test
+    public void testThatWriterConnectionGetsPragmas() {
+        assertPragmas(writer);
+        assertThat(writer.queryForObject("PRAGMA query_only;", Integer.class)).isZero();
+    }
+
+    @Test
+    public void testThatReaderConnectionsGetPragmasAndAreReadOnly() {
+        assertPragmas(reader);
+        assertThat(reader.queryForObject("PRAGMA query_only;", Integer.class)).isEqualTo(1);
+    }
+
+    @Test
+    public void testThatPagingDoesNotBorrowWriterConnection() throws Exception {
+        long bookId = entryService.createEmptyEntry().map(FlatEntryDto::bookId).orElseThrow();
+        PageRequest request = new PageRequest(0, 10, null, "b.\"id\"", "ASC", false);
+
+        // the writer pool has one connection, so any page query that needs it blocks until it is returned
+        try (Connection held = dataSource.getConnection()) {
+            CompletableFuture.runAsync(() -> {
+                entryService.getPage(request);
+                entryService.getNextPage(null, request);
+                entryService.getPreviousPage(null, request);
+                entryService.getLastPage(request);
+                entryService.getPageWithBook(bookId, request);
+                entryService.numberOfRows();
+            }).get(5, TimeUnit.SECONDS);
+        }
+    }
+
+    private void assertPragmas(JdbcTemplate jdbcTemplate) {
+        assertThat(jdbcTemplate.queryForObject("PRAGMA foreign_keys;", Integer.class)).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject("PRAGMA journal_mode;", String.class)).isEqualToIgnoringCase("wal");
+        // NORMAL
+        assertThat(jdbcTemplate.queryForObject("PRAGMA synchronous;", Integer.class)).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject("PRAGMA busy_timeout;", Integer.class)).isEqualTo(5000);
+    }
+}
@@ -0,0 +1,65 @@
+package io.github.scrvrdn.inventory.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.jdbc.JdbcTestUtils;
+
+import io.github.scrvrdn.inventory.dto.MethodStats;
+import io.github.scrvrdn.inventory.exceptions.BookNotFoundException;
+import io.github.scrvrdn.inventory.services.facade.EntryService;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class MetricsIntegrationTests {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntryService entryService;
+    private final MetricsRegistry metricsRegistry;
+
+    @Autowired
+    public MetricsIntegrationTests(JdbcTemplate jdbcTemplate, EntryService entryService, MetricsRegistry metricsRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entryService = entryService;
+        this.metricsRegistry = metricsRegistry;
+    }
+
+    @BeforeEach
+    public void setup() {
+        JdbcTestUtils.deleteFromTables(jdbcTemplate, "books", "persons", "publishers", "book_person", "published");
+        metricsRegistry.reset();
+    }
+
+    @Test
+    public void testThatServiceAndRepositoryCallsAreRecorded() {
+        entryService.createEmptyEntry();
+        entryService.createEmptyEntry();
+        entryService.getAllFlatEntryDtos();
+
+        List<MethodStats> stats = metricsRegistry.snapshot();
+        assertThat(stats).filteredOn(s -> s.method().equals("EntryServiceImpl.createEmptyEntry"))
+            .singleElement()
+            .satisfies(s -> assertThat(s.calls()).isEqualTo(2));
+        assertThat(stats).filteredOn(s -> s.method().equals("EntryViewRepositoryImpl.getAllFlatEntryDtos"))
+            .singleElement()
+            .satisfies(s -> assertThat(s.rows()).isEqualTo(2));
+        assertThat(stats).extracting(MethodStats::method).contains("BookRepositoryImpl.create");
+    }
+
+    @Test
+    public void testThatFailedCallsAreCountedAsErrors() {
+        assertThatThrownBy(() -> entryService.delete(-1L)).isInstanceOf(BookNotFoundException.class);
+
+        assertThat(metricsRegistry.snapshot()).filteredOn(s -> s.method().equals("EntryServiceImpl.delete"))
+            .singleElement()
+            .satisfies(s -> assertThat(s.errors()).isEqualTo(1));
+    }
+}
@@ -0,0 +1,62 @@
+package io.github.scrvrdn.inventory.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.github.scrvrdn.inventory.dto.MethodStats;
+
+public class MetricsRegistryTests {
+
+    @Test
+    public void testThatPercentilesAreWithinBucketPrecision() {
+        LatencyHistogram underTest = new LatencyHistogram();
+        for (long micros = 1; micros <= 1000; micros++) {
+            underTest.record(micros);
+        }
+
+        assertThat(underTest.percentile(50)).isBetween(500L, 500L + 500 / 8);
+        assertThat(underTest.percentile(99)).isBetween(990L, 990L + 990 / 8);
+        assertThat(underTest.percentile(100)).isBetween(1000L, 1000L + 1000 / 8);
+        assertThat(new LatencyHistogram().percentile(50)).isZero();
+    }
+
+    @Test
+    public void testThatRecordsCallsRowsAndErrorsPerMethod() {
+        MetricsRegistry underTest = new MetricsRegistry();
+        underTest.record("B.find", 2_000_000, 3, false);
+        underTest.record("B.find", 4_000_000, 2, true);
+        underTest.record("A.count", 1_000, 0, false);
+
+        List<MethodStats> stats = underTest.snapshot();
+        assertThat(stats).extracting(MethodStats::method).containsExactly("A.count", "B.find");
+
+        MethodStats find = stats.get(1);
+        assertThat(find.calls()).isEqualTo(2);
+        assertThat(find.errors()).isEqualTo(1);
+        assertThat(find.rows()).isEqualTo(5);
+        assertThat(find.p99Millis()).isBetween(4.0, 4.5);
+        assertThat(find.maxMillis()).isEqualTo(4.0);
+    }
+
+    @Test
+    public void testThatDumpWritesOneLinePerMethod(@TempDir Path dir) throws IOException {
+        MetricsRegistry underTest = new MetricsRegistry();
+        underTest.record("A.count", 1_000, 0, false);
+        underTest.record("B.find", 1_000, 1, false);
+
+        Path file = dir.resolve("metrics.txt");
+        underTest.dump(file);
+
+        List<String> lines = Files.readAllLines(file);
+        assertThat(lines).hasSize(4);
+        assertThat(lines.get(2)).startsWith("A.count");
+        assertThat(lines.get(3)).startsWith("B.find");
+    }
+}
@@ -0,0 +1,67 @@
+package io.github.scrvrdn.inventory.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class SlowQueryLogIntegrationTests {
+
+    private static final String QUERY = """
+            SELECT b."id", b."title"
+            FROM "flat_entries" b
+            WHERE b."id" IN (SELECT "value" FROM json_each(?))
+            ORDER BY "title" COLLATE NOCASE ASC, b."id" ASC
+            LIMIT ?;
+            """;
+
+    private final DataSource dataSource;
+
+    @TempDir
+    private Path logDir;
+
+    @Autowired
+    public SlowQueryLogIntegrationTests(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    @Test
+    public void testThatQueriesOverTheThresholdAreLoggedWithTheirPlan() throws IOException {
+        SlowQueryLog slowQueryLog = new SlowQueryLog(0, logDir);
+        JdbcTemplate underTest = new SlowQueryLoggingJdbcTemplate(dataSource, slowQueryLog);
+
+        underTest.queryForList(QUERY, "[1,2,3]", 10);
+        slowQueryLog.destroy();
+
+        String log = Files.readString(logDir.resolve("slow-queries.0.log"));
+        assertThat(log)
+            .contains("slow query: ", " 0 rows")
+            .contains("FROM \"flat_entries\" b")
+            .contains("parameters: [String(7), Integer]")
+            .contains("QUERY PLAN\n|--")
+            .doesNotContain("[1,2,3]");
+    }
+
+    @Test
+    public void testThatNothingIsLoggedBelowTheThreshold() {
+        SlowQueryLog slowQueryLog = new SlowQueryLog(-1, logDir);
+        JdbcTemplate underTest = new SlowQueryLoggingJdbcTemplate(dataSource, slowQueryLog);
+
+        underTest.queryForList(QUERY, "[1,2,3]", 10);
+        slowQueryLog.destroy();
+
+        assertThat(logDir).isEmptyDirectory();
+    }
+}
@@ -0,0 +1,68 @@
+package io.github.scrvrdn.inventory.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.groups.Tuple.tuple;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+
+import io.github.scrvrdn.inventory.dto.MethodStats;
+import javafx.scene.Scene;
+
+public class StartupTimelineTests {
+
+    @Test
+    public void testThatContextReadyAndFirstPageAreRecordedOnce() {
+        MetricsRegistry registry = new MetricsRegistry();
+        StartupTimeline underTest = new StartupTimeline(registry, false);
+
+        underTest.onApplicationEvent(mock(ApplicationReadyEvent.class));
+        underTest.firstPageShown(null);
+        underTest.firstPageShown(null);
+
+        assertThat(registry.snapshot())
+            .extracting(MethodStats::method, MethodStats::calls)
+            .containsExactly(
+                tuple("Startup.contextReady", 1L),
+                tuple("Startup.firstPage", 1L)
+            );
+        assertThat(registry.snapshot().get(1).maxMillis()).isGreaterThanOrEqualTo(registry.snapshot().get(0).maxMillis());
+    }
+
+    @Test
+    public void testThatFirstPageIsRecordedOnTheNextLayoutPulse() {
+        MetricsRegistry registry = new MetricsRegistry();
+        StartupTimeline underTest = new StartupTimeline(registry, false);
+        Scene scene = mock(Scene.class);
+        List<Runnable> fxThread = new ArrayList<>();
+
+        underTest.onApplicationEvent(mock(ApplicationReadyEvent.class));
+        underTest.firstPageShown(scene, fxThread::add);
+        underTest.firstPageShown(scene, fxThread::add);
+
+        ArgumentCaptor<Runnable> listener = ArgumentCaptor.forClass(Runnable.class);
+        verify(scene).addPostLayoutPulseListener(listener.capture());
+        assertThat(registry.snapshot()).extracting(MethodStats::method).containsExactly("Startup.contextReady");
+
+        listener.getValue().run();
+        listener.getValue().run();
+
+        assertThat(registry.snapshot())
+            .extracting(MethodStats::method, MethodStats::calls)
+            .containsExactly(
+                tuple("Startup.contextReady", 1L),
+                tuple("Startup.firstPage", 1L)
+            );
+        // removing a listener while the scene runs them would cut the pulse short
+        verify(scene, never()).removePostLayoutPulseListener(listener.getValue());
+        fxThread.forEach(Runnable::run);
+        verify(scene).removePostLayoutPulseListener(listener.getValue());
+    }
+}
@@ -0,0 +1,182 @@
+package io.github.scrvrdn.inventory.repositories;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Comparator;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.jdbc.JdbcTestUtils;
+
+import io.github.scrvrdn.inventory.TestDataUtil;
+import io.github.scrvrdn.inventory.dto.Book;
+import io.github.scrvrdn.inventory.dto.CacheStats;
+import io.github.scrvrdn.inventory.dto.FlatEntryDto;
+import io.github.scrvrdn.inventory.dto.FullEntryDto;
+import io.github.scrvrdn.inventory.dto.PageCursor;
+import io.github.scrvrdn.inventory.dto.PageRequest;
+import io.github.scrvrdn.inventory.events.EntriesChangedEvent;
+import io.github.scrvrdn.inventory.repositories.impl.ColumnarEntryViewRepositoryImpl;
+import io.github.scrvrdn.inventory.services.facade.EntryService;
+
+@SpringBootTest(properties = "app.entry-view.in-memory=true")
+@ActiveProfiles("test")
+public class ColumnarEntryViewRepositoryIntegrationTests {
+
+    private static final List<String> SORT_COLUMNS = List.of("b.\"id\"", "\"title\"", "\"year\"", "\"shelf_mark\"", "\"authors\"", "\"editors\"", "\"publisher\"");
+    private static final List<String> SEARCHES = List.of("poe", "burt qui", "978014", "cafe", "poetry tales", "a", "1984", "o'brien", "---");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntryService entryService;
+    private final EntryViewRepository underTest;
+    private final EntryViewRepository sqlRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    public ColumnarEntryViewRepositoryIntegrationTests(
+        JdbcTemplate jdbcTemplate,
+        EntryService entryService,
+        EntryViewRepository underTest,
+        @Qualifier("entryViewRepositoryImpl") EntryViewRepository sqlRepository,
+        ApplicationEventPublisher eventPublisher
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entryService = entryService;
+        this.underTest = underTest;
+        this.sqlRepository = sqlRepository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @BeforeEach
+    public void setup() {
+        JdbcTestUtils.deleteFromTables(jdbcTemplate, "books", "persons", "publishers", "book_person", "published");
+        eventPublisher.publishEvent(new EntriesChangedEvent(this));
+    }
+
+    @Test
+    public void testThatInMemoryRepositoryIsUsed() {
+        assertThat(underTest).isInstanceOf(ColumnarEntryViewRepositoryImpl.class);
+    }
+
+    @Test
+    public void testThatResultsMatchSqlRepository() {
+        prepareEntries();
+        assertSameResults();
+    }
+
+    @Test
+    public void testThatResultsMatchSqlRepositoryAfterWrites() {
+        List<Long> ids = prepareEntries();
+        assertSameResults();
+
+        FullEntryDto changed = TestDataUtil.createTestEntry2();
+        changed.getBook().setId(ids.get(0));
+        changed.getBook().setTitle("aardvark");
+        changed.getBook().setIsbn10(null);
+        changed.getBook().setIsbn13("9780140000000");
+        entryService.update(changed);
+        entryService.delete(ids.get(1));
+        entryService.createEmptyEntry();
+
+        assertSameResults();
+    }
+
+    @Test
+    public void testThatResultsMatchSqlRepositoryAfterBulkWrites() {
+        List<Long> ids = prepareEntries();
+        assertSameResults();
+
+        entryService.updateShelfMark(ids.subList(0, 3), "Z:z:1:1");
+        entryService.addAuthor(ids.subList(1, 4), TestDataUtil.createTestPerson4());
+        entryService.deleteAll(List.of(ids.get(4), ids.get(0)));
+
+        assertSameResults();
+    }
+
+    @Test
+    public void testThatSearchPagesAreServedFromCacheUntilNextWrite() {
+        prepareEntries();
+        PageRequest firstPage = new PageRequest(0, 1, "poe", "\"title\"", "ASC", false);
+        PageRequest secondPage = new PageRequest(1, 1, "poe", "\"title\"", "DESC", false);
+
+        CacheStats before = underTest.getSearchCacheStats();
+        underTest.getSortedAndFilteredEntries(firstPage);
+        underTest.getSortedAndFilteredEntries(secondPage);
+        CacheStats paged = underTest.getSearchCacheStats();
+        assertThat(paged.hits() - before.hits()).isEqualTo(1);
+        assertThat(paged.misses() - before.misses()).isEqualTo(1);
+
+        entryService.createEmptyEntry();
+        assertThat(underTest.getSearchCacheStats().size()).isZero();
+        underTest.getSortedAndFilteredEntries(firstPage);
+        assertThat(underTest.getSearchCacheStats().misses() - paged.misses()).isEqualTo(1);
+    }
+
+    private List<Long> prepareEntries() {
+        FullEntryDto entry1 = TestDataUtil.createTestEntry();
+        FullEntryDto entry2 = TestDataUtil.createTestEntry2();
+        FullEntryDto entry3 = TestDataUtil.createTestEntry();
+        entry3.setBook(TestDataUtil.createTestBook3());
+        FullEntryDto entry4 = TestDataUtil.createTestEntry2();
+        entry4.setBook(Book.builder().title("Café O'Brien").year(1984).shelfMark("a:b:1:1").build());
+        FullEntryDto entry5 = TestDataUtil.createTestEntry();
+        entry5.setBook(Book.builder().title("POETRY AND TALES").shelfMark("A:a:3:1").build());
+
+        List<FullEntryDto> entries = List.of(entry1, entry2, entry3, entry4, entry5);
+        for (FullEntryDto entry : entries) {
+            entry.getBook().setId(entryService.createEmptyEntry().orElseThrow().bookId());
+            entryService.update(entry);
+        }
+        entryService.createEmptyEntry();
+
+        return entries.stream().map(e -> e.getBook().getId()).toList();
+    }
+
+    private void assertSameResults() {
+        Comparator<FlatEntryDto> byId = Comparator.comparing(FlatEntryDto::bookId);
+        List<FlatEntryDto> all = sqlRepository.getAllFlatEntryDtos().stream().sorted(byId).toList();
+        assertThat(underTest.getAllFlatEntryDtos()).isEqualTo(all);
+        assertThat(underTest.getFlatEntryDtos(2, 1)).isEqualTo(sqlRepository.getFlatEntryDtos(2, 1));
+
+        for (FlatEntryDto entry : all) {
+            assertThat(underTest.getFlatEntryDtoByBookId(entry.bookId())).isEqualTo(sqlRepository.getFlatEntryDtoByBookId(entry.bookId()));
+            assertThat(underTest.getNextFlatEntryDtoAfterBookId(entry.bookId())).isEqualTo(sqlRepository.getNextFlatEntryDtoAfterBookId(entry.bookId()));
+        }
+
+        for (String sortBy : SORT_COLUMNS) {
+            for (String sortDir : List.of("ASC", "DESC")) {
+                for (boolean caseInsensitive : List.of(true, false)) {
+                    String description = sortBy + " " + sortDir + " " + caseInsensitive;
+
+                    for (int pageIndex = 0; pageIndex < 3; pageIndex++) {
+                        PageRequest request = new PageRequest(pageIndex, 2, null, sortBy, sortDir, caseInsensitive);
+                        assertThat(underTest.getSortedEntries(request)).as(description).isEqualTo(sqlRepository.getSortedEntries(request));
+                    }
+
+                    PageRequest request = new PageRequest(0, 2, null, sortBy, sortDir, caseInsensitive);
+                    for (FlatEntryDto entry : all) {
+                        PageCursor cursor = PageCursor.of(entry, sortBy);
+                        assertThat(underTest.getSortedEntriesAfter(cursor, request)).as(description).isEqualTo(sqlRepository.getSortedEntriesAfter(cursor, request));
+                        assertThat(underTest.getSortedEntriesBefore(cursor, request)).as(description).isEqualTo(sqlRepository.getSortedEntriesBefore(cursor, request));
+                        assertThat(underTest.findRow(entry.bookId(), request)).as(description).isEqualTo(sqlRepository.findRow(entry.bookId(), request));
+                    }
+
+                    for (String search : SEARCHES) {
+                        for (int pageIndex = 0; pageIndex < 3; pageIndex++) {
+                            PageRequest searchRequest = new PageRequest(pageIndex, 2, search, sortBy, sortDir, caseInsensitive);
+                            assertThat(underTest.getSortedAndFilteredEntries(searchRequest)).as(description + " " + search)
+                                .isEqualTo(sqlRepository.getSortedAndFilteredEntries(searchRequest));
+                        }
+                    }
+                }
+            }
+        }
+    }
+}
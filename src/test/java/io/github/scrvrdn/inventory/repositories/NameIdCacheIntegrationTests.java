@@ -0,0 +1,144 @@
+package io.github.scrvrdn.inventory.repositories;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.jdbc.JdbcTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.github.scrvrdn.inventory.TestDataUtil;
+import io.github.scrvrdn.inventory.dto.Book;
+import io.github.scrvrdn.inventory.dto.CacheStats;
+import io.github.scrvrdn.inventory.dto.Person;
+import io.github.scrvrdn.inventory.dto.Publisher;
+import io.github.scrvrdn.inventory.events.EntriesChangedEvent;
+import io.github.scrvrdn.inventory.services.cleanup.PersonCleanupService;
+import io.github.scrvrdn.inventory.services.cleanup.PublisherCleanupService;
+
+@SpringBootTest(properties = { "app.cache.person-ids-size=100", "app.cache.publisher-ids-size=100" })
+@ActiveProfiles("test")
+public class NameIdCacheIntegrationTests {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PersonRepository personRepository;
+    private final PublisherRepository publisherRepository;
+    private final BookRepository bookRepository;
+    private final BookPersonRepository bookPersonRepository;
+    private final PersonCleanupService personCleanupService;
+    private final PublisherCleanupService publisherCleanupService;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    public NameIdCacheIntegrationTests(
+        final JdbcTemplate jdbcTemplate,
+        final PersonRepository personRepository,
+        final PublisherRepository publisherRepository,
+        final BookRepository bookRepository,
+        final BookPersonRepository bookPersonRepository,
+        final PersonCleanupService personCleanupService,
+        final PublisherCleanupService publisherCleanupService,
+        final TransactionTemplate transactionTemplate,
+        final ApplicationEventPublisher eventPublisher
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.personRepository = personRepository;
+        this.publisherRepository = publisherRepository;
+        this.bookRepository = bookRepository;
+        this.bookPersonRepository = bookPersonRepository;
+        this.personCleanupService = personCleanupService;
+        this.publisherCleanupService = publisherCleanupService;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @BeforeEach
+    public void setup() {
+        JdbcTestUtils.deleteFromTables(jdbcTemplate, "books", "persons", "publishers", "book_person", "published");
+        eventPublisher.publishEvent(new EntriesChangedEvent(this));
+    }
+
+    @Test
+    public void testThatKnownNamesAreResolvedFromCache() {
+        Person first = TestDataUtil.createTestPerson();
+        personRepository.create(first);
+        CacheStats before = personRepository.getIdCacheStats();
+
+        Person second = TestDataUtil.createTestPerson();
+        personRepository.createAll(List.of(second));
+
+        assertThat(second.getId()).isEqualTo(first.getId());
+        assertThat(personRepository.getIdCacheStats().hits()).isEqualTo(before.hits() + 1);
+    }
+
+    @Test
+    public void testThatNamesInsertedByRolledBackTransactionAreNotCached() {
+        transactionTemplate.executeWithoutResult(status -> {
+            personRepository.create(TestDataUtil.createTestPerson());
+            status.setRollbackOnly();
+        });
+        assertThat(personRepository.getIdCacheStats().size()).isZero();
+
+        Person person = TestDataUtil.createTestPerson();
+        personRepository.create(person);
+
+        assertThat(personRepository.findById(person.getId())).contains(person);
+    }
+
+    @Test
+    public void testThatCleanupEvictsDeletedNames() {
+        Person person = TestDataUtil.createTestPerson();
+        personRepository.create(person);
+        Publisher publisher = TestDataUtil.createTestPublisher();
+        publisherRepository.create(publisher);
+
+        personCleanupService.cleanupUnusedPersons();
+        publisherCleanupService.cleanupUnusedPublishers();
+
+        Person recreatedPerson = TestDataUtil.createTestPerson();
+        personRepository.create(recreatedPerson);
+        Publisher recreatedPublisher = TestDataUtil.createTestPublisher();
+        publisherRepository.create(recreatedPublisher);
+
+        assertThat(personRepository.findById(recreatedPerson.getId())).contains(recreatedPerson);
+        assertThat(publisherRepository.findById(recreatedPublisher.getId())).contains(recreatedPublisher);
+    }
+
+    @Test
+    public void testThatRenamedPersonIsNotResolvedByOldName() {
+        Person person = TestDataUtil.createTestPerson();
+        personRepository.create(person);
+        Person renamed = Person.builder().id(person.getId()).lastName("Renamed").firstNames(person.getFirstNames()).build();
+        personRepository.update(renamed);
+
+        Person oldName = TestDataUtil.createTestPerson();
+        personRepository.create(oldName);
+
+        assertThat(oldName.getId()).isNotEqualTo(person.getId());
+    }
+
+    @Test
+    public void testThatWarmUpLoadsMostUsedNames() {
+        Person author = TestDataUtil.createTestPerson();
+        personRepository.create(author);
+        Book book = TestDataUtil.createTestBook();
+        bookRepository.create(book);
+        bookPersonRepository.assignAuthorsToBook(book.getId(), List.of(author.getId()));
+        eventPublisher.publishEvent(new EntriesChangedEvent(this));
+
+        personRepository.warmUpIdCache();
+        CacheStats warmed = personRepository.getIdCacheStats();
+        personRepository.create(TestDataUtil.createTestPerson());
+
+        assertThat(warmed.size()).isEqualTo(1);
+        assertThat(personRepository.getIdCacheStats().hits()).isEqualTo(warmed.hits() + 1);
+    }
+}
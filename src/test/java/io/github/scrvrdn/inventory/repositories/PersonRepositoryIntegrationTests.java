@@ -11,6 +11,7 @@ import io.github.scrvrdn.inventory.dto.Person;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -72,6 +73,28 @@ public class PersonRepositoryIntegrationTests {
                 .containsExactly(person1, person2, person3, person4);
     }
 
+    @Test
+    public void testThatPersonsWithMissingNamePartAreNotDuplicated() {
+        Person person1 = Person.builder().lastName("Homer").build();
+        Person person2 = Person.builder().lastName("Homer").build();
+        underTest.create(person1);
+        underTest.createAll(List.of(person2, TestDataUtil.createTestPerson()));
+
+        assertThat(person2.getId()).isEqualTo(person1.getId());
+        assertThat(JdbcTestUtils.countRowsInTable(jdbcTemplate, "persons")).isEqualTo(2);
+    }
+
+    @Test
+    public void testThatLongListsAreResolvedInGroups() {
+        List<Person> persons = new ArrayList<>();
+        for (int i = 0; i < 1_200; i++) persons.add(Person.builder().lastName("Person " + i % 1_100).firstNames(i % 3 == 0 ? null : "A.").build());
+        underTest.createAll(persons.subList(0, 600));
+        underTest.createAll(persons);
+
+        assertThat(persons).allSatisfy(person -> assertThat(underTest.findById(person.getId())).contains(person));
+        assertThat(JdbcTestUtils.countRowsInTable(jdbcTemplate, "persons")).isEqualTo(persons.stream().map(Person::toString).distinct().count());
+    }
+
     
 
     
@@ -1,5 +1,6 @@
 package io.github.scrvrdn.inventory.repositories.impl;
 
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.argThat;
@@ -13,6 +14,7 @@ import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.Map;
+import java.util.Set;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -26,6 +28,8 @@ import org.springframework.jdbc.support.KeyHolder;
 
 import io.github.scrvrdn.inventory.TestDataUtil;
 import io.github.scrvrdn.inventory.dto.Book;
+import io.github.scrvrdn.inventory.dto.FullEntryDto;
+import io.github.scrvrdn.inventory.exceptions.BookNotFoundException;
 import io.github.scrvrdn.inventory.mappers.BookRowMapper;
 
 @ExtendWith(MockitoExtension.class)
@@ -128,6 +132,32 @@ public class BookRepositoryImplTests {
         );  
     }
 
+    @Test
+    public void testThatUpdateFieldsOnlySetsGivenColumns() {
+        Book book = TestDataUtil.createTestBook();
+        book.setId(1L);
+
+        String expectedSql = """
+                UPDATE "books"
+                SET "title" = ?, "shelf_mark" = ?
+                WHERE "id" = ?;
+                """;
+        when(jdbcTemplate.update(expectedSql, book.getTitle(), book.getShelfMark(), book.getId())).thenReturn(1);
+
+        underTest.updateFields(book, Set.of(FullEntryDto.SHELF_MARK, FullEntryDto.TITLE));
+
+        verify(jdbcTemplate).update(expectedSql, book.getTitle(), book.getShelfMark(), book.getId());
+    }
+
+    @Test
+    public void testThatUpdateFieldsThrowsWhenBookDoesNotExist() {
+        Book book = TestDataUtil.createTestBook();
+        book.setId(1L);
+
+        assertThatThrownBy(() -> underTest.updateFields(book, Set.of(FullEntryDto.YEAR)))
+            .isInstanceOf(BookNotFoundException.class);
+    }
+
     @Test
     public void testThatDeleteGeneratesCorrectSql() {
         long id = 1L;
@@ -1,22 +1,31 @@
 package io.github.scrvrdn.inventory.repositories.impl;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.List;
 
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
 
 import io.github.scrvrdn.inventory.TestDataUtil;
+import io.github.scrvrdn.inventory.dto.CacheStats;
+import io.github.scrvrdn.inventory.dto.FullEntryDto;
+import io.github.scrvrdn.inventory.dto.PageCursor;
 import io.github.scrvrdn.inventory.dto.PageRequest;
+import io.github.scrvrdn.inventory.events.EntriesChangedEvent;
 import io.github.scrvrdn.inventory.mappers.EntryDtoExtractor;
 import io.github.scrvrdn.inventory.mappers.EntryDtoListExtractor;
 import io.github.scrvrdn.inventory.mappers.FlatEntryDtoRowMapper;
@@ -36,9 +45,13 @@ public class EntryViewRepositoryImplTests {
     @Mock
     private FlatEntryDtoRowMapper flatEntryDtoRowMapper;
 
-    @InjectMocks
     private EntryViewRepositoryImpl underTest;
 
+    @BeforeEach
+    public void setup() {
+        underTest = new EntryViewRepositoryImpl(jdbcTemplate, entryDtoExtractor, flatEntryDtoRowMapper, entryDtoListExtractor, 8, 8);
+    }
+
     @Test
     public void testThatFindByIdGeneratesCorrectSql() {
         long bookId = 1L;
@@ -88,26 +101,9 @@ public class EntryViewRepositoryImplTests {
         long bookId = 1L;
 
         String expectedSql = """
-                SELECT
-                    b."id", b."title", b."year", b."shelf_mark",
-                    GROUP_CONCAT(
-                        CASE WHEN "book_person"."role" = 'AUTHOR' THEN CONCAT_WS(', ', p."last_name", p."first_names") END, '; ' ORDER BY "book_person"."order_index"
-                    ) AS "authors",
-                    GROUP_CONCAT(
-                        CASE WHEN "book_person"."role" = 'EDITOR' THEN CONCAT_WS(', ', p."last_name", p."first_names") END, '; ' ORDER BY "book_person"."order_index"    
-                    ) AS "editors",
-                    CASE
-                        WHEN "publishers"."location" IS NULL AND "publishers"."name" IS NULL
-                        THEN NULL
-                        ELSE CONCAT_WS(': ', "publishers"."location", "publishers"."name")
-                    END AS "publisher"
-                FROM "books" b
-                LEFT JOIN "book_person" ON b."id" = "book_person"."book_id"
-                LEFT JOIN "persons" p ON "book_person"."person_id" = p."id"
-                LEFT JOIN "published" ON b."id" = "published"."book_id"
-                LEFT JOIN "publishers" ON "published"."publisher_id" = "publishers"."id"
-                WHERE b."id" = ?
-                GROUP BY b."id";
+                SELECT "id", "title", "year", "shelf_mark", "authors", "editors", "publisher"
+                FROM "flat_entries"
+                WHERE "id" = ?;
                 """;
             
             underTest.getFlatEntryDtoByBookId(bookId);
@@ -119,27 +115,10 @@ public class EntryViewRepositoryImplTests {
         long bookId = 1L;
         
         String expectedSql = """
-                SELECT
-                    b."id", b."title", b."year", b."shelf_mark",
-                    GROUP_CONCAT(
-                        CASE WHEN "book_person"."role" = 'AUTHOR' THEN CONCAT_WS(', ', p."last_name", p."first_names") END, '; ' ORDER BY "book_person"."order_index"
-                    ) AS "authors",
-                    GROUP_CONCAT(
-                        CASE WHEN "book_person"."role" = 'EDITOR' THEN CONCAT_WS(', ', p."last_name", p."first_names") END, '; ' ORDER BY "book_person"."order_index"    
-                    ) AS "editors",
-                    CASE
-                        WHEN "publishers"."location" IS NULL AND "publishers"."name" IS NULL
-                        THEN NULL
-                        ELSE CONCAT_WS(': ', "publishers"."location", "publishers"."name")
-                    END AS "publisher"
-                FROM "books" b
-                LEFT JOIN "book_person" ON b."id" = "book_person"."book_id"
-                LEFT JOIN "persons" p ON "book_person"."person_id" = p."id"
-                LEFT JOIN "published" ON b."id" = "published"."book_id"
-                LEFT JOIN "publishers" ON "published"."publisher_id" = "publishers"."id"
-                WHERE b."id" > ?
-                GROUP BY b."id"
-                ORDER BY b."id"
+                SELECT "id", "title", "year", "shelf_mark", "authors", "editors", "publisher"
+                FROM "flat_entries"
+                WHERE "id" > ?
+                ORDER BY "id"
                 LIMIT 1;
                 """;
 
@@ -150,26 +129,9 @@ public class EntryViewRepositoryImplTests {
     @Test
     public void testThatGetFlatEntryDtosGeneratesCorrectSql() {
         String expectedSql = """
-                SELECT
-                    b."id", b."title", b."year", b."shelf_mark",
-                    GROUP_CONCAT(
-                        CASE WHEN "book_person"."role" = 'AUTHOR' THEN CONCAT_WS(', ', p."last_name", p."first_names") END, '; ' ORDER BY "book_person"."order_index"
-                    ) AS "authors",
-                    GROUP_CONCAT(
-                        CASE WHEN "book_person"."role" = 'EDITOR' THEN CONCAT_WS(', ', p."last_name", p."first_names") END, '; ' ORDER BY "book_person"."order_index"
-                    ) AS "editors",
-                    CASE
-                        WHEN "publishers"."location" IS NULL AND "publishers"."name" IS NULL
-                        THEN NULL
-                        ELSE CONCAT_WS(': ', "publishers"."location", "publishers"."name")
-                    END AS "publisher"
-                FROM "books" b
-                LEFT JOIN "book_person" ON b."id" = "book_person"."book_id"
-                LEFT JOIN "persons" p ON "book_person"."person_id" = p."id"
-                LEFT JOIN "published" ON b."id" = "published"."book_id"
-                LEFT JOIN "publishers" ON "published"."publisher_id" = "publishers"."id"
-                GROUP BY b."id"
-                ORDER BY b."id"
+                SELECT "id", "title", "year", "shelf_mark", "authors", "editors", "publisher"
+                FROM "flat_entries"
+                ORDER BY "id"
                 LIMIT ?
                 OFFSET ?;
                 """;
@@ -183,28 +145,11 @@ public class EntryViewRepositoryImplTests {
     @Test
     public void testThatGetSortedEntriesGeneratesCorrectSql() {
         String expectedSql = """
-            SELECT
-                b."id", b."title" AS "title", b."year" AS "year", b."shelf_mark" AS "shelf_mark",
-                GROUP_CONCAT(
-                    CASE WHEN "book_person"."role" = 'AUTHOR' THEN CONCAT_WS(', ', p."last_name", p."first_names") END, '; ' ORDER BY "book_person"."order_index"
-                ) AS "authors",
-                GROUP_CONCAT(
-                    CASE WHEN "book_person"."role" = 'EDITOR' THEN CONCAT_WS(', ', p."last_name", p."first_names") END, '; ' ORDER BY "book_person"."order_index"
-                ) AS "editors",
-                CASE
-                    WHEN "publishers"."location" IS NULL AND "publishers"."name" IS NULL
-                    THEN NULL
-                    ELSE CONCAT_WS(': ', "publishers"."location", "publishers"."name")
-                END AS "publisher"
-            FROM "books" b
-            LEFT JOIN "book_person" ON b."id" = "book_person"."book_id"
-            LEFT JOIN "persons" p ON "book_person"."person_id" = p."id"
-            LEFT JOIN "published" ON b."id" = "published"."book_id"
-            LEFT JOIN "publishers" ON "published"."publisher_id" = "publishers"."id"
-            GROUP BY b."id"
+            SELECT b."id", b."title", b."year", b."shelf_mark", b."authors", b."editors", b."publisher"
+            FROM "flat_entries" b
             ORDER BY "authors" COLLATE NOCASE DESC, b."id" DESC
             LIMIT ? OFFSET ?;
-        """;
+                """;
 
         int pageIndex = 0;
         int pageSize = 10;
@@ -220,6 +165,61 @@ public class EntryViewRepositoryImplTests {
             
     }
 
+    @Test
+    public void testThatGetSortedEntriesAfterGeneratesSeekSql() {
+        String expectedSql = """
+            SELECT b."id", b."title", b."year", b."shelf_mark", b."authors", b."editors", b."publisher"
+            FROM "flat_entries" b
+            WHERE ("authors" COLLATE NOCASE, b."id") > (?, ?)
+            ORDER BY "authors" COLLATE NOCASE ASC, b."id" ASC
+            LIMIT ?;
+                """;
+
+        PageRequest request = new PageRequest(3, 10, null, "\"authors\"", "ASC", true);
+        PageCursor cursor = new PageCursor("Poe, Edgar Allan", 7L);
+        underTest.getSortedEntriesAfter(cursor, request);
+
+        verify(jdbcTemplate).query(
+            argThat(TestDataUtil.sqlEquals(expectedSql)),
+            eq(flatEntryDtoRowMapper),
+            eq(new Object[] {"Poe, Edgar Allan", 7L, 10})
+        );
+    }
+
+    @Test
+    public void testThatGetSortedEntriesAfterReadsNullKeysSeparately() {
+        String expectedSql1 = """
+            SELECT b."id", b."title", b."year", b."shelf_mark", b."authors", b."editors", b."publisher"
+            FROM "flat_entries" b
+            WHERE "year" IS NULL AND b."id" > ?
+            ORDER BY "year" ASC, b."id" ASC
+            LIMIT ?;
+                """;
+
+        String expectedSql2 = """
+            SELECT b."id", b."title", b."year", b."shelf_mark", b."authors", b."editors", b."publisher"
+            FROM "flat_entries" b
+            WHERE "year" IS NOT NULL
+            ORDER BY "year" ASC, b."id" ASC
+            LIMIT ?;
+                """;
+
+        PageRequest request = new PageRequest(3, 10, null, "\"year\"", "ASC", false);
+        PageCursor cursor = new PageCursor(null, 7L);
+        underTest.getSortedEntriesAfter(cursor, request);
+
+        verify(jdbcTemplate).query(
+            argThat(TestDataUtil.sqlEquals(expectedSql1)),
+            eq(flatEntryDtoRowMapper),
+            eq(new Object[] {7L, 10})
+        );
+        verify(jdbcTemplate).query(
+            argThat(TestDataUtil.sqlEquals(expectedSql2)),
+            eq(flatEntryDtoRowMapper),
+            eq(new Object[] {10})
+        );
+    }
+
     @Test
     public void testThatFilterAndSortGeneratesCorrectSql() {
         String filterSql = getFilteredEntriesSql();
@@ -227,14 +227,13 @@ public class EntryViewRepositoryImplTests {
         int pageSize = 10;
         int pageIndex = 0;
        
-        Object[] params = {"%edgar%", "%edgar%", "%edgar%", "%edgar%", "%edgar%", "%edgar%", "%edgar%", "%edgar%", "%edgar%",
-                            "%poe%", "%poe%", "%poe%", "%poe%", "%poe%", "%poe%", "%poe%", "%poe%", "%poe%"};
+        Object[] params = {"\"edgar\"* AND \"poe\"*"};
 
         List<Long> filteredIds = List.of(1L, 2L);
         when(jdbcTemplate.queryForList(anyString(), eq(Long.class), eq(params))).thenReturn(filteredIds);
         
         PageRequest request = new PageRequest(pageIndex, pageSize, "edgar poe", "\"authors\"", "ASC", true);
-        Object[] params2 = {1L, 2L, request.pageSize(), request.pageIndex() * request.pageSize()};
+        Object[] params2 = {"[1,2]", request.pageSize(), request.pageIndex() * request.pageSize()};
 
         underTest.getSortedAndFilteredEntries(request);
         
@@ -246,61 +245,72 @@ public class EntryViewRepositoryImplTests {
         );
     }
 
+    @Test
+    public void testThatRepeatedSearchIsServedFromCacheUntilEntriesChange() {
+        Object[] params = {"\"edgar\"* AND \"poe\"*"};
+        when(jdbcTemplate.queryForList(anyString(), eq(Long.class), eq(params))).thenReturn(List.of(1L, 2L));
+
+        underTest.getSortedAndFilteredEntries(new PageRequest(0, 1, "edgar poe", "\"authors\"", "ASC", true));
+        underTest.getSortedAndFilteredEntries(new PageRequest(1, 1, "Edgar  Poe", "\"authors\"", "ASC", true));
+        verify(jdbcTemplate, times(1)).queryForList(anyString(), eq(Long.class), eq(params));
+
+        underTest.onEntriesChanged(new EntriesChangedEvent(this));
+        underTest.getSortedAndFilteredEntries(new PageRequest(0, 1, "edgar poe", "\"authors\"", "ASC", true));
+        verify(jdbcTemplate, times(2)).queryForList(anyString(), eq(Long.class), eq(params));
+
+        CacheStats stats = underTest.getSearchCacheStats();
+        assertThat(stats.hits()).isEqualTo(1);
+        assertThat(stats.misses()).isEqualTo(2);
+        assertThat(stats.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void testThatFindByIdIsServedFromCacheUntilTheBookChanges() {
+        long bookId = 1L;
+        when(jdbcTemplate.query(anyString(), eq(entryDtoExtractor), eq(bookId))).thenReturn(TestDataUtil.createTestEntry());
+
+        underTest.findById(bookId);
+        underTest.findById(bookId);
+        underTest.onEntriesChanged(new EntriesChangedEvent(this, 2L));
+        underTest.findById(bookId);
+        verify(jdbcTemplate, times(1)).query(anyString(), eq(entryDtoExtractor), eq(bookId));
+
+        underTest.onEntriesChanged(new EntriesChangedEvent(this, bookId));
+        underTest.findById(bookId);
+        verify(jdbcTemplate, times(2)).query(anyString(), eq(entryDtoExtractor), eq(bookId));
+        assertThat(underTest.getDetailsCacheStats().hits()).isEqualTo(2);
+    }
+
+    @Test
+    public void testThatChangesToFoundEntryDoNotReachTheCache() {
+        long bookId = 1L;
+        when(jdbcTemplate.query(anyString(), eq(entryDtoExtractor), eq(bookId))).thenReturn(TestDataUtil.createTestEntry());
+
+        FullEntryDto first = underTest.findById(bookId).orElseThrow();
+        String title = first.getBook().getTitle();
+        first.getBook().setTitle("");
+        first.getAuthors().clear();
+
+        FullEntryDto second = underTest.findById(bookId).orElseThrow();
+        assertThat(second.getBook().getTitle()).isEqualTo(title);
+        assertThat(second.getAuthors()).isNotEmpty();
+        second.getBook().setTitle("");
+        assertThat(underTest.findById(bookId).orElseThrow().getBook().getTitle()).isEqualTo(title);
+    }
+
     private String getFilteredEntriesSql() {
         String sql = """
-                SELECT b."id"
-                FROM "books" b
-                LEFT JOIN "book_person" ON b."id" = "book_person"."book_id"
-                LEFT JOIN "persons" p ON "book_person"."person_id" = p."id"
-                LEFT JOIN "published" ON b."id" = "published"."book_id"
-                LEFT JOIN "publishers" ON "published"."publisher_id" = "publishers"."id"
-                WHERE 1 = 1 AND (
-                    b."title" LIKE ?
-                    OR b."year" LIKE ?
-                    OR b."shelf_mark" LIKE ?
-                    OR b."isbn10" LIKE ?
-                    OR b."isbn13" LIKE ?
-                    OR p."last_name" LIKE ?
-                    OR p."first_names" LIKE ?
-                    OR "publishers"."name" LIKE ?
-                    OR "publishers"."location" LIKE ?
-                ) AND (
-                    b."title" LIKE ?
-                    OR b."year" LIKE ?
-                    OR b."shelf_mark" LIKE ?
-                    OR b."isbn10" LIKE ?
-                    OR b."isbn13" LIKE ?
-                    OR p."last_name" LIKE ?
-                    OR p."first_names" LIKE ?
-                    OR "publishers"."name" LIKE ?
-                    OR "publishers"."location" LIKE ?
-                ) GROUP BY b.\"id\";
+                SELECT "rowid" FROM "entries_fts"
+                WHERE "entries_fts" MATCH ?;
                 """;
         return sql;
     }
 
     private String getSortedEntriesSql() {
         String sql = """
-                SELECT
-                    b."id", b."title" AS "title", b."year" AS "year", b."shelf_mark" AS "shelf_mark",
-                    GROUP_CONCAT(
-                        CASE WHEN "book_person"."role" = 'AUTHOR' THEN CONCAT_WS(', ', p."last_name", p."first_names") END, '; ' ORDER BY "book_person"."order_index"
-                    ) AS "authors",
-                    GROUP_CONCAT(
-                        CASE WHEN "book_person"."role" = 'EDITOR' THEN CONCAT_WS(', ', p."last_name", p."first_names") END, '; ' ORDER BY "book_person"."order_index"
-                    ) AS "editors",
-                    CASE
-                        WHEN "publishers"."location" IS NULL AND "publishers"."name" IS NULL
-                        THEN NULL
-                        ELSE CONCAT_WS(': ', "publishers"."location", "publishers"."name")
-                    END AS "publisher"
-                FROM "books" b
-                LEFT JOIN "book_person" ON b."id" = "book_person"."book_id"
-                LEFT JOIN "persons" p ON "book_person"."person_id" = p."id"
-                LEFT JOIN "published" ON b."id" = "published"."book_id"
-                LEFT JOIN "publishers" ON "published"."publisher_id" = "publishers"."id"
-                WHERE b."id" IN (?, ?)
-                GROUP BY b."id"
+                SELECT b."id", b."title", b."year", b."shelf_mark", b."authors", b."editors", b."publisher"
+                FROM "flat_entries" b
+                WHERE b."id" IN (SELECT "value" FROM json_each(?))
                 ORDER BY "authors" COLLATE NOCASE ASC, b."id" ASC
                 LIMIT ? OFFSET ?;
                 """;
@@ -313,70 +323,62 @@ public class EntryViewRepositoryImplTests {
         underTest.getAllFlatEntryDtos();
 
         String expectedSql = """
-                SELECT
-                    b."id", b."title", b."year", b."shelf_mark",
-                    GROUP_CONCAT(
-                        CASE WHEN "book_person"."role" = 'AUTHOR' THEN CONCAT_WS(', ', p."last_name", p."first_names") END, '; ' ORDER BY "book_person"."order_index"
-                    ) AS "authors",
-                    GROUP_CONCAT(
-                        CASE WHEN "book_person"."role" = 'EDITOR' THEN CONCAT_WS(', ', p."last_name", p."first_names") END, '; ' ORDER BY "book_person"."order_index"
-                    ) AS "editors",
-                    CASE
-                        WHEN "publishers"."location" IS NULL AND "publishers"."name" IS NULL
-                        THEN NULL
-                        ELSE CONCAT_WS(': ', "publishers"."location", "publishers"."name")
-                    END AS "publisher"
-                FROM "books" b
-                LEFT JOIN "book_person" ON b."id" = "book_person"."book_id"
-                LEFT JOIN "persons" p ON "book_person"."person_id" = p."id"
-                LEFT JOIN "published" ON b."id" = "published"."book_id"
-                LEFT JOIN "publishers" ON "published"."publisher_id" = "publishers"."id"
-                GROUP BY b."id";
+                SELECT "id", "title", "year", "shelf_mark", "authors", "editors", "publisher"
+                FROM "flat_entries";
                 """;
 
         verify(jdbcTemplate).query(expectedSql, flatEntryDtoRowMapper);
     }
 
+    @Test
+    public void testThatForEachEntryStreamsRows() {
+        underTest.forEachEntry(entry -> {});
+        verify(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+    }
+
+    @Test
+    public void testThatForEachFlatEntryDtoStreamsRows() {
+        underTest.forEachFlatEntryDto(entry -> {});
+        verify(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+    }
+
     @Test
     public void testThatfindRowGeneratesCorrectSql() {
         String expectedSql = """
-                SELECT "row_number" FROM (
-                    SELECT ROW_NUMBER() OVER(
-                        ORDER BY "authors" COLLATE NOCASE DESC, "id" DESC
-                    ) AS "row_number", "id" FROM (
-                        SELECT
-                            b."id" AS "id", b."title" AS "title", b."year" AS "year", b."shelf_mark" AS "shelf_mark",
-                            GROUP_CONCAT(
-                                CASE WHEN "book_person"."role" = 'AUTHOR' THEN CONCAT_WS(', ', p."last_name", p."first_names") END, '; ' ORDER BY "book_person"."order_index"
-                            ) AS "authors",
-                            GROUP_CONCAT(
-                                CASE WHEN "book_person"."role" = 'EDITOR' THEN CONCAT_WS(', ', p."last_name", p."first_names") END, '; ' ORDER BY "book_person"."order_index"
-                            ) AS "editors",
-                            CASE
-                                WHEN "publishers"."location" IS NULL AND "publishers"."name" IS NULL
-                                THEN NULL
-                                ELSE CONCAT_WS(': ', "publishers"."location", "publishers"."name")
-                            END AS "publisher"
-                        FROM "books" b
-                        LEFT JOIN "book_person" ON b."id" = "book_person"."book_id"
-                        LEFT JOIN "persons" p ON "book_person"."person_id" = p."id"
-                        LEFT JOIN "published" ON b."id" = "published"."book_id"
-                        LEFT JOIN "publishers" ON "published"."publisher_id" = "publishers"."id"
-                        GROUP BY b."id"
-                    ) grouped
-                ) AS t
-                WHERE t."id" = ?;
+                SELECT COUNT(*)
+                FROM "flat_entries" b
+                WHERE ("authors" COLLATE NOCASE, b."id") > (?, ?);
                 """;
         
         long bookId = 1L;
         PageRequest request = new PageRequest(0, 10, null, "\"authors\"", "DESC", true);
-        when(jdbcTemplate.queryForObject(anyString(), eq(Integer.class), eq(bookId))).thenReturn(5);
-        underTest.findRow(bookId, request);
-
+        when(jdbcTemplate.queryForList(anyString(), eq(Object.class), eq(bookId))).thenReturn(List.of("Poe, Edgar Allan"));
+        when(jdbcTemplate.queryForObject(anyString(), eq(Integer.class), eq("Poe, Edgar Allan"), eq(bookId))).thenReturn(4);
+        int result = underTest.findRow(bookId, request);
+
+        assertThat(result).isEqualTo(5);
+        verify(jdbcTemplate).queryForList(
+            argThat(TestDataUtil.sqlEquals("SELECT \"authors\" FROM \"flat_entries\" b WHERE b.\"id\" = ?;")),
+            eq(Object.class),
+            eq(bookId)
+        );
         verify(jdbcTemplate).queryForObject(
             argThat(TestDataUtil.sqlEquals(expectedSql)),
             eq(Integer.class),
+            eq("Poe, Edgar Allan"),
             eq(bookId)
         );
     }
+
+    @Test
+    public void testThatNumberOfRowsGeneratesCorrectSql() {
+        String expectedSql = """
+                SELECT "total_rows" FROM "row_counters" WHERE "table_name" = 'books';
+                """;
+
+        when(jdbcTemplate.queryForObject(expectedSql, int.class)).thenReturn(1);
+
+        underTest.numberOfRows();
+        verify(jdbcTemplate).queryForObject(expectedSql, int.class);
+    }
 }
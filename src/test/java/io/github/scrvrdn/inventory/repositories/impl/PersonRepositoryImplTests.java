@@ -1,32 +1,28 @@
 package io.github.scrvrdn.inventory.repositories.impl;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
-import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
-import java.sql.Connection;
-import java.sql.PreparedStatement;
-import java.sql.SQLException;
-import java.sql.Statement;
+import java.util.List;
 import java.util.Map;
 
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.ArgumentCaptor;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.jdbc.core.JdbcTemplate;
-import org.springframework.jdbc.core.PreparedStatementCreator;
-import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.jdbc.core.RowMapper;
 
 import io.github.scrvrdn.inventory.TestDataUtil;
 import io.github.scrvrdn.inventory.dto.Person;
 import io.github.scrvrdn.inventory.mappers.PersonRowMapper;
+import io.github.scrvrdn.inventory.repositories.impl.NamePairResolver.NamePair;
 
 
 @ExtendWith(MockitoExtension.class)
@@ -38,40 +34,50 @@ public class PersonRepositoryImplTests {
     @Mock
     private PersonRowMapper personRowMapper;
 
-    @InjectMocks
     private PersonRepositoryImpl underTest;
 
+    @BeforeEach
+    public void setup() {
+        underTest = new PersonRepositoryImpl(jdbcTemplate, jdbcTemplate, personRowMapper, 0);
+    }
+
     @Test
-    public void testThatCreatePersonGeneratesCorrectSql() throws SQLException {
+    public void testThatCreateInsertsMissingPersonWithOneSelectAndOneInsert() {
         Person person = TestDataUtil.createTestPerson();
-        ArgumentCaptor<PreparedStatementCreator> captor = ArgumentCaptor.forClass(PreparedStatementCreator.class);
+        String expectedSelectSql = """
+                SELECT t."id", t."last_name", t."first_names"
+                FROM (VALUES (?, ?)) v
+                JOIN "persons" t ON t."last_name" IS v."column1" AND t."first_names" IS v."column2"
+                ORDER BY t."id";
+                """;
+        String expectedInsertSql = """
+                INSERT INTO "persons" ("last_name", "first_names")
+                VALUES (?, ?)
+                ON CONFLICT DO NOTHING
+                RETURNING "id", "last_name", "first_names";
+                """;
 
-        when(jdbcTemplate.update(captor.capture(), any(KeyHolder.class)))
-            .thenAnswer(invocation -> {
-                KeyHolder keyholder = invocation.getArgument(1);
-                keyholder.getKeyList().add(Map.of("id", 1L));
-                return 1;
-            });
+        when(jdbcTemplate.query(eq(expectedSelectSql), any(RowMapper.class), eq(person.getLastName()), eq(person.getFirstNames())))
+            .thenReturn(List.of());
+        when(jdbcTemplate.query(eq(expectedInsertSql), any(RowMapper.class), eq(person.getLastName()), eq(person.getFirstNames())))
+            .thenReturn(List.of(Map.entry(new NamePair(person.getLastName(), person.getFirstNames()), 7L)));
 
         underTest.create(person);
-        
-        String expectedSql = """
-                INSERT OR IGNORE INTO "persons" ("last_name", "first_names")
-                VALUES (?, ?);
-                """;
-        
-        PreparedStatementCreator psc = captor.getValue();
-        Connection mockConnection = mock(Connection.class);
-        PreparedStatement mockPreparedStatement = mock(PreparedStatement.class);
-
-        when(mockConnection.prepareStatement(anyString(), eq(Statement.RETURN_GENERATED_KEYS)))
-            .thenReturn(mockPreparedStatement);
-        psc.createPreparedStatement(mockConnection);
-
-        verify(mockConnection).prepareStatement(
-            argThat(sql -> sql.equals(expectedSql)),
-            eq(Statement.RETURN_GENERATED_KEYS)
-        );
+
+        assertThat(person.getId()).isEqualTo(7L);
+    }
+
+    @Test
+    public void testThatCreateResolvesExistingPersonWithoutInsert() {
+        Person person = TestDataUtil.createTestPerson();
+
+        when(jdbcTemplate.query(argThat((String sql) -> sql.startsWith("SELECT")), any(RowMapper.class), eq(person.getLastName()), eq(person.getFirstNames())))
+            .thenReturn(List.of(Map.entry(new NamePair(person.getLastName(), person.getFirstNames()), 3L)));
+
+        underTest.create(person);
+
+        assertThat(person.getId()).isEqualTo(3L);
+        verify(jdbcTemplate, never()).query(argThat((String sql) -> sql.startsWith("INSERT")), any(RowMapper.class), any(), any());
     }
 
     @Test
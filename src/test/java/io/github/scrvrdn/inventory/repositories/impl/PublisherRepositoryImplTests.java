@@ -1,32 +1,28 @@
 package io.github.scrvrdn.inventory.repositories.impl;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
-import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
-import java.sql.Connection;
-import java.sql.PreparedStatement;
-import java.sql.SQLException;
-import java.sql.Statement;
+import java.util.List;
 import java.util.Map;
 
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.ArgumentCaptor;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.jdbc.core.JdbcTemplate;
-import org.springframework.jdbc.core.PreparedStatementCreator;
-import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.jdbc.core.RowMapper;
 
 import io.github.scrvrdn.inventory.TestDataUtil;
 import io.github.scrvrdn.inventory.dto.Publisher;
 import io.github.scrvrdn.inventory.mappers.PublisherRowMapper;
+import io.github.scrvrdn.inventory.repositories.impl.NamePairResolver.NamePair;
 
 @ExtendWith(MockitoExtension.class)
 public class PublisherRepositoryImplTests {
@@ -37,40 +33,50 @@ public class PublisherRepositoryImplTests {
     @Mock
     private PublisherRowMapper publisherRowMapper;
 
-    @InjectMocks
     private PublisherRepositoryImpl underTest;
 
+    @BeforeEach
+    public void setup() {
+        underTest = new PublisherRepositoryImpl(jdbcTemplate, jdbcTemplate, publisherRowMapper, 0);
+    }
+
     @Test
-    public void testThatCreateGeneratesCorrectSql() throws SQLException {
+    public void testThatCreateInsertsMissingPublisherWithOneSelectAndOneInsert() {
         Publisher publisher = TestDataUtil.createTestPublisher();
-        ArgumentCaptor<PreparedStatementCreator> captor = ArgumentCaptor.forClass(PreparedStatementCreator.class);
+        String expectedSelectSql = """
+                SELECT t."id", t."name", t."location"
+                FROM (VALUES (?, ?)) v
+                JOIN "publishers" t ON t."name" IS v."column1" AND t."location" IS v."column2"
+                ORDER BY t."id";
+                """;
+        String expectedInsertSql = """
+                INSERT INTO "publishers" ("name", "location")
+                VALUES (?, ?)
+                ON CONFLICT DO NOTHING
+                RETURNING "id", "name", "location";
+                """;
 
-        when(jdbcTemplate.update(captor.capture(), any(KeyHolder.class)))
-            .thenAnswer(invocation -> {
-                KeyHolder keyHolder = invocation.getArgument(1);
-                keyHolder.getKeyList().add(Map.of("id", 1L));
-                return 1;
-            });
+        when(jdbcTemplate.query(eq(expectedSelectSql), any(RowMapper.class), eq(publisher.getName()), eq(publisher.getLocation())))
+            .thenReturn(List.of());
+        when(jdbcTemplate.query(eq(expectedInsertSql), any(RowMapper.class), eq(publisher.getName()), eq(publisher.getLocation())))
+            .thenReturn(List.of(Map.entry(new NamePair(publisher.getName(), publisher.getLocation()), 7L)));
 
         underTest.create(publisher);
 
-        String expectedSql = """
-                INSERT OR IGNORE INTO "publishers" ("name", "location")
-                VALUES (?, ?);
-                """;
+        assertThat(publisher.getId()).isEqualTo(7L);
+    }
+
+    @Test
+    public void testThatCreateResolvesExistingPublisherWithoutInsert() {
+        Publisher publisher = TestDataUtil.createTestPublisher();
 
-        PreparedStatementCreator psc = captor.getValue();
-        Connection mockConnection = mock(Connection.class);
-        PreparedStatement mockPreparedStatement = mock(PreparedStatement.class);
+        when(jdbcTemplate.query(argThat((String sql) -> sql.startsWith("SELECT")), any(RowMapper.class), eq(publisher.getName()), eq(publisher.getLocation())))
+            .thenReturn(List.of(Map.entry(new NamePair(publisher.getName(), publisher.getLocation()), 3L)));
 
-        when(mockConnection.prepareStatement(anyString(), eq(Statement.RETURN_GENERATED_KEYS)))
-            .thenReturn(mockPreparedStatement);
-        psc.createPreparedStatement(mockConnection);
+        underTest.create(publisher);
 
-        verify(mockConnection).prepareStatement(
-            argThat(sql -> sql.equals(expectedSql)),
-            eq(Statement.RETURN_GENERATED_KEYS)
-        );
+        assertThat(publisher.getId()).isEqualTo(3L);
+        verify(jdbcTemplate, never()).query(argThat((String sql) -> sql.startsWith("INSERT")), any(RowMapper.class), any(), any());
     }
 
     @Test
@@ -76,4 +76,41 @@ public class PersonCleanupServiceIntegrationTests {
             .hasSize(2)
             .containsExactly(person3, person4);
     }
+
+    @Test
+    public void testThatPersonsOfDeletedBooksAreQueuedAndDeleted() {
+        Person author = TestDataUtil.createTestPerson();
+        personRepository.create(author);
+        Person editor = TestDataUtil.createTestPerson2();
+        personRepository.create(editor);
+
+        Book book1 = TestDataUtil.createTestBook();
+        bookRepository.create(book1);
+        Book book2 = TestDataUtil.createTestBook2();
+        bookRepository.create(book2);
+        bookPersonRepository.assignAuthorsToBook(book1.getId(), List.of(author.getId()));
+        bookPersonRepository.assignEditorsToBook(book1.getId(), List.of(editor.getId()));
+        bookPersonRepository.assignEditorsToBook(book2.getId(), List.of(editor.getId()));
+        underTest.cleanupUnusedPersons();
+
+        bookRepository.delete(book1.getId());
+        assertThat(jdbcTemplate.queryForList("SELECT \"person_id\" FROM \"person_cleanup_queue\";", Long.class))
+            .containsExactlyInAnyOrder(author.getId(), editor.getId());
+
+        underTest.cleanupUnusedPersons();
+
+        assertThat(personRepository.findAll()).containsExactly(editor);
+        assertThat(JdbcTestUtils.countRowsInTable(jdbcTemplate, "person_cleanup_queue")).isZero();
+    }
+
+    @Test
+    public void testThatOnlyQueuedPersonsAreChecked() {
+        Person person = TestDataUtil.createTestPerson();
+        personRepository.create(person);
+        jdbcTemplate.update("DELETE FROM \"person_cleanup_queue\";");
+
+        underTest.cleanupUnusedPersons();
+
+        assertThat(personRepository.findAll()).containsExactly(person);
+    }
 }
@@ -72,4 +72,25 @@ public class PublisherCleanupServiceIntegrationTests {
             .hasSize(1)
             .containsExactly(publisher3);
     }
+
+    @Test
+    public void testThatReplacedPublishersAreQueuedAndDeleted() {
+        Publisher publisher1 = TestDataUtil.createTestPublisher();
+        publisherRepository.create(publisher1);
+        Publisher publisher2 = TestDataUtil.createTestPublisher2();
+        publisherRepository.create(publisher2);
+
+        Book book = TestDataUtil.createTestBook();
+        bookRepository.create(book);
+        bookPublisherRepository.assignPublisherToBook(book.getId(), publisher1.getId());
+        underTest.cleanupUnusedPublishers();
+        assertThat(publisherRepository.findAll()).containsExactly(publisher1);
+
+        publisherRepository.create(publisher2);
+        bookPublisherRepository.assignPublisherToBook(book.getId(), publisher2.getId());
+        underTest.cleanupUnusedPublishers();
+
+        assertThat(publisherRepository.findAll()).containsExactly(publisher2);
+        assertThat(JdbcTestUtils.countRowsInTable(jdbcTemplate, "publisher_cleanup_queue")).isZero();
+    }
 }
@@ -1,6 +1,9 @@
 package io.github.scrvrdn.inventory.services.cleanup.impl;
 
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -9,11 +12,21 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.jdbc.core.JdbcTemplate;
 
+import io.github.scrvrdn.inventory.dto.Person;
+import io.github.scrvrdn.inventory.mappers.PersonRowMapper;
+import io.github.scrvrdn.inventory.repositories.PersonRepository;
+
 @ExtendWith(MockitoExtension.class)
 public class PersonCleanUpServiceImplTests {
     @Mock
     private JdbcTemplate jdbcTemplate;
 
+    @Mock
+    private PersonRowMapper personRowMapper;
+
+    @Mock
+    private PersonRepository personRepository;
+
     @InjectMocks
     private PersonCleanupServiceImpl underTest;
 
@@ -21,14 +34,21 @@ public class PersonCleanUpServiceImplTests {
     public void testThatCleanupUnassignedPersonsGeneratesCorrectSql() {
         String expectedSql = """
                 DELETE FROM "persons"
-                WHERE NOT EXISTS (
+                WHERE "id" IN (SELECT "person_id" FROM "person_cleanup_queue")
+                AND NOT EXISTS (
                     SELECT 1 FROM "book_person"
                     WHERE "book_person"."person_id" = "persons"."id"
-                );
+                )
+                RETURNING *;
                 """;
+        List<Person> deleted = List.of(new Person());
+        when(jdbcTemplate.query(expectedSql, personRowMapper)).thenReturn(deleted);
         
         underTest.cleanupUnusedPersons();
         
-        verify(jdbcTemplate).update(expectedSql);
+        verify(jdbcTemplate).update("""
+                DELETE FROM "person_cleanup_queue";
+                """);
+        verify(personRepository).evictFromIdCache(deleted);
     }
 }
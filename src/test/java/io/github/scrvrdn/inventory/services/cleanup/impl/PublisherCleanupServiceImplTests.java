@@ -1,6 +1,9 @@
 package io.github.scrvrdn.inventory.services.cleanup.impl;
 
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -9,6 +12,10 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.jdbc.core.JdbcTemplate;
 
+import io.github.scrvrdn.inventory.dto.Publisher;
+import io.github.scrvrdn.inventory.mappers.PublisherRowMapper;
+import io.github.scrvrdn.inventory.repositories.PublisherRepository;
+
 
 @ExtendWith(MockitoExtension.class)
 public class PublisherCleanupServiceImplTests {
@@ -16,6 +23,12 @@ public class PublisherCleanupServiceImplTests {
     @Mock
     private JdbcTemplate jdbcTemplate;
 
+    @Mock
+    private PublisherRowMapper publisherRowMapper;
+
+    @Mock
+    private PublisherRepository publisherRepository;
+
     @InjectMocks
     private PublisherCleanupServiceImpl underTest;
 
@@ -23,14 +36,21 @@ public class PublisherCleanupServiceImplTests {
     public void testThatCleanUpUnusedPublishersGeneratesCorrectSql() {
         String expectedSql = """
                 DELETE FROM "publishers"
-                WHERE NOT EXISTS (
+                WHERE "id" IN (SELECT "publisher_id" FROM "publisher_cleanup_queue")
+                AND NOT EXISTS (
                     SELECT 1 FROM "published"
                     WHERE "published"."publisher_id" = "publishers"."id"
-                );
+                )
+                RETURNING *;
                 """;
+        List<Publisher> deleted = List.of(new Publisher());
+        when(jdbcTemplate.query(expectedSql, publisherRowMapper)).thenReturn(deleted);
 
         underTest.cleanupUnusedPublishers();
 
-        verify(jdbcTemplate).update(expectedSql);
+        verify(jdbcTemplate).update("""
+                DELETE FROM "publisher_cleanup_queue";
+                """);
+        verify(publisherRepository).evictFromIdCache(deleted);
     }
 }
@@ -1,11 +1,15 @@
 package io.github.scrvrdn.inventory.services.domain.impl;
 
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import java.util.List;
-import java.util.Optional;
+import java.util.Set;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -15,6 +19,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import io.github.scrvrdn.inventory.dto.Book;
 import io.github.scrvrdn.inventory.dto.BookUpdateRequest;
+import io.github.scrvrdn.inventory.dto.FullEntryDto;
 import io.github.scrvrdn.inventory.repositories.BookPersonRepository;
 import io.github.scrvrdn.inventory.repositories.BookPublisherRepository;
 import io.github.scrvrdn.inventory.repositories.BookRepository;
@@ -43,17 +48,8 @@ public class BookServiceImplTests {
     @Test
     public void testThatUpdateCallsRepositories() {
         long bookId = 1L;
-        
-        Book mockBook = mock(Book.class);
-        when(bookRepository.findById(bookId)).thenReturn(Optional.of(mockBook));
-
-        BookUpdateRequest request = mock(BookUpdateRequest.class);
-        List<Long> authorsToUpdate = List.of(1L, 2L, 3L);
-        when(request.authorIds()).thenReturn(authorsToUpdate);
-        List<Long> editorsToUpdate = List.of(4L, 5L, 6L);
-        when(request.editorIds()).thenReturn(editorsToUpdate);
-        when(request.publisherId()).thenReturn(1L);
-        
+        BookUpdateRequest request = new BookUpdateRequest("Title", 1984, null, null, null, List.of(1L, 2L, 3L), List.of(4L, 5L, 6L), 1L);
+
         List<Long> authorsToRemove = List.of(7L, 8L, 9L);
         when(bookPersonRepository.findAuthorIdsByBookId(bookId)).thenReturn(authorsToRemove);
         List<Long> editorsToRemove = List.of(10L, 11L, 12L);
@@ -63,8 +59,7 @@ public class BookServiceImplTests {
 
         underTest.update(bookId, request);
 
-        verify(bookRepository).findById(bookId);
-        verify(bookRepository).update(mockBook);
+        verify(bookRepository).updateFields(Book.builder().id(bookId).title("Title").year(1984).build(), FullEntryDto.BOOK_FIELDS);
         verify(bookPersonRepository).assignAuthorsToBook(bookId, request.authorIds());
         verify(bookPersonRepository).removeAuthorsFromBook(bookId, authorsToRemove);
         verify(bookPersonRepository).assignEditorsToBook(bookId, request.editorIds());
@@ -75,19 +70,43 @@ public class BookServiceImplTests {
     @Test
     public void testThatUpdateDeletesPublisherRelationWhenPublisherIdIsNull() {
         long bookId = 1L;
-        Book mockBook = mock(Book.class);
-        when(bookRepository.findById(bookId)).thenReturn(Optional.of(mockBook));
-
-        BookUpdateRequest request = mock(BookUpdateRequest.class);
-        when(request.publisherId()).thenReturn(null);
+        BookUpdateRequest request = new BookUpdateRequest(null, null, null, null, null, List.of(), List.of(), null, Set.of(FullEntryDto.PUBLISHER));
         long publisherToRemove = 2L;
         when(bookPublisherRepository.findPublisherIdByBookId(bookId)).thenReturn(publisherToRemove);
-        
 
         underTest.update(bookId, request);
         verify(bookPublisherRepository).removePublisherFromBook(bookId, publisherToRemove);
     }
 
+    @Test
+    public void testThatUpdateOnlyWritesUpdatedFields() {
+        long bookId = 1L;
+        BookUpdateRequest request = new BookUpdateRequest("Title", null, null, null, null, List.of(), List.of(), null, Set.of(FullEntryDto.TITLE));
+
+        underTest.update(bookId, request);
+
+        verify(bookRepository).updateFields(Book.builder().id(bookId).title("Title").build(), Set.of(FullEntryDto.TITLE));
+        verifyNoInteractions(bookPersonRepository, bookPublisherRepository);
+    }
+
+    @Test
+    public void testThatUpdateKeepsUnchangedLinks() {
+        long bookId = 1L;
+        BookUpdateRequest request = new BookUpdateRequest(null, null, null, null, null, List.of(1L, 2L), List.of(3L), 4L, Set.of(FullEntryDto.AUTHORS, FullEntryDto.EDITORS, FullEntryDto.PUBLISHER));
+        when(bookPersonRepository.findAuthorIdsByBookId(bookId)).thenReturn(List.of(1L, 2L));
+        when(bookPersonRepository.findEditorIdsByBookId(bookId)).thenReturn(List.of(5L, 3L));
+        when(bookPublisherRepository.findPublisherIdByBookId(bookId)).thenReturn(4L);
+
+        underTest.update(bookId, request);
+
+        verify(bookPersonRepository).removeEditorsFromBook(bookId, List.of(5L));
+        verify(bookPersonRepository).assignEditorsToBook(bookId, List.of(3L));
+        verify(bookPersonRepository, never()).removeAuthorsFromBook(anyLong(), anyList());
+        verify(bookPersonRepository, never()).assignAuthorsToBook(anyLong(), anyList());
+        verify(bookPublisherRepository, never()).assignPublisherToBook(anyLong(), anyLong());
+        verifyNoInteractions(bookRepository);
+    }
+
     @Test
     public void testThatDeleteCallsRepository() {
         long bookId = 1L;
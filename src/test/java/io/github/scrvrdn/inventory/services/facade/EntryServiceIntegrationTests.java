@@ -8,6 +8,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.jdbc.JdbcTestUtils;
@@ -15,11 +16,13 @@ import org.springframework.test.jdbc.JdbcTestUtils;
 import io.github.scrvrdn.inventory.TestDataUtil;
 import io.github.scrvrdn.inventory.dto.FullEntryDto;
 import io.github.scrvrdn.inventory.dto.Page;
+import io.github.scrvrdn.inventory.dto.PageCursor;
 import io.github.scrvrdn.inventory.dto.PageRequest;
 import io.github.scrvrdn.inventory.dto.Person;
 import io.github.scrvrdn.inventory.dto.Publisher;
 import io.github.scrvrdn.inventory.dto.Book;
 import io.github.scrvrdn.inventory.dto.FlatEntryDto;
+import io.github.scrvrdn.inventory.events.EntriesChangedEvent;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -29,16 +32,19 @@ public class EntryServiceIntegrationTests {
 
     private final JdbcTemplate jdbcTemplate;
     private final EntryService underTest;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    public EntryServiceIntegrationTests(JdbcTemplate jdbcTemplate, EntryService underTest) {
+    public EntryServiceIntegrationTests(JdbcTemplate jdbcTemplate, EntryService underTest, ApplicationEventPublisher eventPublisher) {
         this.jdbcTemplate = jdbcTemplate;
         this.underTest = underTest;
+        this.eventPublisher = eventPublisher;
     }
 
     @BeforeEach
     public void setup() {
         JdbcTestUtils.deleteFromTables(jdbcTemplate, "books", "persons", "publishers", "book_person", "published");
+        eventPublisher.publishEvent(new EntriesChangedEvent(this));
     }
 
     @Test
@@ -120,6 +126,25 @@ public class EntryServiceIntegrationTests {
         assertThat(result.get()).isEqualTo(dto);
     }
 
+    @Test
+    public void testThatFlatEntryDtoIsUpdatedAfterRepeatedSaves() {
+        FlatEntryDto emptyEntry = underTest.createEmptyEntry().orElseThrow();
+        FullEntryDto entry = TestDataUtil.createTestEntry();
+        entry.getBook().setId(emptyEntry.bookId());
+        entry.getAuthors().add(TestDataUtil.createTestPerson2());
+        underTest.update(entry);
+
+        entry.getBook().setTitle("Tales");
+        entry.getAuthors().removeFirst();
+        entry.getEditors().clear();
+        entry.setPublisher(TestDataUtil.createTestPublisher2());
+        underTest.update(entry);
+
+        Optional<FlatEntryDto> result = underTest.getFlatEntryDtoByBookId(entry.getBook().getId());
+        assertThat(result).isPresent();
+        assertThat(result.get()).isEqualTo(new FlatEntryDto(entry.getBook().getId(), "Tales", 1984, "A:a:3:1", "Burton, Robert", null, "London: Penguin Classics"));
+    }
+
     @Test
     public void testThatGetsNextFlatEntryDtoAfterBookId() {
         FlatEntryDto dto1 = underTest.createEmptyEntry().orElseThrow();
@@ -429,6 +454,113 @@ public class EntryServiceIntegrationTests {
         assertThat(result.entries()).containsExactly(expectedEntry);
     }
 
+    @Test
+    public void testThatSearchTermsAreMatchedAcrossAllFieldsOfOneBook() {
+        FlatEntryDto emptyEntry1 = underTest.createEmptyEntry().orElseThrow();
+        FullEntryDto entry1 = TestDataUtil.createTestEntry();
+        entry1.getBook().setId(emptyEntry1.bookId());
+        entry1.getAuthors().add(TestDataUtil.createTestPerson2());
+        FlatEntryDto expectedEntry = underTest.update(entry1);
+
+        FlatEntryDto emptyEntry2 = underTest.createEmptyEntry().orElseThrow();
+        FullEntryDto entry2 = TestDataUtil.createTestEntry2();
+        entry2.getBook().setId(emptyEntry2.bookId());
+        underTest.update(entry2);
+
+        Page acrossPersons = underTest.getPage(new PageRequest(0, 10, "burt qui", "\"authors\"", "ASC", true));
+        assertThat(acrossPersons.entries()).containsExactly(expectedEntry);
+        assertThat(acrossPersons.totalNumberOfRows()).isEqualTo(1);
+
+        Page byIsbnPrefix = underTest.getPage(new PageRequest(0, 10, "978014", "\"authors\"", "ASC", true));
+        assertThat(byIsbnPrefix.entries()).extracting(FlatEntryDto::bookId).containsExactly(entry2.getBook().getId());
+
+        Page noMatch = underTest.getPage(new PageRequest(0, 10, "poe penguin", "\"authors\"", "ASC", true));
+        assertThat(noMatch.entries()).isEmpty();
+    }
+
+    @Test
+    public void testThatSeekPagesMatchOffsetPages() {
+        prepareEntries();
+        underTest.createEmptyEntry();
+        underTest.createEmptyEntry();
+
+        List<String> sortColumns = List.of("b.\"id\"", "\"title\"", "\"year\"", "\"shelf_mark\"", "\"authors\"", "\"editors\"", "\"publisher\"");
+        int pageSize = 2;
+
+        for (String sortBy : sortColumns) {
+            for (String sortDir : List.of("ASC", "DESC")) {
+                boolean caseInsensitive = !sortBy.equals("b.\"id\"") && !sortBy.equals("\"year\"");
+                List<List<FlatEntryDto>> offsetPages = new ArrayList<>();
+                for (int i = 0; i < 4; i++) {
+                    offsetPages.add(underTest.getPage(new PageRequest(i, pageSize, null, sortBy, sortDir, caseInsensitive)).entries());
+                }
+
+                Page page = underTest.getPage(new PageRequest(0, pageSize, null, sortBy, sortDir, caseInsensitive));
+                for (int i = 1; i < 4; i++) {
+                    PageCursor after = PageCursor.of(page.entries().getLast(), sortBy);
+                    page = underTest.getNextPage(after, new PageRequest(i, pageSize, null, sortBy, sortDir, caseInsensitive));
+                    assertThat(page.entries()).as(sortBy + " " + sortDir + " next " + i).isEqualTo(offsetPages.get(i));
+                }
+
+                page = underTest.getLastPage(new PageRequest(0, pageSize, null, sortBy, sortDir, caseInsensitive));
+                assertThat(page.pageIndex()).isEqualTo(3);
+                assertThat(page.entries()).as(sortBy + " " + sortDir + " last").isEqualTo(offsetPages.get(3));
+
+                for (int i = 2; i >= 0; i--) {
+                    PageCursor before = PageCursor.of(page.entries().getFirst(), sortBy);
+                    page = underTest.getPreviousPage(before, new PageRequest(i, pageSize, null, sortBy, sortDir, caseInsensitive));
+                    assertThat(page.entries()).as(sortBy + " " + sortDir + " previous " + i).isEqualTo(offsetPages.get(i));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testThatCachedSearchResultsAreDroppedAfterUpdate() {
+        FlatEntryDto emptyEntry = underTest.createEmptyEntry().orElseThrow();
+        PageRequest request = new PageRequest(0, 10, "quixote", null, null, true);
+        assertThat(underTest.getPage(request).entries()).isEmpty();
+        assertThat(underTest.getPage(request).entries()).isEmpty();
+
+        FullEntryDto entry = TestDataUtil.createTestEntry();
+        entry.getBook().setId(emptyEntry.bookId());
+        entry.getBook().setTitle("Don Quixote");
+        underTest.update(entry);
+
+        Page result = underTest.getPage(request);
+        assertThat(result.totalNumberOfRows()).isEqualTo(1);
+        assertThat(result.entries().getFirst().bookId()).isEqualTo(emptyEntry.bookId());
+    }
+
+    @Test
+    public void testThatCachedDetailsAreDroppedAfterUpdateAndDelete() {
+        FlatEntryDto emptyEntry = underTest.createEmptyEntry().orElseThrow();
+        assertThat(underTest.findById(emptyEntry.bookId()).orElseThrow().getBook().getTitle()).isNull();
+
+        FullEntryDto entry = TestDataUtil.createTestEntry();
+        entry.getBook().setId(emptyEntry.bookId());
+        underTest.update(entry);
+        assertThat(underTest.findById(emptyEntry.bookId())).contains(entry);
+
+        underTest.delete(emptyEntry.bookId());
+        assertThat(underTest.findById(emptyEntry.bookId())).isEmpty();
+    }
+
+    @Test
+    public void testThatSearchMatchingMoreRowsThanTheParameterLimitCanBePaged() {
+        int n = 33000;
+        jdbcTemplate.update("""
+                WITH RECURSIVE "seq"("n") AS (SELECT 1 UNION ALL SELECT "n" + 1 FROM "seq" WHERE "n" < ?)
+                INSERT INTO "books" ("title") SELECT 'Common Title ' || "n" FROM "seq";
+                """, n);
+
+        Page result = underTest.getPage(new PageRequest(3, 10, "common", "b.\"id\"", "ASC", false));
+
+        assertThat(result.totalNumberOfRows()).isEqualTo(n);
+        assertThat(result.entries()).hasSize(10);
+        assertThat(result.entries().getFirst().bookTitle()).isEqualTo("Common Title 31");
+    }
+
     @Test
     public void testThatGetsPageWithBook() {
         int n = 15;
@@ -449,6 +581,31 @@ public class EntryServiceIntegrationTests {
         assertThat(result.entries()).containsExactly(expected.get(3), expected.get(2), expected.get(1), expected.get(0));
     }
 
+    @Test
+    public void testThatGetsPageWithBookForEverySortOrder() {
+        prepareEntries();
+        underTest.createEmptyEntry();
+        underTest.createEmptyEntry();
+
+        List<String> sortColumns = List.of("b.\"id\"", "\"title\"", "\"year\"", "\"shelf_mark\"", "\"authors\"", "\"editors\"", "\"publisher\"");
+        int pageSize = 3;
+
+        for (String sortBy : sortColumns) {
+            for (String sortDir : List.of("ASC", "DESC")) {
+                boolean caseInsensitive = !sortBy.equals("b.\"id\"") && !sortBy.equals("\"year\"");
+                List<FlatEntryDto> sorted = underTest.getPage(new PageRequest(0, 10, null, sortBy, sortDir, caseInsensitive)).entries();
+
+                for (int row = 0; row < sorted.size(); row++) {
+                    FlatEntryDto entry = sorted.get(row);
+                    Page result = underTest.getPageWithBook(entry.bookId(), new PageRequest(0, pageSize, null, sortBy, sortDir, caseInsensitive));
+
+                    assertThat(result.pageIndex()).as(sortBy + " " + sortDir + " row " + row).isEqualTo(row / pageSize);
+                    assertThat(result.entries()).contains(entry);
+                }
+            }
+        }
+    }
+
     @Test
     public void testThatGetsAllFLatEntryDtos() {
         FlatEntryDto emptyEntry1 = underTest.createEmptyEntry().orElseThrow();
@@ -472,6 +629,27 @@ public class EntryServiceIntegrationTests {
             .containsExactly(expectedEntryRow1, expectedEntryRow2);
     }
 
+    @Test
+    public void testThatStreamsSameEntriesAsFindAll() {
+        for (int i = 0; i < 3; i++) {
+            FullEntryDto entry = i % 2 == 0 ? TestDataUtil.createTestEntry() : TestDataUtil.createTestEntry2();
+            entry.getBook().setId(underTest.createEmptyEntry().orElseThrow().bookId());
+            entry.getBook().setIsbn10(null);
+            entry.getBook().setIsbn13(null);
+            entry.getAuthors().add(TestDataUtil.createTestPerson4());
+            underTest.update(entry);
+        }
+        underTest.createEmptyEntry();
+
+        List<FullEntryDto> entries = new ArrayList<>();
+        underTest.forEachEntry(entries::add);
+        assertThat(entries).hasSize(4).isEqualTo(underTest.findAll());
+
+        List<FlatEntryDto> flatEntries = new ArrayList<>();
+        underTest.forEachFlatEntryDto(flatEntries::add);
+        assertThat(flatEntries).hasSize(4).isEqualTo(underTest.getAllFlatEntryDtos());
+    }
+
     @Test
     public void testThatCanUpdateEntry() {
         FlatEntryDto emptyEntry = underTest.createEmptyEntry().orElseThrow();
@@ -490,6 +668,112 @@ public class EntryServiceIntegrationTests {
     }
 
 
+    @Test
+    public void testThatUpdateOnlySavesMarkedFields() {
+        FlatEntryDto emptyEntry = underTest.createEmptyEntry().orElseThrow();
+        FullEntryDto entry = TestDataUtil.createTestEntry();
+        entry.getBook().setId(emptyEntry.bookId());
+        underTest.update(entry);
+
+        FullEntryDto edited = underTest.findById(entry.getBook().getId()).orElseThrow();
+        edited.getBook().setTitle("Tales");
+        edited.getBook().setYear(2000);
+        edited.getAuthors().clear();
+        edited.markUpdated(FullEntryDto.TITLE);
+        underTest.update(edited);
+
+        FullEntryDto result = underTest.findById(entry.getBook().getId()).orElseThrow();
+        assertThat(result.getBook().getTitle()).isEqualTo("Tales");
+        assertThat(result.getBook().getYear()).isEqualTo(entry.getBook().getYear());
+        assertThat(result.getAuthors()).isEqualTo(entry.getAuthors());
+    }
+
+    @Test
+    public void testThatClearedPublisherIsRemoved() {
+        FlatEntryDto emptyEntry = underTest.createEmptyEntry().orElseThrow();
+        FullEntryDto entry = TestDataUtil.createTestEntry();
+        entry.getBook().setId(emptyEntry.bookId());
+        underTest.update(entry);
+
+        FullEntryDto edited = underTest.findById(entry.getBook().getId()).orElseThrow();
+        edited.setPublisher(Publisher.builder().id(edited.getPublisher().getId()).name("").location("").build());
+        edited.markUpdated(FullEntryDto.PUBLISHER);
+        underTest.update(edited);
+
+        FullEntryDto result = underTest.findById(entry.getBook().getId()).orElseThrow();
+        assertThat(result.getPublisher()).isNull();
+    }
+
+    @Test
+    public void testThatSelectedEntriesCanBeDeleted() {
+        List<Long> ids = createEntries(3);
+
+        int deleted = underTest.deleteAll(List.of(ids.get(0), ids.get(2), -1L));
+
+        assertThat(deleted).isEqualTo(2);
+        assertThat(underTest.findAll()).extracting(e -> e.getBook().getId()).containsExactly(ids.get(1));
+        assertThat(underTest.numberOfRows()).isEqualTo(1);
+    }
+
+    @Test
+    public void testThatShelfMarkAndYearCanBeSetForSelectedEntries() {
+        List<Long> ids = createEntries(3);
+
+        underTest.updateShelfMark(ids.subList(0, 2), " B:b:1:1 ");
+        underTest.updateYear(ids.subList(1, 3), 2001);
+
+        List<FlatEntryDto> result = underTest.getAllFlatEntryDtos();
+        assertThat(result).extracting(FlatEntryDto::shelfMark).containsExactly("B:b:1:1", "B:b:1:1", "A:a:3:1");
+        assertThat(result).extracting(FlatEntryDto::bookYear).containsExactly(1984, 2001, 2001);
+    }
+
+    @Test
+    public void testThatAuthorCanBeAddedToAndRemovedFromSelectedEntries() {
+        List<Long> ids = createEntries(3);
+        Person author = TestDataUtil.createTestPerson2();
+
+        underTest.addAuthor(ids.subList(0, 2), author);
+        underTest.addAuthor(ids.subList(0, 2), TestDataUtil.createTestPerson2());
+
+        FullEntryDto first = underTest.findById(ids.get(0)).orElseThrow();
+        assertThat(first.getAuthors()).extracting(Person::toString).containsExactly("Poe, Edgar Allan", "Burton, Robert");
+        assertThat(underTest.findById(ids.get(2)).orElseThrow().getAuthors()).hasSize(1);
+
+        underTest.removeAuthor(ids, TestDataUtil.createTestPerson());
+
+        assertThat(underTest.findById(ids.get(0)).orElseThrow().getAuthors()).extracting(Person::toString).containsExactly("Burton, Robert");
+        assertThat(underTest.findById(ids.get(2)).orElseThrow().getAuthors()).isEmpty();
+    }
+
+    @Test
+    public void testThatPublisherCanBeSetAndRemovedForSelectedEntries() {
+        List<Long> ids = createEntries(3);
+
+        underTest.updatePublisher(ids.subList(1, 3), TestDataUtil.createTestPublisher2());
+
+        assertThat(underTest.getAllFlatEntryDtos()).extracting(FlatEntryDto::publisher)
+            .containsExactly("New York: Library of America", "London: Penguin Classics", "London: Penguin Classics");
+
+        underTest.updatePublisher(ids.subList(0, 2), null);
+
+        assertThat(underTest.findById(ids.get(0)).orElseThrow().getPublisher()).isNull();
+        assertThat(underTest.findById(ids.get(1)).orElseThrow().getPublisher()).isNull();
+        assertThat(underTest.findById(ids.get(2)).orElseThrow().getPublisher()).hasToString("London: Penguin Classics");
+    }
+
+    private List<Long> createEntries(int count) {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            FullEntryDto entry = TestDataUtil.createTestEntry();
+            entry.getBook().setId(underTest.createEmptyEntry().orElseThrow().bookId());
+            entry.getBook().setIsbn10(null);
+            entry.getBook().setIsbn13(null);
+            underTest.update(entry);
+            ids.add(entry.getBook().getId());
+        }
+        return ids;
+    }
+
     @Test
     public void testThatEntryCanBeDeleted() {
         FlatEntryDto emptyEntry = underTest.createEmptyEntry().orElseThrow();
@@ -1,25 +1,37 @@
 package io.github.scrvrdn.inventory.services.facade.impl;
 
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.jdbc.core.JdbcTemplate;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import io.github.scrvrdn.inventory.TestDataUtil;
 import io.github.scrvrdn.inventory.dto.Book;
+import io.github.scrvrdn.inventory.dto.BookUpdateRequest;
 import io.github.scrvrdn.inventory.dto.FlatEntryDto;
+import io.github.scrvrdn.inventory.dto.FullEntryDto;
+import io.github.scrvrdn.inventory.dto.Page;
+import io.github.scrvrdn.inventory.dto.PageRequest;
 import io.github.scrvrdn.inventory.repositories.EntryViewRepository;
 import io.github.scrvrdn.inventory.services.domain.BookService;
+import io.github.scrvrdn.inventory.services.domain.PersonService;
+import io.github.scrvrdn.inventory.services.domain.PublisherService;
 
 @ExtendWith(MockitoExtension.class)
 public class EntryServiceImplTests {
@@ -30,9 +42,18 @@ public class EntryServiceImplTests {
     @Mock
     private BookService bookService;
 
+    @Mock
+    private PersonService personService;
+
+    @Mock
+    private PublisherService publisherService;
+
     @Mock
     private EntryViewRepository entryViewRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @Spy
     @InjectMocks
     private EntryServiceImpl underTest;
@@ -92,6 +113,62 @@ public class EntryServiceImplTests {
         verify(entryViewRepository).getAllFlatEntryDtos();
     }
 
+    @Test
+    public void testThatForEachEntryCallsEntryViewRepository() {
+        Consumer<FullEntryDto> action = entry -> {};
+        underTest.forEachEntry(action);
+        verify(entryViewRepository).forEachEntry(action);
+    }
+
+    @Test
+    public void testThatForEachFlatEntryDtoCallsEntryViewRepository() {
+        Consumer<FlatEntryDto> action = entry -> {};
+        underTest.forEachFlatEntryDto(action);
+        verify(entryViewRepository).forEachFlatEntryDto(action);
+    }
+
+    @Test
+    public void testThatGetLastPageReadsRemainingRowsBackwards() {
+        PageRequest request = new PageRequest(0, 10, null, "\"title\"", "ASC", true);
+        when(entryViewRepository.numberOfRows()).thenReturn(23);
+
+        Page result = underTest.getLastPage(request);
+
+        assertThat(result.pageIndex()).isEqualTo(2);
+        assertThat(result.totalNumberOfRows()).isEqualTo(23);
+        verify(entryViewRepository).getSortedEntriesBefore(null, new PageRequest(2, 3, null, "\"title\"", "ASC", true));
+    }
+
+    @Test
+    public void testThatUpdateOnlyResolvesUpdatedSections() {
+        FullEntryDto entry = TestDataUtil.createTestEntry();
+        entry.getBook().setId(1L);
+        entry.getAuthors().add(TestDataUtil.createTestPerson2());
+        entry.markUpdated(FullEntryDto.TITLE);
+
+        underTest.update(entry);
+
+        ArgumentCaptor<BookUpdateRequest> captor = ArgumentCaptor.forClass(BookUpdateRequest.class);
+        verify(bookService).update(eq(1L), captor.capture());
+        assertThat(captor.getValue().updatedFields()).containsExactly(FullEntryDto.TITLE);
+        verifyNoInteractions(personService, publisherService);
+    }
+
+    @Test
+    public void testThatUpdateWithoutMarksSavesAllSections() {
+        FullEntryDto entry = TestDataUtil.createTestEntry();
+        entry.getBook().setId(1L);
+
+        underTest.update(entry);
+
+        ArgumentCaptor<BookUpdateRequest> captor = ArgumentCaptor.forClass(BookUpdateRequest.class);
+        verify(bookService).update(eq(1L), captor.capture());
+        assertThat(captor.getValue().updatedFields()).isEqualTo(FullEntryDto.ALL_FIELDS);
+        verify(personService).updateAuthorsByName(entry.getAuthors());
+        verify(personService).updateEditorsByName(entry.getEditors());
+        verify(publisherService).updatePublisherByNameAndLocation(entry.getPublisher());
+    }
+
     @Test
     public void testThatDeleteCallsBookService() {
         long bookId = 1L;
@@ -100,9 +177,24 @@ public class EntryServiceImplTests {
     }
 
     @Test
-    public void testThatNumberOfRowsCallsBookService() {
+    public void testThatNumberOfRowsCallsEntryViewRepository() {
         underTest.numberOfRows();
-        verify(bookService).numberOfRows();
+        verify(entryViewRepository).numberOfRows();
+    }
+
+    @Test
+    public void testThatPagingOnlyReadsFromEntryViewRepository() {
+        PageRequest request = new PageRequest(0, 10, null, "b.\"id\"", "ASC", false);
+        when(entryViewRepository.numberOfRows()).thenReturn(23);
+        when(entryViewRepository.findRow(1L, request)).thenReturn(1);
+
+        underTest.getPage(request);
+        underTest.getNextPage(null, request);
+        underTest.getPreviousPage(null, request);
+        underTest.getLastPage(request);
+        underTest.getPageWithBook(1L, request);
+
+        verifyNoInteractions(bookService);
     }
 
 }
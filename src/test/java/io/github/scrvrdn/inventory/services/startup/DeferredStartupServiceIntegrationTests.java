@@ -0,0 +1,34 @@
+package io.github.scrvrdn.inventory.services.startup;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class DeferredStartupServiceIntegrationTests {
+
+    private final List<DeferredStartupTask> tasks;
+
+    @Autowired
+    public DeferredStartupServiceIntegrationTests(final List<DeferredStartupTask> tasks) {
+        this.tasks = tasks;
+    }
+
+    @Test
+    public void testThatTasksAreOrdered() {
+        assertThat(tasks)
+            .extracting(DeferredStartupTask::getName)
+            .containsExactly("Id cache warm-up", "Orphan cleanup", "Planner statistics", "Integrity check");
+    }
+
+    @Test
+    public void testThatTasksRunOnTheDatabase() {
+        tasks.forEach(DeferredStartupTask::run);
+    }
+}
@@ -0,0 +1,60 @@
+package io.github.scrvrdn.inventory.services.startup.impl;
+
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import io.github.scrvrdn.inventory.services.startup.DeferredStartupTask;
+
+@ExtendWith(MockitoExtension.class)
+public class DeferredStartupServiceImplTests {
+
+    @Mock
+    private DeferredStartupTask first;
+
+    @Mock
+    private DeferredStartupTask second;
+
+    private DeferredStartupServiceImpl underTest;
+
+    @BeforeEach
+    public void setUp() {
+        underTest = new DeferredStartupServiceImpl(List.of(first, second));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        underTest.destroy();
+    }
+
+    @Test
+    public void testThatTasksRunInOrder() {
+        underTest.runAll();
+
+        InOrder inOrder = inOrder(first, second);
+        inOrder.verify(first).run();
+        inOrder.verify(second).run();
+    }
+
+    @Test
+    public void testThatFailingTaskDoesNotStopLaterTasks() {
+        when(first.getName()).thenReturn("first");
+        doThrow(new RuntimeException("failed")).when(first).run();
+
+        underTest.runAll();
+
+        InOrder inOrder = inOrder(first, second);
+        inOrder.verify(first).run();
+        inOrder.verify(second).run();
+    }
+}
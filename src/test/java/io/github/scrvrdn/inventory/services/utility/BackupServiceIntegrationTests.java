@@ -1,12 +1,15 @@
 package io.github.scrvrdn.inventory.services.utility;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.ResultSet;
 import java.sql.Statement;
+import java.util.List;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -80,6 +83,42 @@ public class BackupServiceIntegrationTests {
 
     }
 
+    @Test
+    public void testThatRevertsToBackupOfLiveDbIncludingSearchIndex() throws Exception {
+        jdbcTemplate.update("""
+                INSERT INTO "books" ("id", "title")
+                VALUES (1, 'SUCCESS');
+                """);
+
+        String backupFileName = underTest.createBackup(tempDir).substring("Backup successful: ".length());
+        jdbcTemplate.update("UPDATE books SET title = 'FAILURE' WHERE id = 1;");
+
+        String result1 = underTest.revertToBackup(tempDir.resolve(backupFileName));
+        String result2 = jdbcTemplate.queryForObject("SELECT title FROM flat_entries WHERE id = 1;", String.class);
+        Long result3 = jdbcTemplate.queryForObject("SELECT rowid FROM entries_fts WHERE entries_fts MATCH 'success';", Long.class);
+
+        assertThat(result1).isEqualTo("Successfully reverted to backup.");
+        assertThat(result2).isEqualTo("SUCCESS");
+        assertThat(result3).isEqualTo(1L);
+    }
+
+    @Test
+    public void testThatFailedRevertDetachesBackup() throws Exception {
+        Path backupPath = setupBackupDb();
+        Path brokenPath = Files.copy(backupPath, tempDir.resolve("broken.db.bak"));
+        try (Connection conn = DriverManager.getConnection("jdbc:sqlite:" + brokenPath);
+            Statement stmt = conn.createStatement()) {
+            stmt.execute("ALTER TABLE \"books\" ADD COLUMN \"extra\" TEXT;");
+        }
+
+        assertThatThrownBy(() -> underTest.revertToBackup(brokenPath)).isInstanceOf(RuntimeException.class);
+        List<String> attached = jdbcTemplate.queryForList("SELECT \"name\" FROM pragma_database_list;", String.class);
+        String result = underTest.revertToBackup(backupPath);
+
+        assertThat(attached).doesNotContain("backupdb");
+        assertThat(result).isEqualTo("Successfully reverted to backup.");
+    }
+
     private Path setupBackupDb() throws Exception {
         Path backupPath = tempDir.resolve("test.db.bak");
         String url = "jdbc:sqlite:" + backupPath.toString();
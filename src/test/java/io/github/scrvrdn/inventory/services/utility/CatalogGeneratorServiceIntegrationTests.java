@@ -0,0 +1,147 @@
+package io.github.scrvrdn.inventory.services.utility;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.jdbc.JdbcTestUtils;
+
+import io.github.scrvrdn.inventory.dto.GeneratedCatalog;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class CatalogGeneratorServiceIntegrationTests {
+
+    private static final int BOOKS = 3_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final CatalogGeneratorService underTest;
+
+    @Autowired
+    public CatalogGeneratorServiceIntegrationTests(final JdbcTemplate jdbcTemplate, final CatalogGeneratorService underTest) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.underTest = underTest;
+    }
+
+    @BeforeEach
+    public void setup() {
+        JdbcTestUtils.deleteFromTables(jdbcTemplate, "books", "persons", "publishers", "book_person", "published");
+    }
+
+    @Test
+    public void testThatRequestedNumberOfBooksIsGeneratedAndIndexed() {
+        GeneratedCatalog result = underTest.generate(BOOKS, 1);
+
+        assertThat(result.books()).isEqualTo(BOOKS);
+        assertThat(JdbcTestUtils.countRowsInTable(jdbcTemplate, "books")).isEqualTo(BOOKS);
+        assertThat(JdbcTestUtils.countRowsInTable(jdbcTemplate, "persons")).isEqualTo(result.persons());
+        assertThat(JdbcTestUtils.countRowsInTable(jdbcTemplate, "publishers")).isEqualTo(result.publishers());
+        assertThat(JdbcTestUtils.countRowsInTable(jdbcTemplate, "flat_entries")).isEqualTo(BOOKS);
+        assertThat(jdbcTemplate.queryForObject("SELECT \"total_rows\" FROM \"row_counters\" WHERE \"table_name\" = 'books';", Integer.class)).isEqualTo(BOOKS);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM \"entries_fts\" WHERE \"entries_fts\" MATCH 'history';", Integer.class)).isPositive();
+    }
+
+    @Test
+    public void testThatSameSeedGeneratesSameCatalog() {
+        underTest.generate(BOOKS, 7);
+        List<Map<String, Object>> first = snapshot();
+
+        setup();
+        underTest.generate(BOOKS, 7);
+        List<Map<String, Object>> second = snapshot();
+
+        setup();
+        underTest.generate(BOOKS, 8);
+        List<Map<String, Object>> other = snapshot();
+
+        assertThat(second).isEqualTo(first);
+        assertThat(other).isNotEqualTo(first);
+    }
+
+    @Test
+    public void testThatGeneratingAgainAppendsToExistingBooks() {
+        underTest.generate(BOOKS, 1);
+        underTest.generate(BOOKS, 1);
+
+        assertThat(JdbcTestUtils.countRowsInTable(jdbcTemplate, "books")).isEqualTo(2 * BOOKS);
+    }
+
+    @Test
+    public void testThatExistingNamesAndIsbnsAreNotInsertedAgain() {
+        underTest.generate(BOOKS, 1);
+        Map<String, Object> person = jdbcTemplate.queryForMap("SELECT \"last_name\", \"first_names\" FROM \"persons\" WHERE \"first_names\" IS NOT NULL ORDER BY \"id\" LIMIT 1;");
+        String isbn13 = jdbcTemplate.queryForObject("SELECT \"isbn13\" FROM \"books\" WHERE \"isbn13\" IS NOT NULL ORDER BY \"id\" LIMIT 1;", String.class);
+
+        setup();
+        jdbcTemplate.update("INSERT INTO \"persons\" (\"id\", \"last_name\", \"first_names\") VALUES (0, ?, ?);", person.get("last_name"), person.get("first_names"));
+        jdbcTemplate.update("INSERT INTO \"books\" (\"id\", \"title\", \"isbn13\") VALUES (0, 'Existing', ?);", isbn13);
+        underTest.generate(BOOKS, 1);
+
+        assertThat(JdbcTestUtils.countRowsInTable(jdbcTemplate, "books")).isEqualTo(BOOKS + 1);
+        assertThat(JdbcTestUtils.countRowsInTableWhere(jdbcTemplate, "persons", "\"last_name\" = '" + person.get("last_name") + "' AND \"first_names\" = '" + person.get("first_names") + "'")).isEqualTo(1);
+        assertThat(JdbcTestUtils.countRowsInTableWhere(jdbcTemplate, "books", "\"isbn13\" = '" + isbn13 + "'")).isEqualTo(1);
+    }
+
+    @Test
+    public void testThatIsbnsAreUniqueAndValid() {
+        underTest.generate(BOOKS, 1);
+
+        List<String> isbn13s = jdbcTemplate.queryForList("SELECT \"isbn13\" FROM \"books\" WHERE \"isbn13\" IS NOT NULL;", String.class);
+        List<String> isbn10s = jdbcTemplate.queryForList("SELECT \"isbn10\" FROM \"books\" WHERE \"isbn10\" IS NOT NULL;", String.class);
+
+        assertThat(isbn13s).isNotEmpty().doesNotHaveDuplicates().allMatch(this::isValidIsbn13);
+        assertThat(isbn10s).isNotEmpty().doesNotHaveDuplicates().allMatch(this::isValidIsbn10);
+    }
+
+    @Test
+    public void testThatDistributionsAreSkewed() {
+        GeneratedCatalog result = underTest.generate(BOOKS, 1);
+
+        Integer singleAuthor = jdbcTemplate.queryForObject("""
+            SELECT COUNT(*) FROM (
+                SELECT "book_id" FROM "book_person" WHERE "role" = 'AUTHOR' GROUP BY "book_id" HAVING COUNT(*) = 1
+            );
+            """, Integer.class);
+        Integer maxBooksPerPerson = jdbcTemplate.queryForObject("""
+            SELECT MAX("books") FROM (SELECT COUNT(*) AS "books" FROM "book_person" GROUP BY "person_id");
+            """, Integer.class);
+        Integer withoutYear = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM \"books\" WHERE \"year\" IS NULL;", Integer.class);
+        Integer unusedPersons = jdbcTemplate.queryForObject("""
+            SELECT COUNT(*) FROM "persons" p WHERE NOT EXISTS (SELECT 1 FROM "book_person" bp WHERE bp."person_id" = p."id");
+            """, Integer.class);
+
+        assertThat(singleAuthor).isGreaterThan(BOOKS / 2);
+        assertThat(maxBooksPerPerson).isGreaterThan(20);
+        assertThat(result.persons()).isLessThan(BOOKS);
+        assertThat(withoutYear).isPositive().isLessThan(BOOKS / 5);
+        assertThat(unusedPersons).isZero();
+    }
+
+    private List<Map<String, Object>> snapshot() {
+        return jdbcTemplate.queryForList("""
+            SELECT f.*, b."isbn10", b."isbn13"
+            FROM "flat_entries" f
+            JOIN "books" b ON f."id" = b."id"
+            ORDER BY f."id";
+            """);
+    }
+
+    private boolean isValidIsbn13(String isbn) {
+        int sum = 0;
+        for (int i = 0; i < 13; i++) sum += (i % 2 == 0 ? 1 : 3) * (isbn.charAt(i) - '0');
+        return isbn.length() == 13 && sum % 10 == 0;
+    }
+
+    private boolean isValidIsbn10(String isbn) {
+        int sum = 0;
+        for (int i = 0; i < 10; i++) sum += (10 - i) * (isbn.charAt(i) == 'X' ? 10 : isbn.charAt(i) - '0');
+        return isbn.length() == 10 && sum % 11 == 0;
+    }
+}
@@ -0,0 +1,142 @@
+package io.github.scrvrdn.inventory.services.utility;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.jdbc.JdbcTestUtils;
+
+import io.github.scrvrdn.inventory.dto.ExportResult;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class ExportServiceIntegrationTests {
+
+    private static final int BOOKS = 5_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ExportService underTest;
+    private final ImportService importService;
+    private final CatalogGeneratorService catalogGeneratorService;
+
+    @TempDir
+    private Path tempDir;
+
+    @Autowired
+    public ExportServiceIntegrationTests(final JdbcTemplate jdbcTemplate, final ExportService underTest, final ImportService importService, final CatalogGeneratorService catalogGeneratorService) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.underTest = underTest;
+        this.importService = importService;
+        this.catalogGeneratorService = catalogGeneratorService;
+    }
+
+    @BeforeEach
+    public void setup() {
+        JdbcTestUtils.deleteFromTables(jdbcTemplate, "books", "persons", "publishers", "book_person", "published");
+    }
+
+    @Test
+    public void testThatCsvExportImportsBackToSameCatalog() throws IOException {
+        catalogGeneratorService.generate(BOOKS, 5);
+        addBookWithUnusualNames();
+        assertRoundTrip(tempDir.resolve("catalog.csv"));
+    }
+
+    @Test
+    public void testThatJsonExportImportsBackToSameCatalog() throws IOException {
+        catalogGeneratorService.generate(BOOKS, 5);
+        addBookWithUnusualNames();
+        assertRoundTrip(tempDir.resolve("catalog.json"));
+    }
+
+    @Test
+    public void testThatEntriesAreExportedInIdOrderAcrossGaps() throws IOException {
+        catalogGeneratorService.generate(BOOKS, 3);
+        jdbcTemplate.update("DELETE FROM \"books\" WHERE \"id\" % 7 = 0 OR \"id\" BETWEEN 1000 AND 3500;");
+        List<String> titles = jdbcTemplate.queryForList("SELECT COALESCE(\"title\", '') FROM \"books\" ORDER BY \"id\";", String.class);
+
+        Path file = tempDir.resolve("catalog.csv");
+        ExportResult result = underTest.exportEntries(file);
+
+        assertThat(result.exported()).isEqualTo(titles.size());
+        List<String> lines = Files.readAllLines(file);
+        assertThat(lines).hasSize(titles.size() + 1);
+        assertThat(lines.subList(1, lines.size())).extracting(line -> line.substring(0, line.indexOf(','))).isEqualTo(titles);
+    }
+
+    @Test
+    public void testThatEmptyCatalogExportsHeaderOnly() throws IOException {
+        Path file = tempDir.resolve("catalog.json");
+
+        ExportResult result = underTest.exportEntries(file);
+
+        assertThat(result.exported()).isZero();
+        assertThat(Files.readString(file)).isEqualTo("[]");
+    }
+
+    @Test
+    public void testThatUnsupportedFilesAreLeftUntouched() throws IOException {
+        Path file = Files.writeString(tempDir.resolve("notes.txt"), "keep me");
+
+        assertThatThrownBy(() -> underTest.exportEntries(file)).isInstanceOf(IOException.class).hasMessageContaining("Unsupported");
+        assertThat(Files.readString(file)).isEqualTo("keep me");
+    }
+
+    private void assertRoundTrip(Path file) throws IOException {
+        List<Map<String, Object>> before = snapshot();
+        List<Map<String, Object>> personsBefore = persons();
+
+        ExportResult result = underTest.exportEntries(file);
+        setup();
+        importService.importEntries(file);
+
+        assertThat(result.exported()).isEqualTo(BOOKS + 1);
+        assertThat(snapshot()).isEqualTo(before);
+        assertThat(persons()).isEqualTo(personsBefore);
+    }
+
+    /**
+     * A person with first names only and names with the separators of the CSV person list.
+     */
+    private void addBookWithUnusualNames() {
+        jdbcTemplate.update("INSERT INTO \"books\" (\"title\") VALUES ('Unusual names');");
+        jdbcTemplate.update("""
+            INSERT INTO "persons" ("last_name", "first_names")
+            VALUES (NULL, 'Anna'), ('Smith, Jr.', 'John; Paul'), ('Back\\slash', NULL);
+            """);
+        jdbcTemplate.update("""
+            INSERT INTO "book_person" ("book_id", "person_id", "role", "order_index")
+            SELECT (SELECT MAX("id") FROM "books"), "id", 'AUTHOR', "id"
+            FROM "persons"
+            WHERE "first_names" = 'Anna' AND "last_name" IS NULL OR "last_name" IN ('Smith, Jr.', 'Back\\slash');
+            """);
+    }
+
+    private List<Map<String, Object>> persons() {
+        return jdbcTemplate.queryForList("""
+            SELECT p."last_name", p."first_names", bp."role"
+            FROM "book_person" bp
+            JOIN "persons" p ON bp."person_id" = p."id"
+            ORDER BY bp."book_id", bp."role", bp."order_index";
+            """);
+    }
+
+    private List<Map<String, Object>> snapshot() {
+        return jdbcTemplate.queryForList("""
+            SELECT "title", "year", "isbn10", "isbn13", "shelf_mark", "authors", "editors", "publisher"
+            FROM "flat_entries" ORDER BY "id";
+            """);
+    }
+}
@@ -0,0 +1,205 @@
+package io.github.scrvrdn.inventory.services.utility;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.jdbc.JdbcTestUtils;
+
+import io.github.scrvrdn.inventory.dto.ImportProgress;
+import io.github.scrvrdn.inventory.dto.ImportResult;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class ImportServiceIntegrationTests {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ImportService underTest;
+
+    @TempDir
+    private Path tempDir;
+
+    @Autowired
+    public ImportServiceIntegrationTests(final JdbcTemplate jdbcTemplate, final ImportService underTest) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.underTest = underTest;
+    }
+
+    @BeforeEach
+    public void setup() {
+        JdbcTestUtils.deleteFromTables(jdbcTemplate, "books", "persons", "publishers", "book_person", "published");
+    }
+
+    @Test
+    public void testThatCsvEntriesAreImportedWithTheirPersonsAndPublisher() throws IOException {
+        Path file = write("catalog.csv", """
+            title,year,isbn10,isbn13,shelf_mark,authors,editors,publisher,location
+            "Poems, Collected",1999,0-306-40615-2,,A:1,"Doe, Jane; Roe, Richard",,Penguin,London
+            "A ""quoted""
+            title",2001,,978-0-306-40615-7,,"Doe, Jane","Poe, Edgar Allan",Penguin,London
+            """);
+
+        ImportResult result = underTest.importEntries(file);
+
+        assertThat(result.imported()).isEqualTo(2);
+        assertThat(result.rejected()).isZero();
+        assertThat(result.rejectedFile()).isNull();
+        assertThat(JdbcTestUtils.countRowsInTable(jdbcTemplate, "persons")).isEqualTo(3);
+        assertThat(JdbcTestUtils.countRowsInTable(jdbcTemplate, "publishers")).isEqualTo(1);
+        assertThat(JdbcTestUtils.countRowsInTable(jdbcTemplate, "book_person")).isEqualTo(4);
+        assertThat(jdbcTemplate.queryForList("SELECT \"title\" FROM \"books\" ORDER BY \"id\";", String.class))
+            .containsExactly("Poems, Collected", "A \"quoted\" title");
+        assertThat(jdbcTemplate.queryForObject("SELECT \"isbn10\" FROM \"books\" WHERE \"year\" = 1999;", String.class)).isEqualTo("0306406152");
+        assertThat(jdbcTemplate.queryForObject("SELECT \"authors\" FROM \"flat_entries\" WHERE \"year\" = 1999;", String.class)).contains("Doe").contains("Roe");
+        assertThat(jdbcTemplate.queryForObject("SELECT \"total_rows\" FROM \"row_counters\" WHERE \"table_name\" = 'books';", Integer.class)).isEqualTo(2);
+    }
+
+    @Test
+    public void testThatExistingPersonsAndPublishersAreReused() throws IOException {
+        jdbcTemplate.update("INSERT INTO \"persons\" (\"last_name\", \"first_names\") VALUES ('Doe', 'Jane');");
+        jdbcTemplate.update("INSERT INTO \"publishers\" (\"name\", \"location\") VALUES ('Penguin', 'London');");
+        Long personId = jdbcTemplate.queryForObject("SELECT \"id\" FROM \"persons\";", Long.class);
+
+        Path file = write("catalog.csv", """
+            authors,title,publisher,location,unknown
+            "Doe, Jane; Doe,  Jane",Title,Penguin,London,ignored
+            """);
+
+        underTest.importEntries(file);
+
+        assertThat(JdbcTestUtils.countRowsInTable(jdbcTemplate, "persons")).isEqualTo(1);
+        assertThat(JdbcTestUtils.countRowsInTable(jdbcTemplate, "publishers")).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForList("SELECT \"person_id\" FROM \"book_person\";", Long.class)).containsExactly(personId);
+    }
+
+    @Test
+    public void testThatConflictingRowsAreRejectedToFile() throws IOException {
+        jdbcTemplate.update("INSERT INTO \"books\" (\"title\", \"isbn13\") VALUES ('Existing', '9780306406157');");
+
+        Path file = write("catalog.csv", """
+            title,year,isbn13
+            Taken,,978-0-306-40615-7
+            First,,9781234567897
+            Second,,9781234567897
+            Bad year,MCMXCIX,
+            ,,
+            Fine,2020,
+            """);
+
+        ImportResult result = underTest.importEntries(file);
+
+        assertThat(result.imported()).isEqualTo(2);
+        assertThat(result.rejected()).isEqualTo(4);
+        assertThat(result.rejectedFile()).isEqualTo(tempDir.resolve("catalog.csv.rejected.csv"));
+
+        List<String> rejected = Files.readAllLines(result.rejectedFile());
+        assertThat(rejected.getFirst()).startsWith("line,reason,title,");
+        assertThat(rejected).hasSize(5);
+        assertThat(rejected.get(1)).startsWith("2,ISBN-13 9780306406157 already exists,Taken,");
+        assertThat(rejected.get(2)).startsWith("4,ISBN-13 9781234567897 already exists,Second,");
+        assertThat(rejected.get(3)).startsWith("5,Invalid year: MCMXCIX,Bad year,");
+        assertThat(rejected.get(4)).startsWith("6,Empty entry,");
+    }
+
+    @Test
+    public void testThatRejectedFileCanBeImportedAgain() throws IOException {
+        Path file = write("catalog.csv", """
+            title,year,authors
+            Fixed later,19x9,"Doe, Jane"
+            """);
+        ImportResult first = underTest.importEntries(file);
+
+        Path fixed = write("fixed.csv", Files.readString(first.rejectedFile()).replace("19x9", "1999"));
+        ImportResult second = underTest.importEntries(fixed);
+
+        assertThat(second.imported()).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject("SELECT \"authors\" FROM \"flat_entries\" WHERE \"year\" = 1999;", String.class)).contains("Doe");
+    }
+
+    @Test
+    public void testThatJsonEntriesAreImported() throws IOException {
+        Path file = write("catalog.json", """
+            [
+              {"title": "Tales", "year": 1845, "shelfMark": "B:2", "extra": {"nested": [1, 2]},
+               "authors": [{"lastName": "Poe", "firstNames": "Edgar Allan"}],
+               "editors": [], "publisher": {"name": "Wiley", "location": "New York"}},
+              {"title": "No publisher", "isbn13": "9781234567897", "publisher": null}
+            ]
+            """);
+
+        ImportResult result = underTest.importEntries(file);
+
+        assertThat(result.imported()).isEqualTo(2);
+        assertThat(jdbcTemplate.queryForObject("SELECT \"year\" FROM \"books\" WHERE \"title\" = 'Tales';", Integer.class)).isEqualTo(1845);
+        assertThat(jdbcTemplate.queryForObject("SELECT \"publisher\" FROM \"flat_entries\" WHERE \"title\" = 'Tales';", String.class)).contains("Wiley");
+        assertThat(JdbcTestUtils.countRowsInTable(jdbcTemplate, "published")).isEqualTo(1);
+    }
+
+    @Test
+    public void testThatLargeFilesAreImportedInChunksWithProgress() throws IOException {
+        StringBuilder csv = new StringBuilder("title,isbn13,authors\n");
+        for (int i = 0; i < 12_000; i++) {
+            csv.append("Book ").append(i).append(',').append(9_780_000_000_000L + i).append(",\"Author ").append(i % 100).append(", A.\"\n");
+        }
+        Path file = write("large.csv", csv.toString());
+        List<ImportProgress> progress = new ArrayList<>();
+
+        ImportResult result = underTest.importEntries(file, progress::add);
+
+        assertThat(result.imported()).isEqualTo(12_000);
+        assertThat(JdbcTestUtils.countRowsInTable(jdbcTemplate, "persons")).isEqualTo(100);
+        assertThat(progress).extracting(ImportProgress::rows).containsExactly(5_000L, 10_000L, 12_000L);
+    }
+
+    @Test
+    public void testThatRowsWrittenBetweenChunksAreSeenByTheNextChunk() throws IOException {
+        StringBuilder csv = new StringBuilder("title,isbn13,authors\n");
+        for (int i = 0; i < 6_000; i++) {
+            csv.append("Book ").append(i).append(',').append(9_780_000_000_000L + i).append(",\"Author ").append(i % 100).append(", A.\"\n");
+        }
+        Path file = write("large.csv", csv.toString());
+
+        // another writer takes the next ids and one ISBN of the second chunk while the first is done
+        ImportResult result = underTest.importEntries(file, progress -> {
+            if (progress.rows() != 5_000) return;
+            jdbcTemplate.update("INSERT INTO \"persons\" (\"last_name\", \"first_names\") VALUES ('Outsider', 'O.');");
+            jdbcTemplate.update("INSERT INTO \"books\" (\"title\", \"isbn13\") VALUES ('Outsider', '9780000005500');");
+        });
+
+        assertThat(result.imported()).isEqualTo(5_999);
+        assertThat(result.rejected()).isEqualTo(1);
+        assertThat(JdbcTestUtils.countRowsInTable(jdbcTemplate, "persons")).isEqualTo(101);
+        assertThat(JdbcTestUtils.countRowsInTable(jdbcTemplate, "books")).isEqualTo(6_000);
+    }
+
+    @Test
+    public void testThatMalformedJsonKeepsEarlierChunksAndFails() throws IOException {
+        Path file = write("broken.json", "[{\"title\": \"Fine\"}, {\"title\": ");
+
+        assertThatThrownBy(() -> underTest.importEntries(file)).isInstanceOf(IOException.class).hasMessageContaining("Malformed JSON");
+        assertThat(JdbcTestUtils.countRowsInTable(jdbcTemplate, "books")).isZero();
+    }
+
+    @Test
+    public void testThatUnsupportedFilesAreRefused() throws IOException {
+        Path file = write("catalog.txt", "title\nBook\n");
+
+        assertThatThrownBy(() -> underTest.importEntries(file)).isInstanceOf(IOException.class).hasMessageContaining("Unsupported");
+    }
+
+    private Path write(String name, String content) throws IOException {
+        return Files.writeString(tempDir.resolve(name), content);
+    }
+}
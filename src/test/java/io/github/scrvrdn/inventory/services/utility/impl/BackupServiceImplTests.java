@@ -17,6 +17,7 @@ import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.jdbc.core.JdbcTemplate;
 
 @ExtendWith(MockitoExtension.class)
@@ -34,6 +35,9 @@ public class BackupServiceImplTests {
     @Mock
     private Supplier<String> backupFileNameSupplier;
     
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @Spy
     @InjectMocks
     private BackupServiceImpl underTest;